@@ -0,0 +1,97 @@
+package com.jsonschema.custom.automater.gradle;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.dsl.DependencyHandler;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+/**
+ * Gradle plugin adding a cacheable {@link SchemaGenerationTask}, named {@value #TASK_NAME}, that generates the POJOs
+ * of {@code src/main/resources/schema} with the {@code JpaSpringfoxAnnotator} into
+ * {@code build/generated-sources/js2p}. When the java plugin is applied the generated sources are added to the main
+ * source set and compiled with it.
+ * <p>
+ * The generation runs on the classpath of the {@value #CONFIGURATION_NAME} configuration, which defaults to the
+ * version of this library the plugin was built with and its JSON Schema2POJO version. Add dependencies to the
+ * configuration to replace them, e.g. with local files for offline builds.
+ *
+ * @author Jack Phillips
+ */
+public class JsonSchemaAutomaterPlugin implements Plugin<Project> {
+    public static final String CONFIGURATION_NAME = "jsonSchemaGenerator";
+    public static final String TASK_NAME = "generateSchemaPojos";
+
+    private static final String LIBRARY = "com.jsonschema.custom:com-jsonschema-custom:";
+    private static final String JSONSCHEMA2POJO = "org.jsonschema2pojo:jsonschema2pojo-core:";
+    private static final String VERSIONS = "versions.properties";
+
+    @Override
+    public void apply(Project project) {
+        Configuration generator = project.getConfigurations().create(CONFIGURATION_NAME);
+        generator.setVisible(false);
+        generator.setDescription("Classpath the JSON schemas are generated with, isolated from the build script classpath");
+        generator.exclude(exclusion("org.json", "json"));
+        generator.exclude(exclusion("com.google.android", "android"));
+        generator.defaultDependencies(dependencies -> {
+            Properties versions = loadVersions();
+            DependencyHandler handler = project.getDependencies();
+            dependencies.add(handler.create(LIBRARY + versions.getProperty("library.version")));
+            dependencies.add(handler.create(JSONSCHEMA2POJO + versions.getProperty("jsonschema2pojo.version")));
+        });
+
+        SchemaGenerationTask generate = project.getTasks().create(TASK_NAME, SchemaGenerationTask.class, task -> {
+            task.setGroup("build");
+            task.setDescription("Generates the POJOs of the JSON schemas.");
+            task.setGeneratorClasspath(generator);
+            task.source("src/main/resources/schema");
+            task.setOutputDirectory(new File(project.getBuildDir(), "generated-sources/js2p"));
+        });
+
+        project.getPlugins().withType(JavaPlugin.class, java -> {
+            SourceSet main = project.getExtensions().getByType(SourceSetContainer.class)
+                    .getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            // Resolved when compiling, so the output directory can still be changed after the plugin is applied
+            main.getJava().srcDir((Callable<File>) generate::getOutputDirectory);
+            project.getTasks().getByName(main.getCompileJavaTaskName()).dependsOn(generate);
+        });
+    }
+
+    private static Map<String, String> exclusion(String group, String module) {
+        Map<String, String> exclusion = new HashMap<>();
+        exclusion.put("group", group);
+        exclusion.put("module", module);
+        return exclusion;
+    }
+
+    /**
+     * @return the versions of the library and of JSON Schema2POJO the plugin was built with
+     * @throws GradleException if the plugin was not built by the build of this library
+     */
+    private static Properties loadVersions() {
+        try (InputStream input = JsonSchemaAutomaterPlugin.class.getResourceAsStream(VERSIONS)) {
+            if (Objects.isNull(input)) {
+                throw new GradleException("Missing " + VERSIONS + " of the plugin, add the library and JSON Schema2POJO"
+                        + " to the " + CONFIGURATION_NAME + " configuration");
+            }
+            Properties versions = new Properties();
+            versions.load(input);
+            return versions;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
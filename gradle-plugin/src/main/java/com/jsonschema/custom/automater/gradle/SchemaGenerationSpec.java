@@ -0,0 +1,93 @@
+package com.jsonschema.custom.automater.gradle;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of a {@link SchemaGenerationTask} run, serialized to the isolated worker that generates the schemas.
+ *
+ * @author Jack Phillips
+ */
+public final class SchemaGenerationSpec implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<File> sources;
+    private final File outputDirectory;
+    private final String targetPackage;
+    private final String annotator;
+    private final String ruleFactory;
+    private final boolean includeJsr303Annotations;
+    private final boolean serializable;
+    private final boolean includeAdditionalProperties;
+    private final boolean includeConstructors;
+    private final int parallelism;
+
+    /**
+     * @param sources                     schema files and directories
+     * @param outputDirectory             directory the sources are generated into
+     * @param targetPackage               package of the generated classes
+     * @param annotator                   fully qualified name of the annotator
+     * @param ruleFactory                 fully qualified name of the rule factory, null for the default
+     * @param includeJsr303Annotations    true to generate JSR-303 annotations
+     * @param serializable                true to make the generated classes serializable
+     * @param includeAdditionalProperties true to generate the additional properties map
+     * @param includeConstructors         true to generate constructors
+     * @param parallelism                 number of threads generating the schemas
+     */
+    SchemaGenerationSpec(ArrayList<File> sources, File outputDirectory, String targetPackage, String annotator,
+                         String ruleFactory, boolean includeJsr303Annotations, boolean serializable,
+                         boolean includeAdditionalProperties, boolean includeConstructors, int parallelism) {
+        this.sources = sources;
+        this.outputDirectory = outputDirectory;
+        this.targetPackage = targetPackage;
+        this.annotator = annotator;
+        this.ruleFactory = ruleFactory;
+        this.includeJsr303Annotations = includeJsr303Annotations;
+        this.serializable = serializable;
+        this.includeAdditionalProperties = includeAdditionalProperties;
+        this.includeConstructors = includeConstructors;
+        this.parallelism = parallelism;
+    }
+
+    public List<File> getSources() {
+        return sources;
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public String getTargetPackage() {
+        return targetPackage;
+    }
+
+    public String getAnnotator() {
+        return annotator;
+    }
+
+    public String getRuleFactory() {
+        return ruleFactory;
+    }
+
+    public boolean isIncludeJsr303Annotations() {
+        return includeJsr303Annotations;
+    }
+
+    public boolean isSerializable() {
+        return serializable;
+    }
+
+    public boolean isIncludeAdditionalProperties() {
+        return includeAdditionalProperties;
+    }
+
+    public boolean isIncludeConstructors() {
+        return includeConstructors;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,221 @@
+package com.jsonschema.custom.automater.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.util.PatternSet;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.util.ArrayList;
+
+/**
+ * Generates the POJOs of a set of JSON schemas with one of the annotators of this library, as the
+ * {@code jsonSchema2Pojo} task does, but cacheable and off the build thread.
+ * <p>
+ * The schema files are declared by their path relative to their source directory, the annotator and the other
+ * settings by value, and the library and JSON Schema2POJO by the content of the generator classpath, so a build with
+ * the same inputs, on any machine, restores the generated sources from the build cache instead of generating them.
+ * Generation is submitted to the Worker API in a class loader isolated from the build script classpath, where it runs
+ * the {@code ParallelSchemaGenerator} with as many threads as Gradle has workers, i.e. one per core by default.
+ *
+ * @author Jack Phillips
+ */
+@CacheableTask
+public class SchemaGenerationTask extends DefaultTask {
+    public static final String JPA_SPRINGFOX_ANNOTATOR = "com.jsonschema.custom.automater.JpaSpringfoxAnnotator";
+
+    private final WorkerExecutor workerExecutor;
+    private final ConfigurableFileCollection source;
+    private FileCollection generatorClasspath;
+    private File outputDirectory;
+    private String targetPackage = "";
+    private String annotator = JPA_SPRINGFOX_ANNOTATOR;
+    private String ruleFactory;
+    private boolean includeJsr303Annotations;
+    private boolean serializable;
+    private boolean includeAdditionalProperties = true;
+    private boolean includeConstructors;
+    private int parallelism;
+
+    /**
+     * @param workerExecutor executor the generation is submitted to, injected by Gradle
+     */
+    @Inject
+    public SchemaGenerationTask(WorkerExecutor workerExecutor) {
+        this.workerExecutor = workerExecutor;
+        this.source = getProject().files();
+        this.parallelism = getProject().getGradle().getStartParameter().getMaxWorkerCount();
+    }
+
+    /**
+     * Generate the schemas on an isolated worker.
+     */
+    @TaskAction
+    public void generate() {
+        SchemaGenerationSpec spec = new SchemaGenerationSpec(new ArrayList<>(source.getFiles()), outputDirectory,
+                targetPackage, annotator, ruleFactory, includeJsr303Annotations, serializable,
+                includeAdditionalProperties, includeConstructors, parallelism);
+        WorkQueue workQueue = workerExecutor.classLoaderIsolation(
+                isolation -> isolation.getClasspath().from(generatorClasspath));
+        workQueue.submit(SchemaGenerationWork.class, parameters -> parameters.getSpec().set(spec));
+    }
+
+    /**
+     * @return the JSON schema files of the source files and directories, by path relative to their source directory
+     * as it determines the package of the generated classes
+     */
+    @InputFiles
+    @SkipWhenEmpty
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileTree getSchemaFiles() {
+        return source.getAsFileTree().matching(new PatternSet().include("**/*.json"));
+    }
+
+    /**
+     * @return schema files and directories, directories are searched for .json files and their sub directories
+     * generate sub packages
+     */
+    @Internal
+    public ConfigurableFileCollection getSource() {
+        return source;
+    }
+
+    /**
+     * @param sources schema files and directories, evaluated as per {@link org.gradle.api.Project#files(Object...)}
+     */
+    public void source(Object... sources) {
+        source.from(sources);
+    }
+
+    /**
+     * @param sources schema files and directories replacing the current ones
+     */
+    public void setSource(Object sources) {
+        source.setFrom(sources);
+    }
+
+    /**
+     * @return the library, JSON Schema2POJO and their dependencies
+     */
+    @Classpath
+    public FileCollection getGeneratorClasspath() {
+        return generatorClasspath;
+    }
+
+    public void setGeneratorClasspath(FileCollection generatorClasspath) {
+        this.generatorClasspath = generatorClasspath;
+    }
+
+    /**
+     * @return directory the sources are generated into, its previous content is removed
+     */
+    @OutputDirectory
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Input
+    public String getTargetPackage() {
+        return targetPackage;
+    }
+
+    public void setTargetPackage(String targetPackage) {
+        this.targetPackage = targetPackage;
+    }
+
+    /**
+     * @return fully qualified name of the annotator, the {@code JpaSpringfoxAnnotator} by default
+     */
+    @Input
+    public String getAnnotator() {
+        return annotator;
+    }
+
+    public void setAnnotator(String annotator) {
+        this.annotator = annotator;
+    }
+
+    /**
+     * @return fully qualified name of the rule factory, null for the JSON Schema2POJO default
+     */
+    @Input
+    @Optional
+    public String getRuleFactory() {
+        return ruleFactory;
+    }
+
+    public void setRuleFactory(String ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    @Input
+    public boolean isIncludeJsr303Annotations() {
+        return includeJsr303Annotations;
+    }
+
+    public void setIncludeJsr303Annotations(boolean includeJsr303Annotations) {
+        this.includeJsr303Annotations = includeJsr303Annotations;
+    }
+
+    @Input
+    public boolean isSerializable() {
+        return serializable;
+    }
+
+    public void setSerializable(boolean serializable) {
+        this.serializable = serializable;
+    }
+
+    @Input
+    public boolean isIncludeAdditionalProperties() {
+        return includeAdditionalProperties;
+    }
+
+    public void setIncludeAdditionalProperties(boolean includeAdditionalProperties) {
+        this.includeAdditionalProperties = includeAdditionalProperties;
+    }
+
+    @Input
+    public boolean isIncludeConstructors() {
+        return includeConstructors;
+    }
+
+    public void setIncludeConstructors(boolean includeConstructors) {
+        this.includeConstructors = includeConstructors;
+    }
+
+    /**
+     * @return number of threads generating the schemas, the max worker count of the build by default. Not an input,
+     * the generated sources do not depend on it
+     */
+    @Internal
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+}
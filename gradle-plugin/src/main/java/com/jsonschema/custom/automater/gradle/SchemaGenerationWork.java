@@ -0,0 +1,37 @@
+package com.jsonschema.custom.automater.gradle;
+
+import com.jsonschema.custom.automater.generate.ParallelSchemaGenerator;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.jsonschema2pojo.exception.GenerationException;
+
+import java.io.IOException;
+
+/**
+ * Unit of work of a {@link SchemaGenerationTask}, run by the Worker API in a class loader holding the generator
+ * classpath, so it is the only class of the plugin referencing the library and JSON Schema2POJO.
+ *
+ * @author Jack Phillips
+ */
+public abstract class SchemaGenerationWork implements WorkAction<SchemaGenerationWork.Parameters> {
+    @Override
+    public void execute() {
+        SchemaGenerationSpec spec = getParameters().getSpec().get();
+        try {
+            new ParallelSchemaGenerator(new WorkerGenerationConfig(spec), spec.getParallelism()).generate();
+        } catch (IOException e) {
+            throw new GenerationException("Could not generate the schemas of " + spec.getSources(), e);
+        }
+    }
+
+    /**
+     * Parameters of the work, isolated from the task by serializing the spec.
+     */
+    public interface Parameters extends WorkParameters {
+        /**
+         * @return settings of the task run
+         */
+        Property<SchemaGenerationSpec> getSpec();
+    }
+}
@@ -0,0 +1,114 @@
+package com.jsonschema.custom.automater.gradle;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Generation configuration of a {@link SchemaGenerationSpec}, every setting it does not carry is the JSON
+ * Schema2POJO default. The annotator and rule factory are loaded from the class loader of the worker.
+ *
+ * @author Jack Phillips
+ */
+class WorkerGenerationConfig extends DefaultGenerationConfig {
+    // Same files as the task declares as inputs
+    private static final FileFilter JSON_FILES = file -> file.isDirectory() || file.getName().endsWith(".json");
+
+    private final SchemaGenerationSpec spec;
+    private final List<URL> sources;
+    private final Class<? extends Annotator> annotator;
+    private final Class<? extends RuleFactory> ruleFactory;
+
+    /**
+     * @param spec settings of the task run
+     */
+    WorkerGenerationConfig(SchemaGenerationSpec spec) {
+        this.spec = spec;
+        this.sources = new ArrayList<>(spec.getSources().size());
+        for (File source : spec.getSources()) {
+            try {
+                sources.add(source.toURI().toURL());
+            } catch (MalformedURLException e) {
+                throw new GenerationException("Invalid schema source " + source, e);
+            }
+        }
+        this.annotator = loadClass(spec.getAnnotator(), Annotator.class);
+        this.ruleFactory = Objects.isNull(spec.getRuleFactory())
+                ? super.getCustomRuleFactory() : loadClass(spec.getRuleFactory(), RuleFactory.class);
+    }
+
+    private static <T> Class<? extends T> loadClass(String name, Class<T> type) {
+        try {
+            return Class.forName(name, true, WorkerGenerationConfig.class.getClassLoader()).asSubclass(type);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new GenerationException("Could not load " + type.getSimpleName() + " " + name
+                    + " from the generator classpath", e);
+        }
+    }
+
+    @Override
+    public Iterator<URL> getSource() {
+        return sources.iterator();
+    }
+
+    @Override
+    public File getTargetDirectory() {
+        return spec.getOutputDirectory();
+    }
+
+    @Override
+    public String getTargetPackage() {
+        return spec.getTargetPackage();
+    }
+
+    @Override
+    public FileFilter getFileFilter() {
+        return JSON_FILES;
+    }
+
+    // The task owns its output directory, stale sources would otherwise end up in the build cache
+    @Override
+    public boolean isRemoveOldOutput() {
+        return true;
+    }
+
+    @Override
+    public Class<? extends Annotator> getCustomAnnotator() {
+        return annotator;
+    }
+
+    @Override
+    public Class<? extends RuleFactory> getCustomRuleFactory() {
+        return ruleFactory;
+    }
+
+    @Override
+    public boolean isIncludeJsr303Annotations() {
+        return spec.isIncludeJsr303Annotations();
+    }
+
+    @Override
+    public boolean isSerializable() {
+        return spec.isSerializable();
+    }
+
+    @Override
+    public boolean isIncludeAdditionalProperties() {
+        return spec.isIncludeAdditionalProperties();
+    }
+
+    @Override
+    public boolean isIncludeConstructors() {
+        return spec.isIncludeConstructors();
+    }
+}
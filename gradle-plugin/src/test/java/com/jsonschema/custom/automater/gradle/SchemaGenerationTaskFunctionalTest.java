@@ -0,0 +1,238 @@
+package com.jsonschema.custom.automater.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Applies the plugin to a build of its own with {@link GradleRunner} and checks the {@value JsonSchemaAutomaterPlugin#TASK_NAME}
+ * task generates the schemas, is up to date when nothing changed and restores its output from the build cache after a
+ * clean or in another project directory, runs in a class loader isolated from the plugin and defaults to the versions
+ * of the expanded {@code versions.properties}. The {@value JsonSchemaAutomaterPlugin#CONFIGURATION_NAME} configuration
+ * of the build is the locally built library and JSON Schema2POJO, passed by the build of the plugin in the
+ * {@value #GENERATOR_CLASSPATH} system property along with the versions the plugin was built with.
+ */
+public class SchemaGenerationTaskFunctionalTest {
+    private static final String GENERATOR_CLASSPATH = "generatorClasspath";
+    private static final String LIBRARY_VERSION = "libraryVersion";
+    private static final String JSONSCHEMA2POJO_VERSION = "jsonschema2pojoVersion";
+    private static final String TASK = ":" + JsonSchemaAutomaterPlugin.TASK_NAME;
+    private static final String ORDER_SOURCE = "build/generated-sources/js2p/com/example/api/Order.java";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<String> generatorFiles = new ArrayList<>();
+    private File projectDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        String generatorClasspath = property(GENERATOR_CLASSPATH);
+        for (String path : generatorClasspath.split(File.pathSeparator)) {
+            generatorFiles.add(quote(path));
+        }
+
+        projectDirectory = temporaryFolder.newFolder("project");
+        File cacheDirectory = temporaryFolder.newFolder("build-cache");
+        write("settings.gradle",
+                "rootProject.name = 'functional-test'",
+                "buildCache {",
+                "    local {",
+                "        directory = " + quote(cacheDirectory.getAbsolutePath()),
+                "    }",
+                "}");
+        writeBuildScript(true);
+        write("src/main/resources/schema/order.json",
+                "{",
+                "  \"type\": \"object\",",
+                "  \"entity\": true,",
+                "  \"properties\": {",
+                "    \"id\": {\"type\": \"integer\", \"isIdColumn\": true},",
+                "    \"ref\": {\"type\": \"string\", \"required\": true, \"maxLength\": 32}",
+                "  }",
+                "}");
+    }
+
+    @Test
+    public void generatesOnceThenIsUpToDateThenLoadsFromTheBuildCache() {
+        BuildResult first = run(JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+        assertEquals(TaskOutcome.SUCCESS, first.task(TASK).getOutcome());
+        File generated = new File(projectDirectory, ORDER_SOURCE);
+        assertTrue(generated + " was not generated", generated.isFile());
+
+        BuildResult second = run(JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+        assertEquals(TaskOutcome.UP_TO_DATE, second.task(TASK).getOutcome());
+
+        BuildResult afterClean = run("clean", JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+        assertEquals(TaskOutcome.FROM_CACHE, afterClean.task(TASK).getOutcome());
+        assertTrue(generated + " was not restored", generated.isFile());
+    }
+
+    @Test
+    public void relocatedProjectLoadsFromTheBuildCache() throws IOException {
+        run(JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+
+        // Schema files are declared by their relative path, so a checkout in another directory hits the cache
+        File relocated = temporaryFolder.newFolder("relocated");
+        copy(projectDirectory, relocated);
+        projectDirectory = relocated;
+        BuildResult result = run(JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+
+        assertEquals(TaskOutcome.FROM_CACHE, result.task(TASK).getOutcome());
+        assertTrue(new File(relocated, ORDER_SOURCE).isFile());
+    }
+
+    @Test
+    public void renamedSchemaIsGeneratedAgain() throws IOException {
+        run(JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+
+        File schemas = new File(projectDirectory, "src/main/resources/schema");
+        Files.move(new File(schemas, "order.json").toPath(), new File(schemas, "purchase.json").toPath());
+        BuildResult result = run(JsonSchemaAutomaterPlugin.TASK_NAME, "--build-cache");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(TASK).getOutcome());
+        assertTrue(new File(projectDirectory, "build/generated-sources/js2p/com/example/api/Purchase.java").isFile());
+    }
+
+    @Test
+    public void generatorConfigurationDefaultsToTheVersionsThePluginWasBuiltWith() throws IOException {
+        writeBuildScript(false);
+
+        BuildResult result = run("dependencies", "--configuration", JsonSchemaAutomaterPlugin.CONFIGURATION_NAME);
+
+        assertThat(result.getOutput(), containsString("com.jsonschema.custom:com-jsonschema-custom:" + property(LIBRARY_VERSION)));
+        assertThat(result.getOutput(), containsString("org.jsonschema2pojo:jsonschema2pojo-core:"
+                + property(JSONSCHEMA2POJO_VERSION)));
+        assertThat(result.getOutput(), not(containsString("${")));
+    }
+
+    @Test
+    public void generatesInAClassLoaderIsolatedFromTheBuildScript() throws IOException {
+        writeBuildScript(true,
+                "",
+                "// The plugin only compiles against the generator classpath, the worker class loader provides it",
+                "tasks.register('checkIsolation') {",
+                "    dependsOn '" + JsonSchemaAutomaterPlugin.TASK_NAME + "'",
+                "    doLast {",
+                "        ['org.jsonschema2pojo.Jsonschema2Pojo', 'com.jsonschema.custom.automater.generate.ParallelSchemaGenerator'].each {",
+                "            try {",
+                "                " + JsonSchemaAutomaterPlugin.class.getName() + ".classLoader.loadClass(it)",
+                "                throw new GradleException(it + ' is visible to the plugin')",
+                "            } catch (ClassNotFoundException e) {",
+                "                println 'Isolated ' + it",
+                "            }",
+                "        }",
+                "    }",
+                "}");
+
+        BuildResult result = run("checkIsolation");
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(TASK).getOutcome());
+        assertTrue(new File(projectDirectory, ORDER_SOURCE).isFile());
+        assertThat(result.getOutput(), containsString("Isolated org.jsonschema2pojo.Jsonschema2Pojo"));
+        assertThat(result.getOutput(), containsString("Isolated com.jsonschema.custom.automater.generate.ParallelSchemaGenerator"));
+    }
+
+    private BuildResult run(String... arguments) {
+        return GradleRunner.create()
+                .withProjectDir(projectDirectory)
+                .withPluginClasspath()
+                .withArguments(arguments)
+                .forwardOutput()
+                .build();
+    }
+
+    /**
+     * @param generatorDependencies true to declare the locally built generator classpath, false to keep the defaults
+     * @param lines                 further lines of the build script
+     * @throws IOException if the build script can not be written
+     */
+    private void writeBuildScript(boolean generatorDependencies, String... lines) throws IOException {
+        List<String> script = new ArrayList<>(Arrays.asList(
+                "plugins {",
+                "    id 'java'",
+                "    id 'com.jsonschema.custom.automater'",
+                "}",
+                "",
+                JsonSchemaAutomaterPlugin.TASK_NAME + " {",
+                "    targetPackage = 'com.example.api'",
+                "}"));
+        if (generatorDependencies) {
+            script.addAll(Arrays.asList(
+                    "",
+                    "dependencies {",
+                    "    " + JsonSchemaAutomaterPlugin.CONFIGURATION_NAME + " files(" + String.join(", ", generatorFiles) + ")",
+                    "}"));
+        }
+        script.addAll(Arrays.asList(lines));
+        write("build.gradle", script.toArray(new String[0]));
+    }
+
+    private void write(String path, String... lines) throws IOException {
+        File file = new File(projectDirectory, path);
+        if (Objects.nonNull(file.getParentFile())) {
+            Files.createDirectories(file.getParentFile().toPath());
+        }
+        Files.write(file.toPath(), String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param path file path
+     * @return the path as a Groovy string literal, with forward slashes so Windows paths need no escaping
+     */
+    private static String quote(String path) {
+        return "'" + path.replace('\\', '/').replace("'", "\\'") + "'";
+    }
+
+    /**
+     * @param name system property passed by the build of the plugin
+     * @return value of the property
+     */
+    private static String property(String name) {
+        String value = System.getProperty(name);
+        assertNotNull("Run with the " + name + " system property of the plugin build", value);
+        return value;
+    }
+
+    private static void copy(File source, File target) throws IOException {
+        Path root = source.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Iterator<Path> files = paths.iterator(); files.hasNext(); ) {
+                Path file = files.next();
+                // Outputs and Gradle state stay behind, as in a fresh checkout
+                if (file.startsWith(root.resolve("build")) || file.startsWith(root.resolve(".gradle"))) {
+                    continue;
+                }
+                Path copy = target.toPath().resolve(root.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy);
+                }
+            }
+        }
+    }
+}
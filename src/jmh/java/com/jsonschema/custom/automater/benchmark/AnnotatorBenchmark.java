@@ -0,0 +1,180 @@
+package com.jsonschema.custom.automater.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.AnnotatorAutomator;
+import com.jsonschema.custom.automater.JpaSpringfoxAnnotator;
+import com.jsonschema.custom.automater.doc.SpringfoxAnnotator;
+import com.jsonschema.custom.automater.jpa.JpaAnnotator;
+import com.jsonschema.custom.automater.metrics.GenerationMetrics;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link AnnotatorAutomator#propertyInclusion(JDefinedClass, JsonNode)} and
+ * {@link AnnotatorAutomator#propertyField(JFieldVar, JDefinedClass, String, JsonNode)} for every annotator in the
+ * library over a synthetic schema corpus. Run with {@code ./gradlew jmh}, the gc profiler is enabled in
+ * {@code build.gradle} so allocation rates are reported next to ops/s.
+ * <p>
+ * Every operation builds its target classes in a fresh {@link JCodeModel}, as the annotations are appended to the
+ * code model and can not be removed again. The {@code baseline*} benchmarks perform the same code model work without
+ * invoking the annotator, subtract them from the matching benchmark to get the cost of the annotator itself.
+ * <p>
+ * With {@code sharedDefinitions} enabled the same annotator instance is used for every operation, so the schema
+ * nodes behave like {@code $ref} definitions shared by many classes and their compiled property plans are reused.
+ * Disabling it creates a new annotator per operation, so every property node is interpreted from scratch.
+ * <p>
+ * With {@code instrumented} enabled the annotators run inside a {@link GenerationMetrics} scope and record their
+ * timings, compare against the default to see the cost of the instrumentation while it is on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotatorBenchmark {
+
+    @Param({"JpaAnnotator", "SpringfoxAnnotator", "JpaSpringfoxAnnotator"})
+    public String annotatorName;
+
+    @Param({"10", "100"})
+    public int propertiesPerClass;
+
+    @Param({"0.1"})
+    public double joinTableShare;
+
+    @Param({"0.25"})
+    public double multiplicityShare;
+
+    @Param({"1", "4"})
+    public int nestingDepth;
+
+    @Param({"true", "false"})
+    public boolean sharedDefinitions;
+
+    @Param({"false"})
+    public boolean instrumented;
+
+    private AnnotatorAutomator annotator;
+    private GenerationMetrics metrics;
+    private List<ObjectNode> classSchemas;
+
+    @Setup
+    public void setUp() {
+        annotator = createAnnotator(annotatorName);
+        metrics = new GenerationMetrics();
+        classSchemas = new SyntheticSchemaFactory(propertiesPerClass, joinTableShare, multiplicityShare,
+                nestingDepth, 42L).createClassSchemas();
+    }
+
+    @Benchmark
+    public JCodeModel baselineClasses() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JPackage jPackage = codeModel._package("com.example.bench");
+        for (int i = 0; i < classSchemas.size(); i++) {
+            jPackage._class("Synthetic" + i);
+        }
+        return codeModel;
+    }
+
+    @Benchmark
+    public JCodeModel propertyInclusion() throws JClassAlreadyExistsException {
+        AnnotatorAutomator annotator = annotator();
+        JCodeModel codeModel = new JCodeModel();
+        JPackage jPackage = codeModel._package("com.example.bench");
+        GenerationMetrics.Scope scope = openScope();
+        try {
+            for (int i = 0; i < classSchemas.size(); i++) {
+                annotator.propertyInclusion(jPackage._class("Synthetic" + i), classSchemas.get(i));
+            }
+        } finally {
+            closeScope(scope);
+        }
+        return codeModel;
+    }
+
+    @Benchmark
+    public JCodeModel baselineFields() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JPackage jPackage = codeModel._package("com.example.bench");
+        for (int i = 0; i < classSchemas.size(); i++) {
+            JDefinedClass clazz = jPackage._class("Synthetic" + i);
+            Iterator<Map.Entry<String, JsonNode>> properties = classSchemas.get(i).get("properties").fields();
+            while (properties.hasNext()) {
+                clazz.field(JMod.PRIVATE, Object.class, properties.next().getKey());
+            }
+        }
+        return codeModel;
+    }
+
+    @Benchmark
+    public JCodeModel propertyField() throws JClassAlreadyExistsException {
+        AnnotatorAutomator annotator = annotator();
+        JCodeModel codeModel = new JCodeModel();
+        JPackage jPackage = codeModel._package("com.example.bench");
+        GenerationMetrics.Scope scope = openScope();
+        try {
+            for (int i = 0; i < classSchemas.size(); i++) {
+                JDefinedClass clazz = jPackage._class("Synthetic" + i);
+                Iterator<Map.Entry<String, JsonNode>> properties = classSchemas.get(i).get("properties").fields();
+                while (properties.hasNext()) {
+                    Map.Entry<String, JsonNode> property = properties.next();
+                    JFieldVar field = clazz.field(JMod.PRIVATE, Object.class, property.getKey());
+                    annotator.propertyField(field, clazz, property.getKey(), property.getValue());
+                }
+            }
+        } finally {
+            closeScope(scope);
+        }
+        return codeModel;
+    }
+
+    private GenerationMetrics.Scope openScope() {
+        return instrumented ? metrics.open("synthetic") : null;
+    }
+
+    private static void closeScope(GenerationMetrics.Scope scope) {
+        if (Objects.nonNull(scope)) {
+            scope.close();
+        }
+    }
+
+    private AnnotatorAutomator annotator() {
+        return sharedDefinitions ? annotator : createAnnotator(annotatorName);
+    }
+
+    private static AnnotatorAutomator createAnnotator(String annotatorName) {
+        switch (annotatorName) {
+            case "JpaAnnotator":
+                return new JpaAnnotator();
+            case "SpringfoxAnnotator":
+                return new SpringfoxAnnotator();
+            case "JpaSpringfoxAnnotator":
+                return new JpaSpringfoxAnnotator();
+            default:
+                throw new IllegalArgumentException("Unknown annotator " + annotatorName);
+        }
+    }
+}
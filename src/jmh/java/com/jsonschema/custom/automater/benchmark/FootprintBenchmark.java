@@ -0,0 +1,163 @@
+package com.jsonschema.custom.automater.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.jpa.JpaAnnotator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memory footprint of entities generated with and without the compact field keywords, i.e. primitive
+ * required properties, an Enumerated enum and an Embeddable value object. Run with {@code ./gradlew jmh}.
+ * <p>
+ * Every operation loads {@code entityCount} entities with Jackson. Next to the throughput and the allocation rate of
+ * the gc profiler, the {@code retainedBytesPerEntity} counter reports the heap retained by one loaded entity, measured
+ * with JOL over the whole object graph of the loaded entities. Both modes load the same JSON. The
+ * {@code CompactFieldFootprintTest} asserts the compact entities retain less.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FootprintBenchmark {
+    private static final String CLASS_NAME = "Shipment";
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Param({"1000"})
+    public int entityCount;
+
+    private GeneratedClassCompiler compiler;
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private byte[] json;
+    private long retainedBytesPerEntity;
+
+    /**
+     * Heap retained per loaded entity, reported as a secondary result of the benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytesPerEntity;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytesPerEntity = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        compiler = new GeneratedClassCompiler();
+        Class<?> type = compiler.compile(createSchema(compact), CLASS_NAME, JpaAnnotator.class);
+        mapper = new ObjectMapper();
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+        json = mapper.writeValueAsBytes(createEntities(entityCount));
+
+        List<?> entities = mapper.readValue(json, listType);
+        retainedBytesPerEntity = GraphLayout.parseInstance(entities.toArray()).totalSize() / entityCount;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        compiler.close();
+    }
+
+    @Benchmark
+    public List<?> load(Footprint footprint) throws IOException {
+        footprint.retainedBytesPerEntity = retainedBytesPerEntity;
+        return mapper.readValue(json, listType);
+    }
+
+    /**
+     * @param compact true to add the compact field keywords
+     * @return schema of an entity with a typical mix of numeric, flag, enum and value object properties
+     */
+    static ObjectNode createSchema(boolean compact) {
+        ObjectNode schema = JsonNodeFactory.instance.objectNode();
+        schema.put("type", "object");
+        schema.put("entity", true);
+        schema.put("additionalProperties", false);
+        ObjectNode properties = schema.putObject("properties");
+        addRequired(properties, "id", "integer", compact).put("isIdColumn", true);
+        addRequired(properties, "version", "integer", compact);
+        addRequired(properties, "quantity", "integer", compact);
+        addRequired(properties, "weight", "number", compact);
+        addRequired(properties, "express", "boolean", compact);
+
+        ObjectNode status = properties.putObject("status");
+        status.put("type", "string");
+        status.putArray("enum").add("NEW").add("PACKED").add("SHIPPED").add("DELIVERED");
+        if (compact) {
+            status.put("enumerated", "ORDINAL");
+        }
+
+        ObjectNode address = properties.putObject("address");
+        address.put("type", "object");
+        address.put("additionalProperties", false);
+        if (compact) {
+            address.put("embeddable", true);
+        }
+        ObjectNode addressProperties = address.putObject("properties");
+        addressProperties.putObject("street").put("type", "string");
+        addressProperties.putObject("postalCode").put("type", "string");
+        return schema;
+    }
+
+    private static ObjectNode addRequired(ObjectNode properties, String name, String type, boolean compact) {
+        ObjectNode property = properties.putObject(name);
+        property.put("type", type);
+        property.put("required", true);
+        property.put("column", name);
+        if (compact) {
+            property.put("primitive", true);
+        }
+        return property;
+    }
+
+    /**
+     * @param count number of entities
+     * @return JSON array of entities, numbers are outside the boxed value caches like they are in production data
+     */
+    static ArrayNode createEntities(int count) {
+        String[] statuses = {"NEW", "PACKED", "SHIPPED", "DELIVERED"};
+        ArrayNode entities = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode entity = entities.addObject();
+            entity.put("id", 1000000L + i);
+            entity.put("version", 1000 + i % 7);
+            entity.put("quantity", 200 + i % 50);
+            entity.put("weight", 1.25d + i);
+            entity.put("express", i % 2 == 0);
+            entity.put("status", statuses[i % statuses.length]);
+            ObjectNode address = entity.putObject("address");
+            address.put("street", (i % 100) + " Main Street");
+            address.put("postalCode", String.valueOf(10000 + i % 900));
+        }
+        return entities;
+    }
+}
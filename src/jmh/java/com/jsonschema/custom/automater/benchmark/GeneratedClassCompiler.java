@@ -0,0 +1,109 @@
+package com.jsonschema.custom.automater.benchmark;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.writer.FileCodeWriter;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.AnnotatorFactory;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a class from a schema with one of the library's annotators and compiles it, so benchmarks can measure the
+ * classes the current annotators produce. Compiling requires the benchmarks to run on a JDK.
+ */
+final class GeneratedClassCompiler implements Closeable {
+    static final String PACKAGE_NAME = "com.jsonschema.custom.automater.benchmark.generated";
+
+    private final Path workDirectory;
+    private final List<URLClassLoader> classLoaders = new ArrayList<>();
+
+    GeneratedClassCompiler() throws IOException {
+        this.workDirectory = Files.createTempDirectory("generated-benchmark-classes");
+    }
+
+    /**
+     * Generate and compile the schema, along with every class it defines.
+     *
+     * @param schema         object schema
+     * @param className      name of the class to generate
+     * @param annotatorClass custom annotator to generate with, composed with the default Jackson 2 annotator
+     * @return the generated class, loaded by a class loader of its own
+     * @throws IOException if the generated sources can not be written
+     */
+    Class<?> compile(ObjectNode schema, String className, Class<? extends Annotator> annotatorClass) throws IOException {
+        GenerationConfig config = new DefaultGenerationConfig() {
+            @Override
+            public Class<? extends Annotator> getCustomAnnotator() {
+                return annotatorClass;
+            }
+        };
+        AnnotatorFactory factory = new AnnotatorFactory(config);
+        Annotator annotator = factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(annotatorClass));
+        SchemaMapper mapper = new SchemaMapper(new RuleFactory(config, annotator, new SchemaStore()), new SchemaGenerator());
+        JCodeModel codeModel = new JCodeModel();
+        mapper.generate(codeModel, className, PACKAGE_NAME, schema.toString());
+
+        Path run = Files.createTempDirectory(workDirectory, className);
+        File sources = Files.createDirectories(run.resolve("sources")).toFile();
+        File classes = Files.createDirectories(run.resolve("classes")).toFile();
+        codeModel.build(new FileCodeWriter(sources));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (Objects.isNull(compiler)) {
+            throw new IllegalStateException("Benchmarks of generated classes compile them and have to run on a JDK");
+        }
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-nowarn");
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add("-d");
+        arguments.add(classes.getAbsolutePath());
+        try (Stream<Path> paths = Files.walk(sources.toPath())) {
+            paths.filter(path -> path.toString().endsWith(".java")).forEach(path -> arguments.add(path.toString()));
+        }
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Failed to compile the generated class " + className);
+        }
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        classLoaders.add(classLoader);
+        try {
+            return classLoader.loadClass(PACKAGE_NAME + "." + className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Generated class " + className + " was not compiled", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (URLClassLoader classLoader : classLoaders) {
+            classLoader.close();
+        }
+        try (Stream<Path> paths = Files.walk(workDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
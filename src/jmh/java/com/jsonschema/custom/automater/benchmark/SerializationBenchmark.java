@@ -0,0 +1,134 @@
+package com.jsonschema.custom.automater.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.JpaSpringfoxAnnotator;
+import com.jsonschema.custom.automater.JpaSpringfoxJacksonAnnotator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Jackson serialization and deserialization throughput of a class generated with the
+ * {@link JpaSpringfoxAnnotator} against the same class generated with the fast-path keywords of the
+ * {@link JpaSpringfoxJacksonAnnotator}, i.e. the ARRAY shape, a JsonCreator constructor and an explicit ignored
+ * property list. Run with {@code ./gradlew jmh}.
+ * <p>
+ * The class is generated and compiled once per trial by the {@link GeneratedClassCompiler}, so the benchmark always
+ * measures what the current annotators produce.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final String CLASS_NAME = "Order";
+
+    @Param({"false", "true"})
+    public boolean fastPath;
+
+    private GeneratedClassCompiler compiler;
+    private ObjectMapper mapper;
+    private Class<?> type;
+    private Object instance;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        compiler = new GeneratedClassCompiler();
+        type = compiler.compile(createSchema(fastPath), CLASS_NAME,
+                fastPath ? JpaSpringfoxJacksonAnnotator.class : JpaSpringfoxAnnotator.class);
+        mapper = new ObjectMapper();
+        ObjectNode sample = createSample();
+        json = mapper.writeValueAsBytes(fastPath ? toArray(sample) : sample);
+        instance = mapper.readValue(json, type);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        compiler.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(instance);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return mapper.readValue(json, type);
+    }
+
+    /**
+     * @param fastPath true to add the fast-path keywords
+     * @return schema of a typical REST payload, additional properties are disabled for both variants
+     */
+    static ObjectNode createSchema(boolean fastPath) {
+        ObjectNode schema = JsonNodeFactory.instance.objectNode();
+        schema.put("type", "object");
+        schema.put("additionalProperties", false);
+        schema.put("ignoreUnknown", true);
+        if (fastPath) {
+            schema.put("jsonFormat", "ARRAY");
+            schema.put("jsonCreator", true);
+            schema.putArray("ignoreProperties").add("legacyCode");
+        }
+        ObjectNode properties = schema.putObject("properties");
+        properties.putObject("id").put("type", "integer");
+        properties.putObject("code").put("type", "string");
+        properties.putObject("customerName").put("type", "string");
+        properties.putObject("status").put("type", "string");
+        properties.putObject("total").put("type", "number");
+        properties.putObject("quantity").put("type", "integer");
+        properties.putObject("express").put("type", "boolean");
+        properties.putObject("notes").put("type", "string");
+        ObjectNode tags = properties.putObject("tags");
+        tags.put("type", "array");
+        tags.putObject("items").put("type", "string");
+        return schema;
+    }
+
+    /**
+     * @return sample payload matching the schema, in property order
+     */
+    static ObjectNode createSample() {
+        ObjectNode sample = JsonNodeFactory.instance.objectNode();
+        sample.put("id", 4711L);
+        sample.put("code", "ORD-2018-000042");
+        sample.put("customerName", "Jane Doe");
+        sample.put("status", "SHIPPED");
+        sample.put("total", 1299.95d);
+        sample.put("quantity", 3);
+        sample.put("express", true);
+        sample.put("notes", "Leave at the front desk");
+        sample.putArray("tags").add("priority").add("gift");
+        return sample;
+    }
+
+    private static ArrayNode toArray(ObjectNode sample) {
+        ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = sample.fields(); fields.hasNext(); ) {
+            array.add(fields.next().getValue());
+        }
+        return array;
+    }
+}
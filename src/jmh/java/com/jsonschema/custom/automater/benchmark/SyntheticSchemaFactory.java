@@ -0,0 +1,114 @@
+package com.jsonschema.custom.automater.benchmark;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.doc.SpringfoxConstants;
+import com.jsonschema.custom.automater.jpa.JpaConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic JSON Schema class nodes shaped like the schemas fed to the annotators during a real build. The
+ * generated corpus is deterministic for a given seed so benchmark runs can be compared against each other.
+ */
+public final class SyntheticSchemaFactory {
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+    private static final String[] MULTIPLICITIES = {
+            JpaConstants.ONE_TO_ONE, JpaConstants.MANY_TO_MANY, JpaConstants.ONE_TO_MANY, JpaConstants.MANY_TO_ONE
+    };
+    private static final String[] FETCH_TYPES = {"LAZY", "EAGER"};
+
+    private final int propertiesPerClass;
+    private final double joinTableShare;
+    private final double multiplicityShare;
+    private final int nestingDepth;
+    private final Random random;
+
+    /**
+     * @param propertiesPerClass number of properties placed on every generated class schema
+     * @param joinTableShare     share (0.0 - 1.0) of properties that declare a joinTable
+     * @param multiplicityShare  share (0.0 - 1.0) of properties that declare a multiplicity
+     * @param nestingDepth       number of nested object levels, every level produces one class schema
+     * @param seed               seed used to pick which properties receive which keywords
+     */
+    public SyntheticSchemaFactory(int propertiesPerClass, double joinTableShare, double multiplicityShare,
+                                  int nestingDepth, long seed) {
+        this.propertiesPerClass = propertiesPerClass;
+        this.joinTableShare = joinTableShare;
+        this.multiplicityShare = multiplicityShare;
+        this.nestingDepth = Math.max(1, nestingDepth);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Create the class schemas for one synthetic corpus entry, outermost class first. Every class but the last one
+     * holds an object property pointing at the next class, mirroring how nested definitions are laid out.
+     *
+     * @return list of class level schema nodes
+     */
+    public List<ObjectNode> createClassSchemas() {
+        List<ObjectNode> classSchemas = new ArrayList<>(nestingDepth);
+        ObjectNode parent = null;
+        for (int depth = 0; depth < nestingDepth; depth++) {
+            ObjectNode classSchema = createClassSchema(depth);
+            if (parent != null) {
+                ((ObjectNode) parent.get("properties")).set("child" + depth, classSchema);
+            }
+            classSchemas.add(classSchema);
+            parent = classSchema;
+        }
+        return classSchemas;
+    }
+
+    private ObjectNode createClassSchema(int depth) {
+        ObjectNode schema = NODE_FACTORY.objectNode();
+        schema.put("type", "object");
+        schema.put(SpringfoxConstants.IGNORE_UNKNOWN, true);
+        schema.put(JpaConstants.ENTITY, true);
+        schema.putObject(JpaConstants.TABLE).put(JpaConstants.TABLE_NAME, "synthetic_tbl_" + depth);
+
+        ObjectNode properties = schema.putObject("properties");
+        properties.set("id", createIdProperty());
+        for (int i = 1; i < propertiesPerClass; i++) {
+            properties.set("field" + i, createProperty(i));
+        }
+        return schema;
+    }
+
+    private ObjectNode createIdProperty() {
+        ObjectNode property = NODE_FACTORY.objectNode();
+        property.put("type", "integer");
+        property.put(SpringfoxConstants.API_MODEL_DESC, "Identifier");
+        property.put(JpaConstants.COLUMN, "id");
+        property.put(JpaConstants.IS_ID_COLUMN, true);
+        property.putObject(JpaConstants.GENERATED_VALUE).put(JpaConstants.STRATEGY, "IDENTITY");
+        return property;
+    }
+
+    private ObjectNode createProperty(int index) {
+        ObjectNode property = NODE_FACTORY.objectNode();
+        property.put("type", "string");
+        property.put(SpringfoxConstants.API_MODEL_DESC, "Synthetic property " + index);
+        property.put(JpaConstants.COLUMN, "field_" + index);
+        if (random.nextBoolean()) {
+            property.put(SpringfoxConstants.REQUIRED, true);
+        }
+        if (random.nextDouble() < multiplicityShare) {
+            String multiplicity = MULTIPLICITIES[random.nextInt(MULTIPLICITIES.length)];
+            property.putObject(multiplicity).put(JpaConstants.FETCH, FETCH_TYPES[random.nextInt(FETCH_TYPES.length)]);
+        }
+        if (random.nextDouble() < joinTableShare) {
+            ObjectNode joinTable = property.putObject(JpaConstants.JOIN_TABLE);
+            joinTable.put(JpaConstants.NAME, "join_tbl_" + index);
+            joinTable.putObject(JpaConstants.JOIN_COLUMNS)
+                    .put(JpaConstants.NAME, "owner_id")
+                    .put(JpaConstants.REFERENCED_COLUMN_NAME, "id");
+            joinTable.putObject(JpaConstants.INVERSE_JOIN_COLUMNS)
+                    .put(JpaConstants.NAME, "target_id")
+                    .put(JpaConstants.REFERENCED_COLUMN_NAME, "id");
+        }
+        return property;
+    }
+}
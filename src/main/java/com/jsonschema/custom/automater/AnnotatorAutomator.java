@@ -1,40 +1,115 @@
 package com.jsonschema.custom.automater;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jsonschema.custom.automater.jpa.EntityProjections;
 import com.jsonschema.custom.automater.jpa.JpaConstants;
+import com.jsonschema.custom.automater.json.JacksonConstants;
+import com.jsonschema.custom.automater.keyword.KeywordHandlerRegistry;
+import com.jsonschema.custom.automater.metrics.GenerationMetrics;
 import com.jsonschema.custom.automater.doc.SpringfoxConstants;
+import com.jsonschema.custom.automater.plan.GeneratorPlan;
+import com.jsonschema.custom.automater.plan.IndexPlan;
+import com.jsonschema.custom.automater.plan.JoinColumnPlan;
+import com.jsonschema.custom.automater.plan.JsonFormatPlan;
+import com.jsonschema.custom.automater.plan.PropertyPlan;
+import com.jsonschema.custom.automater.plan.PropertyPlanCache;
+import com.jsonschema.custom.automater.plan.PropertyPlanCompiler;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JAnnotatable;
+import com.sun.codemodel.JAnnotationArrayMember;
 import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
 import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import org.apache.commons.lang3.StringUtils;
 import org.jsonschema2pojo.AbstractAnnotator;
 import org.jsonschema2pojo.GenerationConfig;
 
+import javax.lang.model.SourceVersion;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Converter;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
-import javax.persistence.ManyToMany;
-import javax.persistence.ManyToOne;
-import javax.persistence.OneToMany;
-import javax.persistence.OneToOne;
+import javax.persistence.Lob;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
+import javax.persistence.NamedSubgraph;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.UniqueConstraint;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Abstract to be Class used alongside JSON Schema2POJO Library to generate customized Java Objects and provide common
  * functions across the project. This can help support rapid development of code. Future enhancements will utilize the
  * {@link GenerationConfig} per suggestions from the extended {@link AbstractAnnotator} class.
  * <p>
+ * Annotators are safe to call concurrently. The only state held by an instance is its cache of immutable
+ * {@link PropertyPlan}s, which is backed by a concurrent map, subclasses must not add mutable state of their own.
+ * <p>
  * Please reference the JSON Schema2POJO Git Repo for more information
  *
  * @author Jack Phillips
  * @see <a href="https://github.com/joelittlejohn/jsonschema2pojo">JSON Schema2POJO Git Repo</a>
  */
 public abstract class AnnotatorAutomator extends AbstractAnnotator {
+    // Compiled property plans, shared $ref definitions are only interpreted once per annotator
+    private final PropertyPlanCache propertyPlanCache = new PropertyPlanCache();
+
+    /**
+     * Create an annotator without access to the generation configuration.
+     */
+    public AnnotatorAutomator() {
+        super();
+    }
+
+    /**
+     * Create an annotator for the given configuration, JSON Schema2POJO uses this constructor when it is available.
+     *
+     * @param generationConfig the configuration of the generation run
+     */
+    public AnnotatorAutomator(GenerationConfig generationConfig) {
+        super(generationConfig);
+    }
 
     /**
      * Add the necessary JsonIgnore annotations to the generated class.
@@ -43,13 +118,86 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
      * @param schema the object schema associated with this clazz
      */
     public void handleJsonIgnoreInclusions(JDefinedClass clazz, JsonNode schema) {
-        if (schema.has(SpringfoxConstants.IGNORE_UNKNOWN)) {
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.JSON_IGNORE_INCLUSIONS, clazz, null);
+        annotateJsonIgnoreInclusions(clazz, schema);
+        GenerationMetrics.record(probe);
+    }
+
+    private void annotateJsonIgnoreInclusions(JDefinedClass clazz, JsonNode schema) {
+        boolean hasIgnoreUnknown = schema.has(SpringfoxConstants.IGNORE_UNKNOWN);
+        boolean hasIgnoreProperties = schema.has(SpringfoxConstants.IGNORE_PROPERTIES);
+        if (!hasIgnoreUnknown && !hasIgnoreProperties) {
+            return;
+        }
+
+        JAnnotationUse annotation = clazz.annotate(SpringfoxConstants.JSON_IGNORE_PROPERTIES);
+        // Explicitly listed properties are skipped by name instead of going through the unknown property handling
+        if (hasIgnoreProperties) {
+            JsonNode ignorePropertiesNode = schema.get(SpringfoxConstants.IGNORE_PROPERTIES);
+            JAnnotationArrayMember ignoredProperties = annotation.paramArray(SpringfoxConstants.VALUE);
+            if (ignorePropertiesNode.isArray()) {
+                for (JsonNode ignoredProperty : ignorePropertiesNode) {
+                    ignoredProperties.param(ignoredProperty.asText());
+                }
+            } else {
+                ignoredProperties.param(ignorePropertiesNode.asText());
+            }
+        }
+        if (hasIgnoreUnknown) {
             boolean shouldIgnoreUnknown = schema.get(SpringfoxConstants.IGNORE_UNKNOWN).asBoolean(false);
-            clazz.annotate(SpringfoxConstants.JSON_IGNORE_PROPERTIES)
-                    .param(SpringfoxConstants.IGNORE_UNKNOWN, shouldIgnoreUnknown);
+            annotation.param(SpringfoxConstants.IGNORE_UNKNOWN, shouldIgnoreUnknown);
         }
     }
 
+    /**
+     * Add the annotations that let Jackson (de)serialize the generated class through cheaper code paths: a class
+     * level {@link JsonFormat}, i.e. the ARRAY shape for compact internal wire formats, and a {@link JsonCreator}
+     * constructor so Jackson does not go through the setters. The constructor parameters are appended by
+     * {@link #handleJacksonPropertyFields(JFieldVar, JDefinedClass, String, JsonNode)} as the properties are generated.
+     *
+     * @param clazz  a generated pojo class, that is serialized to JSON
+     * @param schema the object schema associated with this clazz
+     */
+    public void handleJacksonInclusions(JDefinedClass clazz, JsonNode schema) {
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.JACKSON_INCLUSIONS, clazz, null);
+        annotateJacksonInclusions(clazz, schema);
+        GenerationMetrics.record(probe);
+    }
+
+    private void annotateJacksonInclusions(JDefinedClass clazz, JsonNode schema) {
+        if (schema.has(JacksonConstants.JSON_FORMAT)) {
+            JsonFormatPlan jsonFormat = PropertyPlanCompiler.compileJsonFormat(schema.get(JacksonConstants.JSON_FORMAT));
+            if (jsonFormat.getShape() == JsonFormat.Shape.ARRAY && hasAdditionalProperties(schema)) {
+                // Jackson silently falls back to the object shape for classes with an any getter
+                throw new IllegalArgumentException("The ARRAY shape of " + clazz.fullName() + " requires \""
+                        + JacksonConstants.ADDITIONAL_PROPERTIES + "\" : false");
+            }
+            annotateJsonFormat(clazz, jsonFormat);
+        }
+
+        if (schema.path(JacksonConstants.JSON_CREATOR).asBoolean(false)) {
+            GenerationConfig generationConfig = getGenerationConfig();
+            if (Objects.nonNull(generationConfig) && generationConfig.isIncludeConstructors()) {
+                throw new IllegalArgumentException(JacksonConstants.JSON_CREATOR + " of " + clazz.fullName()
+                        + " can not be combined with the includeConstructors setting");
+            }
+            // Keep a no args constructor for JPA and setter based deserialization
+            clazz.constructor(JMod.PUBLIC).javadoc().add("No args constructor for use in serialization");
+            JMethod creator = clazz.constructor(JMod.PUBLIC);
+            creator.annotate(JsonCreator.class);
+            creator.javadoc().add("Constructor used by Jackson to create instances without calling the setters");
+        }
+    }
+
+    private boolean hasAdditionalProperties(JsonNode schema) {
+        GenerationConfig generationConfig = getGenerationConfig();
+        if (Objects.nonNull(generationConfig) && !generationConfig.isIncludeAdditionalProperties()) {
+            return false;
+        }
+        JsonNode additionalPropertiesNode = schema.path(JacksonConstants.ADDITIONAL_PROPERTIES);
+        return !additionalPropertiesNode.isBoolean() || additionalPropertiesNode.asBoolean();
+    }
+
     /**
      * Add the necessary JPA annotations to the generated class.
      *
@@ -57,10 +205,24 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
      * @param schema the object schema associated with this clazz
      */
     public void handleJpaInclusions(JDefinedClass clazz, JsonNode schema) {
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.JPA_INCLUSIONS, clazz, null);
+        annotateJpaInclusions(clazz, schema);
+        GenerationMetrics.record(probe);
+    }
+
+    private void annotateJpaInclusions(JDefinedClass clazz, JsonNode schema) {
         // If we have an entity tag then append the annotation to the class
         if (schema.has(JpaConstants.ENTITY)) {
             clazz.annotate(Entity.class);
         }
+        // Value objects embedded into the table of the owning entity
+        if (schema.path(JpaConstants.EMBEDDABLE).asBoolean(false)) {
+            if (schema.has(JpaConstants.ENTITY)) {
+                throw new IllegalArgumentException(clazz.fullName() + " can not be both an " + JpaConstants.ENTITY
+                        + " and " + JpaConstants.EMBEDDABLE);
+            }
+            clazz.annotate(Embeddable.class);
+        }
         // if we have a table tag then append the annotation to the class
         if (schema.has(JpaConstants.TABLE)) {
             JsonNode node = schema.get(JpaConstants.TABLE);
@@ -69,6 +231,215 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
             if (node.has(JpaConstants.TABLE_NAME)) {
                 annotation.param(JpaConstants.NAME, node.get(JpaConstants.TABLE_NAME).asText());
             }
+            if (node.has(JpaConstants.INDEXES)) {
+                annotateIndexes(annotation, PropertyPlanCompiler.compileIndexes(node.get(JpaConstants.INDEXES)));
+            }
+            if (node.has(JpaConstants.UNIQUE_CONSTRAINTS)) {
+                handleUniqueConstraints(annotation, node.get(JpaConstants.UNIQUE_CONSTRAINTS));
+            }
+        }
+        // Second level cache and batch fetching of the entity
+        handleCacheInclusions(clazz, schema);
+        // Entity graphs for common fetch paths
+        if (schema.has(JpaConstants.NAMED_ENTITY_GRAPHS)) {
+            handleNamedEntityGraphs(clazz, schema.get(JpaConstants.NAMED_ENTITY_GRAPHS));
+        }
+        // Read-only projections, their fields are added along with the properties
+        if (schema.has(JpaConstants.PROJECTIONS)) {
+            handleProjections(clazz, schema);
+        }
+    }
+
+    /**
+     * Create the read-only projections of an entity, i.e. [{"name": "OrderSummary", "properties": ["id", "total"]}].
+     * Every projection is an immutable class in the package of the entity with a single constructor, suitable for a
+     * JPQL constructor expression. Its fields, getters and constructor parameters are added by
+     * {@link #handleJpaPropertyFields(JFieldVar, JDefinedClass, String, JsonNode)} as the properties are generated, so
+     * they follow the order in which the properties are declared in the schema.
+     *
+     * @param clazz  a generated entity class
+     * @param schema the object schema associated with this clazz
+     */
+    private void handleProjections(JDefinedClass clazz, JsonNode schema) {
+        JsonNode projectionsNode = schema.get(JpaConstants.PROJECTIONS);
+        if (!schema.has(JpaConstants.ENTITY)) {
+            throw new IllegalArgumentException(JpaConstants.PROJECTIONS + " require an " + JpaConstants.ENTITY
+                    + " but " + clazz.fullName() + " is not one");
+        }
+        if (!projectionsNode.isArray() || projectionsNode.size() == 0) {
+            throw new IllegalArgumentException(JpaConstants.PROJECTIONS + " must be a non empty array but was " + projectionsNode);
+        }
+        JsonNode propertiesNode = schema.path(JpaConstants.PROPERTIES);
+        EntityProjections entityProjections = EntityProjections.attach(clazz);
+        for (JsonNode projectionNode : projectionsNode) {
+            String name = projectionNode.path(JpaConstants.NAME).asText();
+            if (!SourceVersion.isIdentifier(name) || SourceVersion.isKeyword(name)) {
+                throw new IllegalArgumentException("projection " + JpaConstants.NAME + " must be a Java class name but was "
+                        + projectionNode.path(JpaConstants.NAME));
+            }
+            JsonNode propertyNames = projectionNode.path(JpaConstants.PROPERTIES);
+            if (!propertyNames.isArray() || propertyNames.size() == 0) {
+                throw new IllegalArgumentException("projection " + name + " " + JpaConstants.PROPERTIES
+                        + " must be a non empty array but was " + propertyNames);
+            }
+
+            JDefinedClass projection;
+            try {
+                projection = clazz._package()._class(JMod.PUBLIC | JMod.FINAL, name);
+            } catch (JClassAlreadyExistsException e) {
+                throw new IllegalArgumentException("Can not generate projection " + name + " of " + clazz.fullName()
+                        + ", the class already exists", e);
+            }
+            projection.javadoc().add("Read-only projection of {@link " + clazz.name() + "}, select it with a JPQL "
+                    + "constructor expression, i.e. SELECT new " + projection.fullName() + "(...) FROM " + clazz.name()
+                    + " e, listing the properties in the order of the constructor parameters.");
+            projection.constructor(JMod.PUBLIC);
+
+            Set<String> included = new HashSet<>();
+            for (JsonNode propertyNameNode : propertyNames) {
+                String propertyName = propertyNameNode.asText();
+                JsonNode propertyNode = propertiesNode.get(propertyName);
+                if (Objects.isNull(propertyNode)) {
+                    throw new IllegalArgumentException("projection " + name + " includes " + propertyName
+                            + ", which is not a property of " + clazz.fullName());
+                }
+                if (getPropertyPlan(propertyNode).has(PropertyPlan.MULTIPLICITY)) {
+                    throw new IllegalArgumentException("projection " + name + " can not include the association "
+                            + propertyName + ", projections only hold column values");
+                }
+                if (included.add(propertyName)) {
+                    entityProjections.add(propertyName, projection);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the unique constraints of a table, i.e. [{"name": "uk_foo", "columnNames": ["foo", "bar"]}].
+     *
+     * @param table           the Table annotation of the generated class
+     * @param constraintsNode array of unique constraint schema nodes
+     */
+    private void handleUniqueConstraints(JAnnotationUse table, JsonNode constraintsNode) {
+        if (!constraintsNode.isArray()) {
+            throw new IllegalArgumentException(JpaConstants.UNIQUE_CONSTRAINTS + " must be an array but was " + constraintsNode);
+        }
+        JAnnotationArrayMember constraints = table.paramArray(JpaConstants.UNIQUE_CONSTRAINTS);
+        for (JsonNode constraintNode : constraintsNode) {
+            JsonNode columnNamesNode = constraintNode.path(JpaConstants.COLUMN_NAMES);
+            if (columnNamesNode.size() == 0 && columnNamesNode.asText().trim().isEmpty()) {
+                throw new IllegalArgumentException("unique constraint " + JpaConstants.COLUMN_NAMES + " must not be empty in " + constraintNode);
+            }
+            JAnnotationUse constraint = constraints.annotate(UniqueConstraint.class);
+            if (constraintNode.has(JpaConstants.NAME)) {
+                constraint.param(JpaConstants.NAME, constraintNode.get(JpaConstants.NAME).asText());
+            }
+            JAnnotationArrayMember columnNames = constraint.paramArray(JpaConstants.COLUMN_NAMES);
+            if (columnNamesNode.isArray()) {
+                for (JsonNode columnNameNode : columnNamesNode) {
+                    columnNames.param(columnNameNode.asText());
+                }
+            } else {
+                for (String columnName : columnNamesNode.asText().split(",")) {
+                    columnNames.param(columnName.trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the second level cache and batch fetching annotations to the generated class. The {@link Cacheable}
+     * annotation takes effect with the ENABLE_SELECTIVE shared cache mode, the Hibernate annotations require Hibernate
+     * on the classpath of the generated code.
+     *
+     * @param clazz  a generated pojo class, that is serialized to JSON
+     * @param schema the object schema associated with this clazz
+     */
+    private void handleCacheInclusions(JDefinedClass clazz, JsonNode schema) {
+        if (schema.has(JpaConstants.CACHEABLE)) {
+            boolean cacheable = schema.get(JpaConstants.CACHEABLE).asBoolean(true);
+            JAnnotationUse annotation = clazz.annotate(Cacheable.class);
+            if (!cacheable) {
+                annotation.param(JpaConstants.VALUE, false);
+            }
+        }
+        if (schema.has(JpaConstants.CACHE)) {
+            JsonNode node = schema.get(JpaConstants.CACHE);
+            String region = node.has(JpaConstants.REGION) ? node.get(JpaConstants.REGION).asText() : null;
+            annotateCache(clazz, clazz.owner(), PropertyPlanCompiler.compileCacheUsage(node), region);
+        }
+        if (schema.has(JpaConstants.BATCH_SIZE)) {
+            annotateBatchSize(clazz, clazz.owner(), PropertyPlanCompiler.compileBatchSize(schema.get(JpaConstants.BATCH_SIZE)));
+        }
+    }
+
+    /**
+     * Add {@link NamedEntityGraph} definitions to the generated class, wrapped in {@link NamedEntityGraphs} if more
+     * than one graph is declared.
+     *
+     * @param clazz      a generated pojo class, that is serialized to JSON
+     * @param graphsNode array of entity graph schema nodes
+     */
+    private void handleNamedEntityGraphs(JDefinedClass clazz, JsonNode graphsNode) {
+        if (!graphsNode.isArray() || graphsNode.size() == 0) {
+            throw new IllegalArgumentException(JpaConstants.NAMED_ENTITY_GRAPHS + " must be a non empty array but was " + graphsNode);
+        }
+        if (graphsNode.size() == 1) {
+            handleNamedEntityGraph(clazz.annotate(NamedEntityGraph.class), graphsNode.get(0));
+            return;
+        }
+        JAnnotationArrayMember graphs = clazz.annotate(NamedEntityGraphs.class).paramArray(JpaConstants.VALUE);
+        for (JsonNode graphNode : graphsNode) {
+            handleNamedEntityGraph(graphs.annotate(NamedEntityGraph.class), graphNode);
+        }
+    }
+
+    /**
+     * Process a single entity graph, i.e. {"name": "Foo.bars", "attributeNodes": ["bars"], "subgraphs": [...]}.
+     *
+     * @param graph     the NamedEntityGraph annotation to append values to
+     * @param graphNode the entity graph schema node
+     */
+    private void handleNamedEntityGraph(JAnnotationUse graph, JsonNode graphNode) {
+        if (graphNode.has(JpaConstants.NAME)) {
+            graph.param(JpaConstants.NAME, graphNode.get(JpaConstants.NAME).asText());
+        }
+        if (graphNode.has(JpaConstants.INCLUDE_ALL_ATTRIBUTES)) {
+            graph.param(JpaConstants.INCLUDE_ALL_ATTRIBUTES, graphNode.get(JpaConstants.INCLUDE_ALL_ATTRIBUTES).asBoolean(false));
+        }
+        handleNamedAttributeNodes(graph, graphNode);
+        if (graphNode.has(JpaConstants.SUBGRAPHS)) {
+            JAnnotationArrayMember subgraphs = graph.paramArray(JpaConstants.SUBGRAPHS);
+            for (JsonNode subgraphNode : graphNode.get(JpaConstants.SUBGRAPHS)) {
+                JAnnotationUse subgraph = subgraphs.annotate(NamedSubgraph.class);
+                subgraph.param(JpaConstants.NAME, subgraphNode.path(JpaConstants.NAME).asText());
+                handleNamedAttributeNodes(subgraph, subgraphNode);
+            }
+        }
+    }
+
+    /**
+     * Process the attribute nodes of an entity graph or subgraph. An attribute node is either the attribute name or
+     * an object with the name and the subgraph to fetch it with.
+     *
+     * @param annotation the NamedEntityGraph or NamedSubgraph annotation to append values to
+     * @param node       the graph schema node holding the attributeNodes
+     */
+    private void handleNamedAttributeNodes(JAnnotationUse annotation, JsonNode node) {
+        if (!node.has(JpaConstants.ATTRIBUTE_NODES)) {
+            return;
+        }
+        JAnnotationArrayMember attributeNodes = annotation.paramArray(JpaConstants.ATTRIBUTE_NODES);
+        for (JsonNode attributeNode : node.get(JpaConstants.ATTRIBUTE_NODES)) {
+            JAnnotationUse namedAttributeNode = attributeNodes.annotate(NamedAttributeNode.class);
+            if (attributeNode.isObject()) {
+                namedAttributeNode.param(JpaConstants.VALUE, attributeNode.path(JpaConstants.NAME).asText());
+                if (attributeNode.has(JpaConstants.SUBGRAPH)) {
+                    namedAttributeNode.param(JpaConstants.SUBGRAPH, attributeNode.get(JpaConstants.SUBGRAPH).asText());
+                }
+            } else {
+                namedAttributeNode.param(JpaConstants.VALUE, attributeNode.asText());
+            }
         }
     }
 
@@ -81,14 +452,55 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
      * @param propertyNode the schema node defining this property
      */
     public void handleJpaPropertyFields(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.JPA_PROPERTY_FIELDS, clazz, field);
+        annotateJpaPropertyFields(field, clazz, propertyName, propertyNode);
+        addProjectionFields(field, clazz, propertyName);
+        GenerationMetrics.record(probe);
+    }
+
+    /**
+     * Add a property to the projections of its entity that include it, as a final field with a getter and a
+     * parameter of the projection constructor. The field keeps the JSON property name, so a projection serializes
+     * like the entity it is taken from.
+     *
+     * @param field        the entity field, its type is final at this point
+     * @param clazz        the owner of the field (class to which the field belongs)
+     * @param propertyName the name of the JSON property that this field represents
+     */
+    private void addProjectionFields(JFieldVar field, JDefinedClass clazz, String propertyName) {
+        for (JDefinedClass projection : EntityProjections.getProjections(clazz, propertyName)) {
+            JFieldVar projectionField = projection.field(JMod.PRIVATE | JMod.FINAL, field.type(), field.name());
+            projectionField.annotate(JsonProperty.class).param(JacksonConstants.VALUE, propertyName);
+            // JSON Schema2POJO only uses the is prefix for primitive booleans
+            String prefix = field.type() == field.type().owner().BOOLEAN ? "is" : "get";
+            projection.method(JMod.PUBLIC, field.type(), prefix + StringUtils.capitalize(field.name()))
+                    .body()._return(projectionField);
+            JMethod constructor = projection.constructors().next();
+            JVar param = constructor.param(field.type(), field.name());
+            constructor.body().assign(JExpr._this().ref(projectionField), param);
+        }
+    }
+
+    private void annotateJpaPropertyFields(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
+        PropertyPlan plan = getPropertyPlan(propertyNode);
+        // Nothing to do if the property does not declare any JPA keyword
+        if (!plan.has(PropertyPlan.JPA_KEYWORDS)) {
+            return;
+        }
+        // Primitive, Enumerated and Embedded fields, first as they can change the field type
+        handleCompactFields(field, plan);
         // Id and GeneratedValue fields
-        handleIdFields(field, propertyNode);
+        handleIdFields(field, plan);
         // Column fields
-        handleColumnFields(field, propertyNode);
+        handleColumnFields(field, plan);
+        // Properties stored as a JSON document in a single column
+        handleJsonColumn(field, clazz, plan);
         // Multiplicity, i.e. OneToMany, ManyToOne, etc.
-        handleMultiplicityFields(field, propertyNode);
+        handleMultiplicityFields(field, plan);
         // JoinTable Values
-        handleJoinTable(field, clazz, propertyName, propertyNode);
+        handleJoinTable(field, plan);
+        // Batch fetching and second level caching of associations
+        handleFetchTuningFields(field, plan);
     }
 
     /**
@@ -100,98 +512,481 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
      * @param propertyNode the schema node defining this property
      */
     public void handleSpringfoxPropertyFields(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
-        handleSpringfoxPropertyField(field, propertyNode);
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.SPRINGFOX_PROPERTY_FIELDS, clazz, field);
+        PropertyPlan plan = getPropertyPlan(propertyNode);
+        handleSpringfoxPropertyField(field, plan);
+        // Projections share the documentation of the entity property
+        for (JDefinedClass projection : EntityProjections.getProjections(clazz, propertyName)) {
+            JFieldVar projectionField = projection.fields().get(field.name());
+            if (Objects.nonNull(projectionField)) {
+                handleSpringfoxPropertyField(projectionField, plan);
+            }
+        }
+        GenerationMetrics.record(probe);
     }
 
     /**
-     * Process ID related fields and append to generated POJO
+     * Process Jackson related fields, i.e. jsonFormat, and add the field to the JsonCreator constructor of its class,
+     * unless it is excluded by "jsonCreator": false.
      *
      * @param field        the field that contains data that will be serialized
+     * @param clazz        the owner of the field (class to which the field belongs)
+     * @param propertyName the name of the JSON property that this field represents
+     * @param propertyNode the schema node defining this property
+     */
+    public void handleJacksonPropertyFields(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.JACKSON_PROPERTY_FIELDS, clazz, field);
+        annotateJacksonPropertyFields(field, clazz, propertyName, propertyNode);
+        GenerationMetrics.record(probe);
+    }
+
+    /**
+     * Call the registered {@link com.jsonschema.custom.automater.keyword.KeywordHandler}s of the custom keywords
+     * declared on the schema of the generated class.
+     *
+     * @param clazz  a generated pojo class
+     * @param schema the object schema associated with this clazz
+     */
+    public void handleKeywordInclusions(JDefinedClass clazz, JsonNode schema) {
+        KeywordHandlerRegistry registry = getKeywordHandlerRegistry();
+        if (registry.isEmpty()) {
+            return;
+        }
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.KEYWORD_INCLUSIONS, clazz, null);
+        registry.handleClass(clazz, schema);
+        GenerationMetrics.record(probe);
+    }
+
+    /**
+     * Call the registered {@link com.jsonschema.custom.automater.keyword.KeywordHandler}s of the custom keywords
+     * declared on a property.
+     *
+     * @param field        the field that contains data that will be serialized
+     * @param clazz        the owner of the field (class to which the field belongs)
+     * @param propertyName the name of the JSON property that this field represents
+     * @param propertyNode the schema node defining this property
+     */
+    public void handleKeywordPropertyFields(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
+        KeywordHandlerRegistry registry = getKeywordHandlerRegistry();
+        if (registry.isEmpty()) {
+            return;
+        }
+        GenerationMetrics.Probe probe = GenerationMetrics.probe(GenerationMetrics.Handler.KEYWORD_PROPERTY_FIELDS, clazz, field);
+        registry.handleField(field, clazz, propertyNode);
+        GenerationMetrics.record(probe);
+    }
+
+    private void annotateJacksonPropertyFields(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
+        PropertyPlan plan = getPropertyPlan(propertyNode);
+        if (plan.has(PropertyPlan.JSON_FORMAT)) {
+            annotateJsonFormat(field, plan.getJsonFormat());
+        }
+        JMethod creator = findJsonCreator(clazz);
+        if (Objects.nonNull(creator) && plan.isCreatorProperty()) {
+            JVar param = creator.param(field.type(), field.name());
+            param.annotate(JsonProperty.class).param(JacksonConstants.VALUE, propertyName);
+            JFieldRef assignment = JExpr._this().ref(field);
+            if (isCollection(field.type())) {
+                // Keep the initialized collection when the property is missing from the JSON
+                creator.body()._if(param.ne(JExpr._null()))._then().assign(assignment, param);
+            } else {
+                creator.body().assign(assignment, param);
+            }
+        }
+    }
+
+    /**
+     * Annotate a class or field with JsonFormat.
+     *
+     * @param target     class or field to annotate
+     * @param jsonFormat the compiled format
+     */
+    private void annotateJsonFormat(JAnnotatable target, JsonFormatPlan jsonFormat) {
+        JAnnotationUse annotation = target.annotate(JsonFormat.class);
+        if (Objects.nonNull(jsonFormat.getShape())) {
+            annotation.param(JacksonConstants.SHAPE, jsonFormat.getShape());
+        }
+        if (Objects.nonNull(jsonFormat.getPattern())) {
+            annotation.param(JacksonConstants.PATTERN, jsonFormat.getPattern());
+        }
+        if (Objects.nonNull(jsonFormat.getTimezone())) {
+            annotation.param(JacksonConstants.TIMEZONE, jsonFormat.getTimezone());
+        }
+        if (Objects.nonNull(jsonFormat.getLocale())) {
+            annotation.param(JacksonConstants.LOCALE, jsonFormat.getLocale());
+        }
+    }
+
+    /**
+     * @param clazz a generated pojo class
+     * @return the JsonCreator constructor added by {@link #handleJacksonInclusions(JDefinedClass, JsonNode)} or null
+     */
+    private static JMethod findJsonCreator(JDefinedClass clazz) {
+        Iterator<JMethod> constructors = clazz.constructors();
+        while (constructors.hasNext()) {
+            JMethod constructor = constructors.next();
+            for (JAnnotationUse annotation : constructor.annotations()) {
+                if (JsonCreator.class.getName().equals(annotation.getAnnotationClass().fullName())) {
+                    return constructor;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCollection(JType type) {
+        String name = type.erasure().fullName();
+        return List.class.getName().equals(name) || Set.class.getName().equals(name);
+    }
+
+    /**
+     * Return the compiled annotation plan of a property node, the node is only interpreted the first time it is seen.
+     *
      * @param propertyNode the schema node defining this property
+     * @return immutable annotation plan for the property
      */
-    private void handleIdFields(JFieldVar field, JsonNode propertyNode) {
-        if (propertyNode.has(JpaConstants.IS_ID_COLUMN) && propertyNode.get(JpaConstants.IS_ID_COLUMN).asBoolean(true)) {
+    protected PropertyPlan getPropertyPlan(JsonNode propertyNode) {
+        return propertyPlanCache.get(propertyNode);
+    }
+
+    /**
+     * Return the handlers of the custom keywords, by default the ones registered through the
+     * {@link java.util.ServiceLoader}. Override to register handlers programmatically.
+     *
+     * @return registry of the custom keyword handlers
+     */
+    protected KeywordHandlerRegistry getKeywordHandlerRegistry() {
+        return KeywordHandlerRegistry.getDefault();
+    }
+
+    /**
+     * Process ID related fields and append to generated POJO
+     *
+     * @param field the field that contains data that will be serialized
+     * @param plan  the compiled annotation plan of the property
+     */
+    private void handleIdFields(JFieldVar field, PropertyPlan plan) {
+        if (plan.has(PropertyPlan.ID)) {
             field.annotate(Id.class);
         }
 
-        if (propertyNode.has(JpaConstants.GENERATED_VALUE)) {
-            JsonNode generatedValueNode = propertyNode.get(JpaConstants.GENERATED_VALUE);
+        if (plan.has(PropertyPlan.GENERATED_VALUE)) {
             JAnnotationUse jAnnotationUse = field.annotate(GeneratedValue.class);
-            if (generatedValueNode.has(JpaConstants.STRATEGY)) {
-                jAnnotationUse.param(JpaConstants.STRATEGY, GenerationType.valueOf(generatedValueNode.get(JpaConstants.STRATEGY).asText()));
+            if (Objects.nonNull(plan.getStrategy())) {
+                jAnnotationUse.param(JpaConstants.STRATEGY, plan.getStrategy());
+            }
+            if (Objects.nonNull(plan.getGenerator())) {
+                jAnnotationUse.param(JpaConstants.GENERATOR, plan.getGenerator());
             }
+            if (Objects.nonNull(plan.getGeneratorPlan())) {
+                handleGenerator(field, plan.getGeneratorPlan());
+            }
+        }
+    }
+
+    /**
+     * Declare the identifier generator referenced by the GeneratedValue annotation. Without an optimizer the standard
+     * JPA SequenceGenerator or TableGenerator is used, with one Hibernate's GenericGenerator configures the enhanced
+     * sequence or table generator, which requires Hibernate on the classpath of the generated code.
+     *
+     * @param field         the identifier field
+     * @param generatorPlan the compiled generator
+     */
+    private void handleGenerator(JFieldVar field, GeneratorPlan generatorPlan) {
+        boolean sequence = generatorPlan.getType() == GenerationType.SEQUENCE;
+        if (Objects.nonNull(generatorPlan.getOptimizer())) {
+            JCodeModel codeModel = field.type().owner();
+            JAnnotationUse genericGenerator = field.annotate(codeModel.directClass(JpaConstants.HIBERNATE_GENERIC_GENERATOR));
+            genericGenerator.param(JpaConstants.NAME, generatorPlan.getName());
+            genericGenerator.param(JpaConstants.STRATEGY,
+                    sequence ? JpaConstants.HIBERNATE_SEQUENCE_STYLE_GENERATOR : JpaConstants.HIBERNATE_TABLE_GENERATOR);
+            JAnnotationArrayMember parameters = genericGenerator.paramArray(JpaConstants.PARAMETERS);
+            JClass parameter = codeModel.directClass(JpaConstants.HIBERNATE_PARAMETER);
+            if (sequence) {
+                addParameter(parameters, parameter, JpaConstants.HIBERNATE_SEQUENCE_NAME, generatorPlan.getSourceName());
+            } else {
+                addParameter(parameters, parameter, JpaConstants.HIBERNATE_TABLE_NAME, generatorPlan.getSourceName());
+                addParameter(parameters, parameter, JpaConstants.HIBERNATE_SEGMENT_COLUMN_NAME, generatorPlan.getPkColumnName());
+                addParameter(parameters, parameter, JpaConstants.HIBERNATE_VALUE_COLUMN_NAME, generatorPlan.getValueColumnName());
+                addParameter(parameters, parameter, JpaConstants.HIBERNATE_SEGMENT_VALUE, generatorPlan.getPkColumnValue());
+            }
+            addParameter(parameters, parameter, JpaConstants.HIBERNATE_SCHEMA, generatorPlan.getSchema());
+            addParameter(parameters, parameter, JpaConstants.HIBERNATE_CATALOG, generatorPlan.getCatalog());
+            addParameter(parameters, parameter, JpaConstants.HIBERNATE_INITIAL_VALUE, generatorPlan.getInitialValue());
+            addParameter(parameters, parameter, JpaConstants.HIBERNATE_INCREMENT_SIZE, generatorPlan.getAllocationSize());
+            addParameter(parameters, parameter, JpaConstants.HIBERNATE_OPTIMIZER, generatorPlan.getOptimizer());
+            return;
+        }
+
+        JAnnotationUse generator = field.annotate(sequence ? SequenceGenerator.class : TableGenerator.class);
+        generator.param(JpaConstants.NAME, generatorPlan.getName());
+        if (Objects.nonNull(generatorPlan.getSourceName())) {
+            generator.param(sequence ? JpaConstants.SEQUENCE_NAME : JpaConstants.TABLE, generatorPlan.getSourceName());
+        }
+        if (Objects.nonNull(generatorPlan.getSchema())) {
+            generator.param(JpaConstants.SCHEMA, generatorPlan.getSchema());
+        }
+        if (Objects.nonNull(generatorPlan.getCatalog())) {
+            generator.param(JpaConstants.CATALOG, generatorPlan.getCatalog());
+        }
+        if (Objects.nonNull(generatorPlan.getPkColumnName())) {
+            generator.param(JpaConstants.PK_COLUMN_NAME, generatorPlan.getPkColumnName());
+        }
+        if (Objects.nonNull(generatorPlan.getValueColumnName())) {
+            generator.param(JpaConstants.VALUE_COLUMN_NAME, generatorPlan.getValueColumnName());
+        }
+        if (Objects.nonNull(generatorPlan.getPkColumnValue())) {
+            generator.param(JpaConstants.PK_COLUMN_VALUE, generatorPlan.getPkColumnValue());
+        }
+        if (Objects.nonNull(generatorPlan.getInitialValue())) {
+            generator.param(JpaConstants.INITIAL_VALUE, generatorPlan.getInitialValue());
+        }
+        if (Objects.nonNull(generatorPlan.getAllocationSize())) {
+            generator.param(JpaConstants.ALLOCATION_SIZE, generatorPlan.getAllocationSize());
+        }
+    }
+
+    /**
+     * Add a Hibernate Parameter to a GenericGenerator, values that were not declared are skipped.
+     *
+     * @param parameters the parameters array of the generator
+     * @param parameter  the Hibernate Parameter annotation class
+     * @param name       parameter name
+     * @param value      parameter value, can be null
+     */
+    private void addParameter(JAnnotationArrayMember parameters, JClass parameter, String name, Object value) {
+        if (Objects.nonNull(value)) {
+            parameters.annotate(parameter)
+                    .param(JpaConstants.NAME, name)
+                    .param(JpaConstants.VALUE, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Process the fields that keep loaded entities compact: required properties as primitives, enums persisted through
+     * Enumerated and value objects as Embedded fields. Changing a field to its primitive type also changes the type
+     * of its accessors, as JSON Schema2POJO generates them from the field.
+     *
+     * @param field the field that contains data that will be serialized
+     * @param plan  the compiled annotation plan of the property
+     */
+    private void handleCompactFields(JFieldVar field, PropertyPlan plan) {
+        if (plan.has(PropertyPlan.PRIMITIVE)) {
+            JType primitiveType = field.type().unboxify();
+            if (!primitiveType.isPrimitive()) {
+                throw new IllegalArgumentException(JpaConstants.PRIMITIVE + " requires a boxed type but "
+                        + field.name() + " is a " + field.type().fullName());
+            }
+            field.type(primitiveType);
+        }
+        if (plan.has(PropertyPlan.ENUMERATED)) {
+            if (!(field.type() instanceof JDefinedClass) || ((JDefinedClass) field.type()).getClassType() != ClassType.ENUM) {
+                throw new IllegalArgumentException(JpaConstants.ENUMERATED + " requires an enum but "
+                        + field.name() + " is a " + field.type().fullName());
+            }
+            field.annotate(Enumerated.class).param(JpaConstants.VALUE, plan.getEnumType());
+        }
+        if (plan.has(PropertyPlan.EMBEDDED)) {
+            field.annotate(Embedded.class);
         }
     }
 
     /**
      * Process Column related fields and append to generated POJO
      *
-     * @param field        the field that contains data that will be serialized
-     * @param propertyNode the schema node defining this property
+     * @param field the field that contains data that will be serialized
+     * @param plan  the compiled annotation plan of the property
      */
-    private void handleColumnFields(JFieldVar field, JsonNode propertyNode) {
-        if (propertyNode.has(JpaConstants.COLUMN)) {
+    private void handleColumnFields(JFieldVar field, PropertyPlan plan) {
+        if (plan.has(PropertyPlan.COLUMN)) {
             JAnnotationUse jAnnotationUse = field.annotate(Column.class);
-            if (propertyNode.has(JpaConstants.COLUMN_NAME)) {
-                jAnnotationUse.param(JpaConstants.NAME, propertyNode.get(JpaConstants.COLUMN_NAME).asText());
-            } else if (!propertyNode.get(JpaConstants.COLUMN).isBoolean()) {
-                jAnnotationUse.param(JpaConstants.NAME, propertyNode.get(JpaConstants.COLUMN).asText());
+            if (Objects.nonNull(plan.getColumnName())) {
+                jAnnotationUse.param(JpaConstants.NAME, plan.getColumnName());
+            }
+            if (Objects.nonNull(plan.getColumnLength())) {
+                jAnnotationUse.param(JpaConstants.LENGTH, plan.getColumnLength());
+            }
+            if (Objects.nonNull(plan.getColumnPrecision())) {
+                jAnnotationUse.param(JpaConstants.PRECISION, plan.getColumnPrecision());
+            }
+            if (Objects.nonNull(plan.getColumnScale())) {
+                jAnnotationUse.param(JpaConstants.SCALE, plan.getColumnScale());
+            }
+            if (Objects.nonNull(plan.getColumnNullable())) {
+                jAnnotationUse.param(JpaConstants.NULLABLE, plan.getColumnNullable());
+            }
+            if (Objects.nonNull(plan.getColumnUnique())) {
+                jAnnotationUse.param(JpaConstants.UNIQUE, plan.getColumnUnique());
+            }
+            if (Objects.nonNull(plan.getColumnDefinition())) {
+                jAnnotationUse.param(JpaConstants.COLUMN_DEFINITION, plan.getColumnDefinition());
             }
         }
     }
 
     /**
-     * Process Multiplicity related fields and append to generated POJO, i.e. OneToOne, ManyToMany, etc.
+     * Store the whole value of a jsonColumn property as a JSON document in a single column, instead of mapping it to
+     * tables of its own. A converter nested in the owning class reads and writes the value with an ObjectReader and
+     * ObjectWriter bound to the field type once, from an ObjectMapper shared by every converter of the class. The
+     * column is a Lob unless a columnDefinition, i.e. jsonb, is declared.
      *
-     * @param field        the field that contains data that will be serialized
-     * @param propertyNode the schema node defining this property
+     * @param field the field that contains data that will be serialized
+     * @param clazz the owner of the field (class to which the field belongs)
+     * @param plan  the compiled annotation plan of the property
      */
-    private void handleMultiplicityFields(JFieldVar field, JsonNode propertyNode) {
-        JAnnotationUse jAnnotationUse = null;
-        JsonNode internalNode = null;
+    private void handleJsonColumn(JFieldVar field, JDefinedClass clazz, PropertyPlan plan) {
+        if (!plan.has(PropertyPlan.JSON_COLUMN)) {
+            return;
+        }
+        if (field.type().isPrimitive()) {
+            throw new IllegalArgumentException(JpaConstants.JSON_COLUMN + " requires an object or array but "
+                    + field.name() + " is a " + field.type().fullName());
+        }
+        field.annotate(Convert.class).param(JpaConstants.CONVERTER, createJsonConverter(field, clazz));
+        if (Objects.isNull(plan.getColumnDefinition())) {
+            field.annotate(Lob.class);
+        }
+    }
 
-        if (propertyNode.has(JpaConstants.ONE_TO_ONE)) {
-            jAnnotationUse = field.annotate(OneToOne.class);
-            internalNode = propertyNode.get(JpaConstants.ONE_TO_ONE);
-        } else if (propertyNode.has(JpaConstants.MANY_TO_MANY)) {
-            jAnnotationUse = field.annotate(ManyToMany.class);
-            internalNode = propertyNode.get(JpaConstants.MANY_TO_MANY);
-        } else if (propertyNode.has(JpaConstants.ONE_TO_MANY)) {
-            jAnnotationUse = field.annotate(OneToMany.class);
-            internalNode = propertyNode.get(JpaConstants.ONE_TO_MANY);
-        } else if (propertyNode.has(JpaConstants.MANY_TO_ONE)) {
-            jAnnotationUse = field.annotate(ManyToOne.class);
-            internalNode = propertyNode.get(JpaConstants.MANY_TO_ONE);
+    /**
+     * Generate the AttributeConverter of a jsonColumn field, i.e. Order.LinesJsonConverter for the lines field of Order.
+     *
+     * @param field the jsonColumn field
+     * @param clazz the owner of the field, the converter is nested in it
+     * @return the generated converter
+     */
+    private JDefinedClass createJsonConverter(JFieldVar field, JDefinedClass clazz) {
+        JCodeModel codeModel = clazz.owner();
+        JClass attributeType = (JClass) field.type();
+        JFieldRef mapper = getJsonColumnMapper(clazz);
+        String name = StringUtils.capitalize(field.name()) + JpaConstants.JSON_CONVERTER_SUFFIX;
+        JDefinedClass converter;
+        try {
+            converter = clazz._class(JMod.PUBLIC | JMod.STATIC, name);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalArgumentException("Can not generate the " + JpaConstants.JSON_COLUMN + " converter of "
+                    + field.name() + ", " + clazz.fullName() + " already declares a " + name, e);
         }
+        converter._implements(codeModel.ref(AttributeConverter.class).narrow(attributeType, codeModel.ref(String.class)));
+        converter.annotate(Converter.class);
+        converter.javadoc().add("Stores " + field.name() + " as a JSON document in a single column.");
+
+        // Bound to the attribute type once, readers and writers are immutable and safe to share between threads
+        JExpression type = attributeType.getTypeParameters().isEmpty()
+                ? JExpr.dotclass(attributeType)
+                : JExpr._new(codeModel.anonymousClass(codeModel.ref(TypeReference.class).narrow(attributeType)));
+        JFieldVar javaType = converter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, JavaType.class, "TYPE",
+                mapper.invoke("getTypeFactory").invoke("constructType").arg(type));
+        JFieldVar reader = converter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, ObjectReader.class, "READER",
+                mapper.invoke("readerFor").arg(javaType));
+        JFieldVar writer = converter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, ObjectWriter.class, "WRITER",
+                mapper.invoke("writerFor").arg(javaType));
+
+        JMethod toColumn = converter.method(JMod.PUBLIC, String.class, "convertToDatabaseColumn");
+        JVar attribute = toColumn.param(attributeType, "attribute");
+        toColumn.body()._if(attribute.eq(JExpr._null()))._then()._return(JExpr._null());
+        JTryBlock write = toColumn.body()._try();
+        write.body()._return(writer.invoke("writeValueAsString").arg(attribute));
+        JCatchBlock writeFailure = write._catch(codeModel.ref(JsonProcessingException.class));
+        writeFailure.body()._throw(JExpr._new(codeModel.ref(IllegalArgumentException.class))
+                .arg(JExpr.lit("Failed to write " + field.name() + " as JSON")).arg(writeFailure.param("e")));
+        toColumn.annotate(Override.class);
 
-        if (Objects.nonNull(internalNode) && internalNode.has(JpaConstants.FETCH) && Objects.nonNull(jAnnotationUse)) {
-            String fetch = internalNode.get(JpaConstants.FETCH).asText();
-            FetchType fetchType = FetchType.valueOf(fetch);
-            jAnnotationUse.param(JpaConstants.FETCH, fetchType);
+        JMethod toAttribute = converter.method(JMod.PUBLIC, attributeType, "convertToEntityAttribute");
+        JVar column = toAttribute.param(String.class, "column");
+        toAttribute.body()._if(column.eq(JExpr._null()))._then()._return(JExpr._null());
+        JTryBlock read = toAttribute.body()._try();
+        read.body()._return(reader.invoke("readValue").arg(column));
+        JCatchBlock readFailure = read._catch(codeModel.ref(IOException.class));
+        readFailure.body()._throw(JExpr._new(codeModel.ref(IllegalArgumentException.class))
+                .arg(JExpr.lit("Failed to read " + field.name() + " from JSON")).arg(readFailure.param("e")));
+        toAttribute.annotate(Override.class);
+        return converter;
+    }
+
+    /**
+     * Return the ObjectMapper shared by the jsonColumn converters of a class, held by a private nested JsonColumns
+     * class that is added on first use. Unknown properties are ignored, so documents written before a property was
+     * removed from the schema can still be read.
+     *
+     * @param clazz the owner of the jsonColumn fields
+     * @return reference to the static mapper field of the nested class
+     */
+    private static JFieldRef getJsonColumnMapper(JDefinedClass clazz) {
+        for (Iterator<JDefinedClass> nested = clazz.classes(); nested.hasNext(); ) {
+            JDefinedClass holder = nested.next();
+            if (JpaConstants.JSON_COLUMNS.equals(holder.name())) {
+                return holder.staticRef(JpaConstants.MAPPER);
+            }
+        }
+        JCodeModel codeModel = clazz.owner();
+        JDefinedClass holder;
+        try {
+            holder = clazz._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, JpaConstants.JSON_COLUMNS);
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalArgumentException(clazz.fullName() + " already declares a " + JpaConstants.JSON_COLUMNS, e);
+        }
+        return holder.staticRef(holder.field(JMod.STATIC | JMod.FINAL, ObjectMapper.class, JpaConstants.MAPPER,
+                JExpr._new(codeModel.ref(ObjectMapper.class)).invoke("disable")
+                        .arg(codeModel.ref(DeserializationFeature.class).staticRef("FAIL_ON_UNKNOWN_PROPERTIES"))));
+    }
+
+    /**
+     * Process Multiplicity related fields and append to generated POJO, i.e. OneToOne, ManyToMany, etc.
+     *
+     * @param field the field that contains data that will be serialized
+     * @param plan  the compiled annotation plan of the property
+     */
+    private void handleMultiplicityFields(JFieldVar field, PropertyPlan plan) {
+        if (plan.has(PropertyPlan.MULTIPLICITY)) {
+            JAnnotationUse jAnnotationUse = field.annotate(plan.getMultiplicity());
+            if (Objects.nonNull(plan.getFetchType())) {
+                jAnnotationUse.param(JpaConstants.FETCH, plan.getFetchType());
+            }
         }
     }
 
     /**
      * Process Join Table related fields and append to generated POJO.
      *
-     * @param field        the field that contains data that will be serialized
-     * @param clazz        the owner of the field (class to which the field belongs)
-     * @param propertyName the name of the JSON property that this field represents
-     * @param propertyNode the schema node defining this property
+     * @param field the field that contains data that will be serialized
+     * @param plan  the compiled annotation plan of the property
      */
-    private void handleJoinTable(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
-        if (propertyNode.has(JpaConstants.JOIN_TABLE)) {
+    private void handleJoinTable(JFieldVar field, PropertyPlan plan) {
+        if (plan.has(PropertyPlan.JOIN_TABLE)) {
             JAnnotationUse jAnnotationUse = field.annotate(JoinTable.class);
-            JsonNode node = propertyNode.get(JpaConstants.JOIN_TABLE);
 
-            if (node.has(JpaConstants.NAME)) {
-                String tableName = node.get(JpaConstants.NAME).asText();
-                jAnnotationUse.param(JpaConstants.NAME, tableName);
+            if (Objects.nonNull(plan.getJoinTableName())) {
+                jAnnotationUse.param(JpaConstants.NAME, plan.getJoinTableName());
             }
 
-            if (node.has(JpaConstants.JOIN_COLUMNS)) {
-                handleJoinColumns(node, jAnnotationUse, JpaConstants.JOIN_COLUMNS);
-                handleJoinColumns(node, jAnnotationUse, JpaConstants.INVERSE_JOIN_COLUMNS);
+            if (plan.has(PropertyPlan.JOIN_COLUMNS)) {
+                handleJoinColumns(plan.getJoinColumn(), jAnnotationUse, JpaConstants.JOIN_COLUMNS);
+                handleJoinColumns(plan.getInverseJoinColumn(), jAnnotationUse, JpaConstants.INVERSE_JOIN_COLUMNS);
+            }
+
+            if (!plan.getJoinTableIndexes().isEmpty()) {
+                annotateIndexes(jAnnotationUse, plan.getJoinTableIndexes());
+            }
+        }
+    }
+
+    /**
+     * Add the indexes parameter to a Table or JoinTable annotation.
+     *
+     * @param table   Table or JoinTable annotation
+     * @param indexes indexes to declare
+     */
+    private void annotateIndexes(JAnnotationUse table, List<IndexPlan> indexes) {
+        JAnnotationArrayMember indexArray = table.paramArray(JpaConstants.INDEXES);
+        for (IndexPlan indexPlan : indexes) {
+            JAnnotationUse index = indexArray.annotate(Index.class);
+            if (Objects.nonNull(indexPlan.getName())) {
+                index.param(JpaConstants.NAME, indexPlan.getName());
+            }
+            index.param(JpaConstants.COLUMN_LIST, indexPlan.getColumnList());
+            if (indexPlan.isUnique()) {
+                index.param(JpaConstants.UNIQUE, true);
             }
         }
     }
@@ -199,28 +994,66 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
     /**
      * Processes Join Column related fields and appends to generated POJO.
      *
-     * @param propertyNode   the schema node defining this property
+     * @param joinColumnPlan the compiled join column, can be null
      * @param jAnnotationUse JAnnotationUser to append necessary values for POJO generation
      * @param annotationKey  String key to use in join column
      */
-    private void handleJoinColumns(JsonNode propertyNode, JAnnotationUse jAnnotationUse, String annotationKey) {
-        if (propertyNode.has(JpaConstants.JOIN_COLUMNS)) {
-            JsonNode node = propertyNode.get(annotationKey);
-            if (Objects.isNull(node)) {
-                return;
-            }
+    private void handleJoinColumns(JoinColumnPlan joinColumnPlan, JAnnotationUse jAnnotationUse, String annotationKey) {
+        if (Objects.isNull(joinColumnPlan)) {
+            return;
+        }
 
-            // Create Join Column
-            JAnnotationUse joinColumn = jAnnotationUse.annotationParam(annotationKey, JoinColumn.class);
-            // Get name value
-            if (node.has(JpaConstants.NAME)) {
-                String joinColumnName = node.get(JpaConstants.NAME).asText();
-                joinColumn.param(JpaConstants.NAME, joinColumnName);
-            }
-            // Get REFERENCED_COLUMN_NAME value and append
-            if (node.has(JpaConstants.REFERENCED_COLUMN_NAME)) {
-                joinColumn.param(JpaConstants.REFERENCED_COLUMN_NAME, node.get(JpaConstants.REFERENCED_COLUMN_NAME).asText());
-            }
+        // Create Join Column
+        JAnnotationUse joinColumn = jAnnotationUse.annotationParam(annotationKey, JoinColumn.class);
+        // Get name value
+        if (Objects.nonNull(joinColumnPlan.getName())) {
+            joinColumn.param(JpaConstants.NAME, joinColumnPlan.getName());
+        }
+        // Get REFERENCED_COLUMN_NAME value and append
+        if (Objects.nonNull(joinColumnPlan.getReferencedColumnName())) {
+            joinColumn.param(JpaConstants.REFERENCED_COLUMN_NAME, joinColumnPlan.getReferencedColumnName());
+        }
+    }
+
+    /**
+     * Process batch fetching and collection cache related fields and append to generated POJO.
+     *
+     * @param field the field that contains data that will be serialized
+     * @param plan  the compiled annotation plan of the property
+     */
+    private void handleFetchTuningFields(JFieldVar field, PropertyPlan plan) {
+        if (plan.has(PropertyPlan.BATCH_SIZE)) {
+            annotateBatchSize(field, field.type().owner(), plan.getBatchSize());
+        }
+        if (plan.has(PropertyPlan.CACHE)) {
+            annotateCache(field, field.type().owner(), plan.getCacheUsage(), plan.getCacheRegion());
+        }
+    }
+
+    /**
+     * Annotate a class or field with Hibernate's BatchSize.
+     *
+     * @param target    class or field to annotate
+     * @param codeModel code model the target belongs to
+     * @param size      number of entities or collections to load in one batch
+     */
+    private void annotateBatchSize(JAnnotatable target, JCodeModel codeModel, int size) {
+        target.annotate(codeModel.directClass(JpaConstants.HIBERNATE_BATCH_SIZE)).param(JpaConstants.SIZE, size);
+    }
+
+    /**
+     * Annotate a class or field with Hibernate's Cache.
+     *
+     * @param target    class or field to annotate
+     * @param codeModel code model the target belongs to
+     * @param usage     name of the cache concurrency strategy
+     * @param region    cache region, null for the default region
+     */
+    private void annotateCache(JAnnotatable target, JCodeModel codeModel, String usage, String region) {
+        JAnnotationUse cache = target.annotate(codeModel.directClass(JpaConstants.HIBERNATE_CACHE));
+        cache.param(JpaConstants.USAGE, codeModel.directClass(JpaConstants.HIBERNATE_CACHE_CONCURRENCY_STRATEGY).staticRef(usage));
+        if (Objects.nonNull(region)) {
+            cache.param(JpaConstants.REGION, region);
         }
     }
 
@@ -228,27 +1061,24 @@ public abstract class AnnotatorAutomator extends AbstractAnnotator {
      * Process Java fields and append {@link io.swagger.annotations.ApiModelProperty} along with other internal
      * properties if necessary.
      *
-     * @param field        that can have a JDocComment associated with it, used for serializing data.
-     * @param propertyNode Base class for all JSON nodes, which form the basis of JSON Tree Model
-     *                     that Jackson implements.
+     * @param field that can have a JDocComment associated with it, used for serializing data.
+     * @param plan  the compiled annotation plan of the property
      */
-    private void handleSpringfoxPropertyField(JFieldVar field, JsonNode propertyNode) {
+    private void handleSpringfoxPropertyField(JFieldVar field, PropertyPlan plan) {
         // Determine the fields that need to be appended
-        final boolean hasDescription = propertyNode.has(SpringfoxConstants.API_MODEL_DESC);
-        final boolean isRequired = propertyNode.has(SpringfoxConstants.REQUIRED);
+        final boolean hasDescription = plan.has(PropertyPlan.DESCRIPTION);
+        final boolean isRequired = plan.has(PropertyPlan.REQUIRED);
         // If we should alter the generated POJO then do so
         if (hasDescription || isRequired) {
             // Annotate field with @ApiModelProperty
             JAnnotationUse jAnnotationUse = field.annotate(SpringfoxConstants.API_PROPERTY_CLASS);
             // Grab description if available and append to generated annotation
             if (hasDescription) {
-                String descriptionValue = propertyNode.get(SpringfoxConstants.API_MODEL_DESC).asText();
-                jAnnotationUse.param(SpringfoxConstants.VALUE, descriptionValue);
+                jAnnotationUse.param(SpringfoxConstants.VALUE, plan.getDescription());
             }
             if (isRequired) {
                 // Mark field as required or not defaulting to false if the value does not exist
-                boolean requiredValue = propertyNode.get(SpringfoxConstants.REQUIRED).asBoolean(false);
-                jAnnotationUse.param(SpringfoxConstants.REQUIRED, requiredValue);
+                jAnnotationUse.param(SpringfoxConstants.REQUIRED, plan.isRequired());
             }
         }
     }
@@ -28,6 +28,8 @@ public class JpaSpringfoxAnnotator extends AnnotatorAutomator {
         // Class level annotations to process
         handleJpaInclusions(clazz, schema);
         handleJsonIgnoreInclusions(clazz, schema);
+        // Custom keywords registered through the ServiceLoader
+        handleKeywordInclusions(clazz, schema);
     }
 
     /**
@@ -44,5 +46,7 @@ public class JpaSpringfoxAnnotator extends AnnotatorAutomator {
         handleJpaPropertyFields(field, clazz, propertyName, propertyNode);
         // Process Springfox/Swagger Properties
         handleSpringfoxPropertyFields(field, clazz, propertyName, propertyNode);
+        // Custom keywords registered through the ServiceLoader
+        handleKeywordPropertyFields(field, clazz, propertyName, propertyNode);
     }
 }
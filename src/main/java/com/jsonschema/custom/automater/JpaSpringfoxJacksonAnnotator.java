@@ -0,0 +1,73 @@
+package com.jsonschema.custom.automater;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import org.jsonschema2pojo.AbstractAnnotator;
+import org.jsonschema2pojo.GenerationConfig;
+
+/**
+ * Class to be used alongside Json Scheme2POJO library to generate the JPA and Swagger/Springfox annotations of the
+ * {@link JpaSpringfoxAnnotator} along with annotations that make Jackson (de)serialization cheaper, i.e. the ARRAY
+ * shape, JsonCreator constructors and explicit ignored property lists. Every Jackson annotation is opted into through
+ * the jsonFormat, jsonCreator and ignoreProperties schema keywords.
+ *
+ * Please reference the JSON Schema2POJO Git Repo for more information
+ * @see <a href="https://github.com/joelittlejohn/jsonschema2pojo">JSON Schema2POJO Git Repo</a>
+ * @author Jack Phillips
+ */
+public class JpaSpringfoxJacksonAnnotator extends AnnotatorAutomator {
+    /**
+     * Create an annotator without access to the generation configuration.
+     */
+    public JpaSpringfoxJacksonAnnotator() {
+        super();
+    }
+
+    /**
+     * Create an annotator for the given configuration, used to reject jsonCreator when JSON Schema2POJO generates
+     * constructors itself.
+     *
+     * @param generationConfig the configuration of the generation run, see {@link AbstractAnnotator}
+     */
+    public JpaSpringfoxJacksonAnnotator(GenerationConfig generationConfig) {
+        super(generationConfig);
+    }
+
+    /**
+     * Add the necessary annotation to cause only non-null values to be included
+     * during serialization.
+     *
+     * @param clazz a generated pojo class, that is serialized to JSON
+     * @param schema the object schema associated with this clazz
+     */
+    @Override
+    public void propertyInclusion(JDefinedClass clazz, JsonNode schema) {
+        // Class level annotations to process
+        handleJpaInclusions(clazz, schema);
+        handleJsonIgnoreInclusions(clazz, schema);
+        handleJacksonInclusions(clazz, schema);
+        // Custom keywords registered through the ServiceLoader
+        handleKeywordInclusions(clazz, schema);
+    }
+
+    /**
+     * Add the necessary annotation to mark a Java field as a JSON property
+     *
+     * @param field the field that contains data that will be serialized
+     * @param clazz the owner of the field (class to which the field belongs)
+     * @param propertyName the name of the JSON property that this field represents
+     * @param propertyNode the schema node defining this property
+     */
+    @Override
+    public void propertyField(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
+        // Process JPA properties
+        handleJpaPropertyFields(field, clazz, propertyName, propertyNode);
+        // Process Springfox/Swagger Properties
+        handleSpringfoxPropertyFields(field, clazz, propertyName, propertyNode);
+        // Process Jackson properties, the field type is final at this point
+        handleJacksonPropertyFields(field, clazz, propertyName, propertyNode);
+        // Custom keywords registered through the ServiceLoader
+        handleKeywordPropertyFields(field, clazz, propertyName, propertyNode);
+    }
+}
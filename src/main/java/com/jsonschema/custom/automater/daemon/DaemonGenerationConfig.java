@@ -0,0 +1,166 @@
+package com.jsonschema.custom.automater.daemon;
+
+import com.jsonschema.custom.automater.JpaSpringfoxAnnotator;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Generation configuration of the command line of the {@link GeneratorDaemon}, every setting it does not carry is the
+ * JSON Schema2POJO default.
+ */
+final class DaemonGenerationConfig extends DefaultGenerationConfig {
+    private static final FileFilter JSON_FILES = file -> file.isDirectory() || file.getName().endsWith(".json");
+
+    private final List<URL> sources = new ArrayList<>();
+    private File targetDirectory;
+    private String targetPackage = "";
+    private Class<? extends Annotator> annotator = JpaSpringfoxAnnotator.class;
+    private Class<? extends RuleFactory> ruleFactory = super.getCustomRuleFactory();
+    private boolean includeJsr303Annotations;
+    private boolean serializable;
+    private boolean includeAdditionalProperties = true;
+    private boolean includeConstructors;
+
+    /**
+     * Apply a configuration option of the command line.
+     *
+     * @param option the option, without its leading dashes
+     * @param value  the value of the option, null for flags
+     * @return true if the option is a configuration option
+     */
+    boolean apply(String option, String value) {
+        switch (option) {
+            case "source":
+                try {
+                    sources.add(new File(value).getAbsoluteFile().toURI().toURL());
+                } catch (MalformedURLException e) {
+                    throw new IllegalArgumentException("Invalid schema source " + value, e);
+                }
+                return true;
+            case "target":
+                targetDirectory = new File(value).getAbsoluteFile();
+                return true;
+            case "package":
+                targetPackage = value;
+                return true;
+            case "annotator":
+                annotator = loadClass(value, Annotator.class);
+                return true;
+            case "rule-factory":
+                ruleFactory = loadClass(value, RuleFactory.class);
+                return true;
+            case "jsr303":
+                includeJsr303Annotations = true;
+                return true;
+            case "serializable":
+                serializable = true;
+                return true;
+            case "no-additional-properties":
+                includeAdditionalProperties = false;
+                return true;
+            case "constructors":
+                includeConstructors = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param option an option of the command line, without its leading dashes
+     * @return true if the option takes a value
+     */
+    static boolean hasValue(String option) {
+        switch (option) {
+            case "source":
+            case "target":
+            case "package":
+            case "annotator":
+            case "rule-factory":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if no source or no target directory is set
+     */
+    void check() {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("At least one --source schema file or directory is required");
+        }
+        if (Objects.isNull(targetDirectory)) {
+            throw new IllegalArgumentException("The --target directory is required");
+        }
+    }
+
+    private static <T> Class<? extends T> loadClass(String name, Class<T> type) {
+        try {
+            return Class.forName(name).asSubclass(type);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new GenerationException("Could not load " + type.getSimpleName() + " " + name, e);
+        }
+    }
+
+    @Override
+    public Iterator<URL> getSource() {
+        return sources.iterator();
+    }
+
+    @Override
+    public File getTargetDirectory() {
+        return targetDirectory;
+    }
+
+    @Override
+    public String getTargetPackage() {
+        return targetPackage;
+    }
+
+    @Override
+    public FileFilter getFileFilter() {
+        return JSON_FILES;
+    }
+
+    @Override
+    public Class<? extends Annotator> getCustomAnnotator() {
+        return annotator;
+    }
+
+    @Override
+    public Class<? extends RuleFactory> getCustomRuleFactory() {
+        return ruleFactory;
+    }
+
+    @Override
+    public boolean isIncludeJsr303Annotations() {
+        return includeJsr303Annotations;
+    }
+
+    @Override
+    public boolean isSerializable() {
+        return serializable;
+    }
+
+    @Override
+    public boolean isIncludeAdditionalProperties() {
+        return includeAdditionalProperties;
+    }
+
+    @Override
+    public boolean isIncludeConstructors() {
+        return includeConstructors;
+    }
+}
@@ -0,0 +1,169 @@
+package com.jsonschema.custom.automater.daemon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client of a running {@link GeneratorDaemon}. A request is a single line of JSON,
+ * {@code {"token": "...", "command": "generate", "paths": ["/abs/path/order.json"]}}, answered by a single line,
+ * {@code {"generated": 1, "millis": 12, "status": "ok"}} or {@code {"status": "error", "message": "..."}}. The
+ * commands are {@value #GENERATE}, {@value #PING} and {@value #STOP}. The daemon rejects request lines longer than
+ * {@value #MAX_REQUEST_BYTES} bytes without parsing them.
+ * <p>
+ * Run it from the command line, e.g. from an editor save hook, with the port file of the daemon, the command and the
+ * changed schema files. It exits with status 1 if the daemon reports an error.
+ *
+ * @author Jack Phillips
+ */
+public final class GeneratorClient {
+    public static final String GENERATE = "generate";
+    public static final String PING = "ping";
+    public static final String STOP = "stop";
+
+    static final String PORT = "port";
+    static final String TOKEN = "token";
+    static final String COMMAND = "command";
+    static final String PATHS = "paths";
+    static final String STATUS = "status";
+    static final String MESSAGE = "message";
+    static final String GENERATED = "generated";
+    static final String MILLIS = "millis";
+    static final String STATUS_OK = "ok";
+    static final String STATUS_ERROR = "error";
+    // Longest request line the daemon reads, enough for hundreds of changed paths
+    static final int MAX_REQUEST_BYTES = 64 * 1024;
+
+    private final int port;
+    private final String token;
+
+    /**
+     * @param portFile port file written by the daemon
+     * @throws IOException if the port file can not be read, i.e. the daemon is not running
+     */
+    public GeneratorClient(File portFile) throws IOException {
+        JsonNode content = GeneratorDaemon.MAPPER.readTree(portFile);
+        this.port = content.path(PORT).asInt();
+        this.token = content.path(TOKEN).asText();
+    }
+
+    /**
+     * Ask the daemon to generate the schemas that changed.
+     *
+     * @param changed changed schema files, empty to have the daemon check every schema
+     * @return number of schemas that were generated
+     * @throws IOException              if the daemon can not be reached
+     * @throws IllegalArgumentException with the message of the daemon if it could not generate, or if the paths do
+     *                                  not fit in a request, pass none then
+     */
+    public int generate(Collection<File> changed) throws IOException {
+        ObjectNode request = request(GENERATE);
+        ArrayNode paths = request.putArray(PATHS);
+        for (File file : changed) {
+            // Relative to the working directory of the client, not to the one of the daemon
+            paths.add(file.getAbsolutePath());
+        }
+        return send(request).path(GENERATED).asInt();
+    }
+
+    /**
+     * @throws IOException if the daemon can not be reached
+     */
+    public void ping() throws IOException {
+        send(request(PING));
+    }
+
+    /**
+     * Stop the daemon, it removes its port file.
+     *
+     * @throws IOException if the daemon can not be reached
+     */
+    public void stop() throws IOException {
+        send(request(STOP));
+    }
+
+    private ObjectNode request(String command) {
+        ObjectNode request = GeneratorDaemon.MAPPER.createObjectNode();
+        request.put(TOKEN, token);
+        request.put(COMMAND, command);
+        return request;
+    }
+
+    private JsonNode send(ObjectNode request) throws IOException {
+        byte[] requestLine = GeneratorDaemon.MAPPER.writeValueAsBytes(request);
+        if (requestLine.length > MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException("Request of " + requestLine.length + " bytes exceeds the limit of "
+                    + MAX_REQUEST_BYTES + " bytes of the daemon, send no changed files to have it check every schema");
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream output = socket.getOutputStream();
+            output.write(requestLine);
+            output.write('\n');
+            output.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            if (Objects.isNull(line)) {
+                throw new IOException("The daemon on port " + port + " closed the connection without a response");
+            }
+            JsonNode response = GeneratorDaemon.MAPPER.readTree(line);
+            if (!STATUS_OK.equals(response.path(STATUS).asText())) {
+                throw new IllegalArgumentException(response.path(MESSAGE).asText());
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Send the command given as arguments to a daemon and print its response.
+     *
+     * @param args port file of the daemon, command and, for {@value #GENERATE}, the changed schema files
+     * @throws IOException if the daemon can not be reached
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> commands = Arrays.asList(GENERATE, PING, STOP);
+        if (args.length < 2 || !commands.contains(args[1])) {
+            System.err.println("Usage: " + GeneratorClient.class.getName() + " <port file> " + commands
+                    + " [changed schema file]...");
+            System.exit(2);
+        }
+        GeneratorClient client = new GeneratorClient(new File(args[0]));
+        try {
+            switch (args[1]) {
+                case GENERATE:
+                    List<File> changed = new ArrayList<>();
+                    for (String path : Arrays.asList(args).subList(2, args.length)) {
+                        changed.add(new File(path));
+                    }
+                    long start = System.nanoTime();
+                    int generated = client.generate(changed);
+                    System.out.println("Generated " + generated + " schema(s) in "
+                            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+                    break;
+                case PING:
+                    client.ping();
+                    break;
+                default:
+                    client.stop();
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.jsonschema.custom.automater.daemon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.generate.IncrementalSchemaGenerator;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.URLProtocol;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.util.URLUtil;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived generator keeping the JSON Schema2POJO pipeline, code model and annotators loaded and JIT compiled
+ * between runs, so regenerating after a schema edit costs milliseconds instead of a JVM start. Generation goes through
+ * an {@link IncrementalSchemaGenerator}, so only the groups of schemas that changed, or that {@code $ref} a changed
+ * document, are generated again.
+ * <p>
+ * The daemon listens on the loopback interface only. The port is chosen by the system and written, together with a
+ * random token every request has to present, to a port file only readable by the current user, by default
+ * {@value #PORT_FILE_NAME} in the target directory. Requests and responses are single lines of JSON, see
+ * {@link GeneratorClient}. With {@link #watch()} the source directories are watched as well and every change is
+ * generated as soon as the files are quiet.
+ * <p>
+ * Run it from the command line, e.g.
+ * {@code java -cp <classpath> com.jsonschema.custom.automater.daemon.GeneratorDaemon --source src/main/resources/schema
+ * --target build/generated-sources/js2p --package com.example.api --watch}, or create one with any
+ * {@link GenerationConfig} from a build script.
+ *
+ * @author Jack Phillips
+ */
+public class GeneratorDaemon implements Closeable {
+    /**
+     * Name of the port file written to the target directory.
+     */
+    public static final String PORT_FILE_NAME = ".jsonschema2pojo-daemon";
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // A client that connected but does not send its request must not block the daemon
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private final IncrementalSchemaGenerator generator;
+    private final List<Path> sourceRoots;
+    private final File portFile;
+    private final String token;
+    private final Object generationLock = new Object();
+    private volatile ServerSocket serverSocket;
+    private volatile SchemaWatcher watcher;
+
+    /**
+     * Create a daemon generating with every available processor and writing its port file to the target directory.
+     *
+     * @param config generation configuration, as passed to the JSON Schema2POJO plugins
+     */
+    public GeneratorDaemon(GenerationConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors(), new File(config.getTargetDirectory(), PORT_FILE_NAME));
+    }
+
+    /**
+     * @param config      generation configuration, as passed to the JSON Schema2POJO plugins
+     * @param parallelism number of worker threads to generate with
+     * @param portFile    file to write the port and the token of the daemon to
+     */
+    public GeneratorDaemon(GenerationConfig config, int parallelism, File portFile) {
+        this.generator = new IncrementalSchemaGenerator(config, parallelism);
+        this.sourceRoots = getSourceRoots(config);
+        this.portFile = portFile;
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        StringBuilder hex = new StringBuilder(random.length * 2);
+        for (byte b : random) {
+            hex.append(String.format("%02x", b));
+        }
+        this.token = hex.toString();
+    }
+
+    /**
+     * Generate the schemas once, which loads and warms up the pipeline, then listen for requests on a background
+     * thread that keeps the JVM alive until the daemon is closed.
+     *
+     * @throws IOException if the schemas can not be generated or the daemon can not listen
+     */
+    public synchronized void start() throws IOException {
+        if (Objects.nonNull(serverSocket)) {
+            throw new IllegalStateException("The daemon is already started");
+        }
+        regenerate(Collections.emptyList());
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        writePortFile(serverSocket.getLocalPort());
+        Thread thread = new Thread(this::serve, "jsonschema2pojo-daemon");
+        thread.start();
+    }
+
+    /**
+     * Watch the source directories and generate every change, see {@link SchemaWatcher}.
+     *
+     * @throws IOException if the directories can not be watched
+     */
+    public synchronized void watch() throws IOException {
+        if (Objects.nonNull(watcher)) {
+            throw new IllegalStateException("The daemon is already watching");
+        }
+        watcher = new SchemaWatcher(this, sourceRoots);
+        Thread thread = new Thread(watcher, "jsonschema2pojo-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Generate the schemas that changed since the previous run. Runs are serialized, a request arriving during a run
+     * waits for it and then usually finds everything up to date.
+     * <p>
+     * The changed files are only checked to be within a source of the daemon. Every run scans and hashes all the
+     * sources and compares them with the manifest of the {@link IncrementalSchemaGenerator}, which is what decides
+     * what is generated, so a file edited without being named is generated too. Hashing costs a read of every schema,
+     * milliseconds for a few hundred of them, while only the changed groups are generated.
+     *
+     * @param changed changed schema files, they only have to be sources of the daemon, empty to check every schema
+     * @return number of schemas that were generated, 0 if everything was up to date
+     * @throws IOException              if a schema can not be read or a file can not be written
+     * @throws IllegalArgumentException if a changed file is not within a source of the daemon
+     */
+    public int regenerate(Collection<File> changed) throws IOException {
+        for (File file : changed) {
+            if (!isSource(file.toPath())) {
+                throw new IllegalArgumentException(file + " is not within a schema source of the daemon " + sourceRoots);
+            }
+        }
+        synchronized (generationLock) {
+            return generator.generate();
+        }
+    }
+
+    /**
+     * @param path a file or directory
+     * @return true if the path is within a source of the daemon
+     */
+    boolean isSource(Path path) {
+        Path normalized = path.toAbsolutePath().normalize();
+        for (Path root : sourceRoots) {
+            if (normalized.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stop listening and watching and remove the port file.
+     *
+     * @throws IOException if the port file can not be removed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (Objects.nonNull(watcher)) {
+            watcher.close();
+            watcher = null;
+        }
+        if (Objects.nonNull(serverSocket)) {
+            serverSocket.close();
+            serverSocket = null;
+            Files.deleteIfExists(portFile.toPath());
+        }
+    }
+
+    private void serve() {
+        ServerSocket server = serverSocket;
+        while (Objects.nonNull(server) && !server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+                handle(socket);
+            } catch (SocketException e) {
+                // Closed by stop, or the client went away
+                if (server.isClosed()) {
+                    return;
+                }
+            } catch (IOException e) {
+                System.err.println("Could not handle request: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        ObjectNode response = MAPPER.createObjectNode();
+        boolean stop = false;
+        try {
+            // Bounded before anything is parsed, the token is only checked once the request is read
+            byte[] line = readLine(socket.getInputStream());
+            if (Objects.isNull(line)) {
+                return;
+            }
+            JsonNode request = MAPPER.readTree(line);
+            if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                    request.path(GeneratorClient.TOKEN).asText().getBytes(StandardCharsets.UTF_8))) {
+                throw new IllegalArgumentException("Invalid token, read it from " + portFile);
+            }
+            String command = request.path(GeneratorClient.COMMAND).asText();
+            switch (command) {
+                case GeneratorClient.GENERATE:
+                    List<File> changed = new ArrayList<>();
+                    for (JsonNode path : request.path(GeneratorClient.PATHS)) {
+                        changed.add(new File(path.asText()));
+                    }
+                    long start = System.nanoTime();
+                    response.put(GeneratorClient.GENERATED, regenerate(changed));
+                    response.put(GeneratorClient.MILLIS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    break;
+                case GeneratorClient.PING:
+                    break;
+                case GeneratorClient.STOP:
+                    stop = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown command " + command);
+            }
+            response.put(GeneratorClient.STATUS, GeneratorClient.STATUS_OK);
+        } catch (IOException | RuntimeException e) {
+            // Most likely an invalid schema, the daemon stays up to generate the fixed one
+            response.put(GeneratorClient.STATUS, GeneratorClient.STATUS_ERROR);
+            response.put(GeneratorClient.MESSAGE, String.valueOf(e.getMessage()));
+        }
+
+        OutputStream output = socket.getOutputStream();
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        writer.write(MAPPER.writeValueAsString(response));
+        writer.write('\n');
+        writer.flush();
+        if (stop) {
+            close();
+        }
+    }
+
+    /**
+     * Read one request line of at most {@link GeneratorClient#MAX_REQUEST_BYTES}.
+     *
+     * @param input stream of the connection
+     * @return the line without its line break, null if the client closed the connection without sending anything
+     * @throws IOException              if the connection fails
+     * @throws IllegalArgumentException if the line is longer than the limit
+     */
+    static byte[] readLine(InputStream input) throws IOException {
+        InputStream buffered = new BufferedInputStream(input);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int next = buffered.read();
+        if (next == -1) {
+            return null;
+        }
+        while (next != -1 && next != '\n') {
+            if (line.size() == GeneratorClient.MAX_REQUEST_BYTES) {
+                throw new IllegalArgumentException("Request exceeds " + GeneratorClient.MAX_REQUEST_BYTES + " bytes");
+            }
+            line.write(next);
+            next = buffered.read();
+        }
+        return line.toByteArray();
+    }
+
+    private void writePortFile(int port) throws IOException {
+        ObjectNode content = MAPPER.createObjectNode();
+        content.put(GeneratorClient.PORT, port);
+        content.put(GeneratorClient.TOKEN, token);
+        Path path = portFile.toPath();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.deleteIfExists(path);
+        try {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(path);
+        }
+        Files.write(path, MAPPER.writeValueAsBytes(content));
+    }
+
+    private static List<Path> getSourceRoots(GenerationConfig config) {
+        List<Path> roots = new ArrayList<>();
+        for (Iterator<URL> sources = config.getSource(); sources.hasNext(); ) {
+            URL source = sources.next();
+            if (URLUtil.parseProtocol(source.toString()) != URLProtocol.FILE) {
+                throw new GenerationException("The daemon can only generate local schemas but got " + source);
+            }
+            roots.add(URLUtil.getFileFromURL(source).toPath().toAbsolutePath().normalize());
+        }
+        return roots;
+    }
+
+    /**
+     * Start a daemon with the options given as arguments and keep it running until it is stopped.
+     *
+     * @param args {@code --source <file or directory>}, repeatable, {@code --target <directory>},
+     *             {@code --package <name>}, {@code --annotator <class>}, {@code --rule-factory <class>},
+     *             {@code --jsr303}, {@code --serializable}, {@code --no-additional-properties},
+     *             {@code --constructors}, {@code --port-file <file>}, {@code --parallelism <threads>} and
+     *             {@code --watch}
+     * @throws IOException if the schemas can not be generated or the daemon can not listen
+     */
+    public static void main(String[] args) throws IOException {
+        DaemonGenerationConfig config = new DaemonGenerationConfig();
+        File portFile = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean watch = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument " + args[i]);
+                }
+                String option = args[i].substring(2);
+                String value = null;
+                if (DaemonGenerationConfig.hasValue(option) || "port-file".equals(option) || "parallelism".equals(option)) {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing value of --" + option);
+                    }
+                    value = args[++i];
+                }
+                if ("port-file".equals(option)) {
+                    portFile = new File(value);
+                } else if ("parallelism".equals(option)) {
+                    parallelism = Integer.parseInt(value);
+                } else if ("watch".equals(option)) {
+                    watch = true;
+                } else if (!config.apply(option, value)) {
+                    throw new IllegalArgumentException("Unknown option --" + option);
+                }
+            }
+            config.check();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: " + GeneratorDaemon.class.getName() + " --source <schema file or directory>..."
+                    + " --target <directory> [--package <name>] [--annotator <class>] [--rule-factory <class>]"
+                    + " [--jsr303] [--serializable] [--no-additional-properties] [--constructors]"
+                    + " [--port-file <file>] [--parallelism <threads>] [--watch]");
+            System.exit(2);
+        }
+
+        GeneratorDaemon daemon = new GeneratorDaemon(config, parallelism,
+                Objects.isNull(portFile) ? new File(config.getTargetDirectory(), PORT_FILE_NAME) : portFile);
+        long start = System.nanoTime();
+        daemon.start();
+        System.out.println("Generated into " + config.getTargetDirectory() + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, listening on port file "
+                + daemon.portFile);
+        if (watch) {
+            daemon.watch();
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                daemon.close();
+            } catch (IOException e) {
+                System.err.println("Could not remove " + daemon.portFile + ": " + e.getMessage());
+            }
+        }));
+    }
+}
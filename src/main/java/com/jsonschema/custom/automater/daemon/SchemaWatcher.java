@@ -0,0 +1,146 @@
+package com.jsonschema.custom.automater.daemon;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the sources of a {@link GeneratorDaemon} and regenerates once the changed files have been quiet for
+ * {@value #QUIET_MILLIS} ms, so an editor writing a file in several steps, or a branch switch touching many files,
+ * causes a single run. Directories are watched recursively, directories created later are registered as they appear.
+ * Only changes to .json files trigger a run.
+ */
+final class SchemaWatcher implements Runnable, Closeable {
+    static final long QUIET_MILLIS = 100;
+
+    private final GeneratorDaemon daemon;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    // Only used by the watcher thread
+    private boolean overflow;
+
+    /**
+     * @param daemon      daemon to regenerate with
+     * @param sourceRoots schema files and directories to watch
+     * @throws IOException if a directory can not be watched
+     */
+    SchemaWatcher(GeneratorDaemon daemon, List<Path> sourceRoots) throws IOException {
+        this.daemon = daemon;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path root : sourceRoots) {
+            // Single schema files are watched through their directory, changes to siblings are filtered out
+            register(Files.isDirectory(root) ? root : root.getParent());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+                for (WatchKey key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS); Objects.nonNull(key);
+                     key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) {
+                    collect(key, changed);
+                }
+                if (!changed.isEmpty() || overflow) {
+                    regenerate(changed);
+                }
+                overflow = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Closed with the daemon
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void regenerate(Set<Path> changed) {
+        List<File> files = new ArrayList<>(changed.size());
+        for (Path path : changed) {
+            files.add(path.toFile());
+        }
+        long start = System.nanoTime();
+        try {
+            int generated = daemon.regenerate(files);
+            System.out.println("Generated " + generated + " schema(s) for " + changed.size() + " changed file(s) in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not generate " + changed + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add the changed schema files of a key to the changes and register new directories.
+     *
+     * @param key     signalled key
+     * @param changed changed schema files
+     */
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, let the manifest find what changed
+                overflow = true;
+                continue;
+            }
+            if (Objects.isNull(directory)) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (!daemon.isSource(path)) {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    register(path);
+                    // Files moved in with the directory do not raise events of their own
+                    changed.add(path);
+                } catch (IOException e) {
+                    System.err.println("Could not watch " + path + ": " + e.getMessage());
+                }
+            } else if (path.getFileName().toString().endsWith(".json")) {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    private void register(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -28,6 +28,8 @@ public class SpringfoxAnnotator extends AnnotatorAutomator {
     public void propertyInclusion(JDefinedClass clazz, JsonNode schema) {
         // Class level annotations to process
         handleJsonIgnoreInclusions(clazz, schema);
+        // Custom keywords registered through the ServiceLoader
+        handleKeywordInclusions(clazz, schema);
     }
 
     /**
@@ -41,5 +43,6 @@ public class SpringfoxAnnotator extends AnnotatorAutomator {
     @Override
     public void propertyField(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
         handleSpringfoxPropertyFields(field, clazz, propertyName, propertyNode);
+        handleKeywordPropertyFields(field, clazz, propertyName, propertyNode);
     }
 }
@@ -18,4 +18,5 @@ public final class SpringfoxConstants {
     // Constants used to include or ignore JSON properties
     public static final Class<? extends Annotation> JSON_IGNORE_PROPERTIES = JsonIgnoreProperties.class;
     public static final String IGNORE_UNKNOWN = "ignoreUnknown";
+    public static final String IGNORE_PROPERTIES = "ignoreProperties";
 }
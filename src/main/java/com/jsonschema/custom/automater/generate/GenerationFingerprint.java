@@ -0,0 +1,171 @@
+package com.jsonschema.custom.automater.generate;
+
+import org.jsonschema2pojo.GenerationConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the keys of the {@link GenerationManifest}. A group key covers the configuration, the annotator and rule
+ * factory implementations, and the content of every document the group reads, so any change to one of them causes
+ * the group to be generated again.
+ */
+final class GenerationFingerprint {
+    // Configuration values that are covered elsewhere or have no stable textual form
+    private static final List<String> IGNORED_SETTINGS = Arrays.asList("getSource", "getTargetDirectory", "getFileFilter");
+
+    private final byte[] configurationDigest;
+    private final Map<String, byte[]> documentDigests = new ConcurrentHashMap<>();
+
+    GenerationFingerprint(GenerationConfig config) {
+        MessageDigest digest = newDigest();
+        update(digest, describeSettings(config));
+        updateWithClass(digest, config.getCustomAnnotator());
+        updateWithClass(digest, config.getCustomRuleFactory());
+        this.configurationDigest = digest.digest();
+    }
+
+    /**
+     * Compute the key of a schema group.
+     *
+     * @param group schema group
+     * @return SHA-256 digest of everything the files generated for the group depend on
+     * @throws IOException if a document of the group can not be read
+     */
+    byte[] keyOf(SchemaGroup group) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(configurationDigest);
+        for (SchemaSource source : group.getSources()) {
+            update(digest, source.getUrl().toString());
+            update(digest, source.getPackageName());
+            update(digest, source.getNodeName());
+        }
+        String[] documents = group.getDocuments().toArray(new String[0]);
+        Arrays.sort(documents);
+        for (String document : documents) {
+            update(digest, document);
+            digest.update(digestOf(document));
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Digest of a document's content, local files only. Other documents are identified by their URI alone.
+     *
+     * @param uri document URI
+     * @return content digest
+     * @throws IOException if the document can not be read
+     */
+    private byte[] digestOf(String uri) throws IOException {
+        byte[] cached = documentDigests.get(uri);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        MessageDigest digest = newDigest();
+        URI documentUri = URI.create(uri);
+        if ("file".equals(documentUri.getScheme())) {
+            File file = new File(documentUri);
+            // A missing document is a distinct state as well, generation will report it
+            digest.update(file.isFile() ? Files.readAllBytes(file.toPath()) : new byte[]{0});
+        }
+        byte[] value = digest.digest();
+        documentDigests.put(uri, value);
+        return value;
+    }
+
+    /**
+     * Describe every setting of the configuration, in method name order.
+     *
+     * @param config generation configuration
+     * @return textual form of the configuration
+     */
+    private static String describeSettings(GenerationConfig config) {
+        Method[] methods = GenerationConfig.class.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        StringBuilder description = new StringBuilder();
+        for (Method method : methods) {
+            if (method.getParameterCount() != 0 || IGNORED_SETTINGS.contains(method.getName())) {
+                continue;
+            }
+            description.append(method.getName()).append('=').append(describeValue(invoke(method, config))).append('\n');
+        }
+        return description.toString();
+    }
+
+    private static Object invoke(Method method, GenerationConfig config) {
+        try {
+            return method.invoke(config);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String describeValue(Object value) {
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        } else if (value instanceof Object[]) {
+            return Arrays.toString((Object[]) value);
+        } else if (value instanceof char[]) {
+            return new String((char[]) value);
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Add a class, its implementation version and the bytecode of its class hierarchy to the digest, so changing the
+     * annotator implementation invalidates previously generated sources.
+     *
+     * @param digest digest to update
+     * @param clazz  annotator or rule factory class
+     */
+    private static void updateWithClass(MessageDigest digest, Class<?> clazz) {
+        update(digest, clazz.getName());
+        update(digest, String.valueOf(Objects.isNull(clazz.getPackage()) ? null : clazz.getPackage().getImplementationVersion()));
+        for (Class<?> current = clazz; Objects.nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+            String resource = current.getName().substring(current.getName().lastIndexOf('.') + 1) + ".class";
+            try (InputStream stream = current.getResourceAsStream(resource)) {
+                if (Objects.isNull(stream)) {
+                    continue;
+                }
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                update(digest, e.getClass().getName());
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.jsonschema.custom.automater.generate;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk record of a previous generation run, mapping every schema group to the key it was generated with and the
+ * files it produced. The manifest is a compact binary file:
+ * <pre>
+ * int     magic, int version, int entry count
+ * entry:  byte[32] key, int member count, member URIs, int output count, output paths
+ * string: int UTF-8 byte length, UTF-8 bytes
+ * </pre>
+ * An unreadable manifest, e.g. one written by another version, is treated as empty and every schema is generated.
+ */
+final class GenerationManifest {
+    private static final int MAGIC = 0x4A533250;
+    private static final int VERSION = 1;
+    static final int KEY_LENGTH = 32;
+
+    private final List<Entry> entries;
+    private final Map<List<String>, Entry> entriesByMembers = new HashMap<>();
+
+    GenerationManifest(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+        for (Entry entry : entries) {
+            entriesByMembers.put(entry.getMembers(), entry);
+        }
+    }
+
+    /**
+     * @return every entry of the manifest
+     */
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @param members member URIs of a group, in generation order
+     * @return entry recorded for exactly these members or null if there is none
+     */
+    Entry find(List<String> members) {
+        return entriesByMembers.get(members);
+    }
+
+    /**
+     * Read a manifest, the whole file is loaded with a single channel read before it is decoded.
+     *
+     * @param file manifest file
+     * @return manifest, empty if the file does not exist or can not be decoded
+     * @throws IOException if the file exists but can not be read
+     */
+    static GenerationManifest read(File file) throws IOException {
+        if (!file.isFile()) {
+            return new GenerationManifest(Collections.<Entry>emptyList());
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full
+            }
+            buffer.flip();
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return new GenerationManifest(Collections.<Entry>emptyList());
+            }
+            int entryCount = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                byte[] key = new byte[KEY_LENGTH];
+                buffer.get(key);
+                entries.add(new Entry(key, readStrings(buffer), readStrings(buffer)));
+            }
+            return new GenerationManifest(entries);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Truncated or corrupt, fall back to a full generation
+            return new GenerationManifest(Collections.<Entry>emptyList());
+        }
+    }
+
+    /**
+     * Write the manifest, replacing the existing file only once the new one is complete.
+     *
+     * @param file manifest file
+     * @throws IOException if the file can not be written
+     */
+    void write(File file) throws IOException {
+        Path target = file.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), file.getName(), ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temporary);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(entries.size());
+            for (Entry entry : entries) {
+                output.write(entry.getKey());
+                writeStrings(output, entry.getMembers());
+                writeStrings(output, entry.getOutputs());
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative string count " + count);
+        }
+        List<String> values = new ArrayList<>(Math.min(count, buffer.remaining()));
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid string length " + length);
+            }
+            values.add(new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8));
+            buffer.position(buffer.position() + length);
+        }
+        return values;
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> values) throws IOException {
+        output.writeInt(values.size());
+        for (String value : values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * A schema group of a previous run.
+     */
+    static final class Entry {
+        private final byte[] key;
+        private final List<String> members;
+        private final List<String> outputs;
+
+        Entry(byte[] key, List<String> members, List<String> outputs) {
+            if (key.length != KEY_LENGTH) {
+                throw new IllegalArgumentException("Manifest keys must be " + KEY_LENGTH + " bytes");
+            }
+            this.key = key;
+            this.members = Collections.unmodifiableList(members);
+            this.outputs = Collections.unmodifiableList(outputs);
+        }
+
+        /**
+         * @return digest of everything the generated files depend on
+         */
+        byte[] getKey() {
+            return key;
+        }
+
+        /**
+         * @return URIs of the schemas of the group, in generation order
+         */
+        List<String> getMembers() {
+            return members;
+        }
+
+        /**
+         * @return generated file paths relative to the target directory
+         */
+        List<String> getOutputs() {
+            return outputs;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.util.UnicodeEscapeWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link CodeWriter} that keeps the generated files in memory, keyed by their path relative to the target
+ * directory. Sources are encoded exactly like {@link org.jsonschema2pojo.FileCodeWriterWithEncoding} does, so the
+ * bytes match what JSON Schema2POJO would have written to disk.
+ */
+final class InMemoryCodeWriter extends CodeWriter {
+    private final Map<String, ByteArrayOutputStream> files = new TreeMap<>();
+
+    InMemoryCodeWriter(String encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        files.put(toPath(pkg, fileName), stream);
+        return stream;
+    }
+
+    @Override
+    public Writer openSource(JPackage pkg, String fileName) throws IOException {
+        OutputStreamWriter writer = new OutputStreamWriter(openBinary(pkg, fileName), encoding);
+        final CharsetEncoder encoder = Charset.forName(encoding).newEncoder();
+        return new UnicodeEscapeWriter(writer) {
+            @Override
+            protected boolean requireEscaping(int ch) {
+                // control characters
+                if (ch < 0x20 && " \t\r\n".indexOf(ch) == -1) {
+                    return true;
+                }
+                // check ASCII chars, for better performance
+                if (ch < 0x80) {
+                    return false;
+                }
+                return !encoder.canEncode((char) ch);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release, the streams are kept until the files are collected
+    }
+
+    /**
+     * @return generated file contents keyed by relative path, sorted by path
+     */
+    Map<String, byte[]> getFiles() {
+        Map<String, byte[]> contents = new TreeMap<>();
+        for (Map.Entry<String, ByteArrayOutputStream> file : files.entrySet()) {
+            contents.put(file.getKey(), file.getValue().toByteArray());
+        }
+        return contents;
+    }
+
+    private static String toPath(JPackage pkg, String fileName) {
+        return pkg.isUnnamed() ? fileName : pkg.name().replace('.', '/') + '/' + fileName;
+    }
+}
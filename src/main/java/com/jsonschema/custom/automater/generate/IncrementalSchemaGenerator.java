@@ -0,0 +1,223 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.jsonschema.custom.automater.metrics.GenerationMetrics;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.exception.GenerationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Incremental variant of the {@link ParallelSchemaGenerator}. A manifest in the target directory records, for every
+ * group of schemas, a key over the schema contents, the contents of every transitively {@code $ref}'d document, the
+ * configuration and the annotator implementation, along with the files generated for the group. On the next run only
+ * groups whose key changed are generated again, files no longer generated by any group are deleted.
+ * <p>
+ * The sources in the target directory are identical to the ones a full, sequential generation would produce. The
+ * {@link GenerationConfig#isRemoveOldOutput()} setting is ignored, stale files are removed through the manifest.
+ *
+ * @author Jack Phillips
+ */
+public class IncrementalSchemaGenerator {
+    /**
+     * Name of the manifest file written to the target directory.
+     */
+    public static final String MANIFEST_FILE_NAME = ".jsonschema2pojo-manifest";
+
+    private final GenerationConfig config;
+    private final ParallelSchemaGenerator generator;
+    private final File manifestFile;
+
+    /**
+     * Create a generator using every available processor and keeping its manifest in the target directory.
+     *
+     * @param config generation configuration, as passed to the JSON Schema2POJO plugins
+     */
+    public IncrementalSchemaGenerator(GenerationConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param config      generation configuration, as passed to the JSON Schema2POJO plugins
+     * @param parallelism number of worker threads to generate with
+     */
+    public IncrementalSchemaGenerator(GenerationConfig config, int parallelism) {
+        this(config, parallelism, new File(config.getTargetDirectory(), MANIFEST_FILE_NAME));
+    }
+
+    /**
+     * @param config       generation configuration, as passed to the JSON Schema2POJO plugins
+     * @param parallelism  number of worker threads to generate with
+     * @param manifestFile file to keep the manifest in
+     */
+    public IncrementalSchemaGenerator(GenerationConfig config, int parallelism, File manifestFile) {
+        this(config, parallelism, manifestFile, null);
+    }
+
+    /**
+     * @param config       generation configuration, as passed to the JSON Schema2POJO plugins
+     * @param parallelism  number of worker threads to generate with
+     * @param manifestFile file to keep the manifest in
+     * @param metrics      metrics to record the generation of every changed schema in, null to not record any
+     */
+    public IncrementalSchemaGenerator(GenerationConfig config, int parallelism, File manifestFile, GenerationMetrics metrics) {
+        this.config = config;
+        this.generator = new ParallelSchemaGenerator(config, parallelism, metrics);
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * Generate the schemas that changed since the previous run and delete stale outputs.
+     *
+     * @return number of schemas that were generated, 0 if everything was up to date
+     * @throws IOException if a schema can not be read or a file can not be written
+     */
+    public int generate() throws IOException {
+        List<SchemaSource> order = new SchemaSourceScanner(config).scan();
+        GenerationManifest manifest = GenerationManifest.read(manifestFile);
+        GenerationFingerprint fingerprint = new GenerationFingerprint(config);
+        File targetDirectory = config.getTargetDirectory();
+
+        List<SchemaGroup> current = restoreCombinedGroups(new SchemaReferenceGraph().group(order), manifest, order);
+        Map<SchemaGroup, byte[]> keys = new IdentityHashMap<>();
+        Map<SchemaGroup, List<String>> reused = new IdentityHashMap<>();
+        List<SchemaGroup> pending = new ArrayList<>();
+        for (SchemaGroup group : current) {
+            keys.put(group, fingerprint.keyOf(group));
+            GenerationManifest.Entry entry = manifest.find(membersOf(group));
+            if (isUpToDate(entry, keys.get(group), targetDirectory)) {
+                reused.put(group, entry.getOutputs());
+            } else {
+                pending.add(group);
+            }
+        }
+
+        // Generate changed groups, combining them with any group they collide with, just like a full run would
+        Map<SchemaGroup, Map<String, byte[]>> results = new IdentityHashMap<>();
+        int generatedSchemas = 0;
+        while (!pending.isEmpty()) {
+            results.putAll(generator.generateAll(pending));
+            for (SchemaGroup group : pending) {
+                generatedSchemas += group.getSources().size();
+            }
+            List<List<SchemaGroup>> collisions = ParallelSchemaGenerator.findCollisions(current,
+                    group -> results.containsKey(group) ? results.get(group).keySet() : reused.get(group));
+            pending = new ArrayList<>();
+            for (List<SchemaGroup> colliding : collisions) {
+                SchemaGroup combined = SchemaGroup.combine(colliding, order);
+                for (SchemaGroup group : colliding) {
+                    current.remove(group);
+                    Map<String, byte[]> discarded = results.remove(group);
+                    if (Objects.nonNull(discarded)) {
+                        generatedSchemas -= group.getSources().size();
+                    }
+                    reused.remove(group);
+                }
+                keys.put(combined, fingerprint.keyOf(combined));
+                current.add(combined);
+                pending.add(combined);
+            }
+        }
+
+        Map<String, byte[]> files = new TreeMap<>();
+        List<GenerationManifest.Entry> entries = new ArrayList<>(current.size());
+        Set<String> outputs = new HashSet<>();
+        for (SchemaGroup group : current) {
+            Collection<String> groupOutputs = results.containsKey(group) ? results.get(group).keySet() : reused.get(group);
+            if (results.containsKey(group)) {
+                files.putAll(results.get(group));
+            }
+            outputs.addAll(groupOutputs);
+            entries.add(new GenerationManifest.Entry(keys.get(group), membersOf(group), new ArrayList<>(groupOutputs)));
+        }
+
+        ParallelSchemaGenerator.write(targetDirectory, files);
+        deleteStaleOutputs(targetDirectory, manifest, outputs);
+        new GenerationManifest(entries).write(manifestFile);
+        return generatedSchemas;
+    }
+
+    /**
+     * Groups that had to be combined in the previous run because their classes collided will collide again, combine
+     * them up front instead of generating them separately first.
+     *
+     * @param groups   groups derived from the schema references
+     * @param manifest manifest of the previous run
+     * @param order    every schema in sequential generation order
+     * @return groups to generate
+     */
+    private static List<SchemaGroup> restoreCombinedGroups(List<SchemaGroup> groups, GenerationManifest manifest, List<SchemaSource> order) {
+        Map<String, SchemaGroup> groupsByMember = new HashMap<>();
+        for (SchemaGroup group : groups) {
+            for (String member : membersOf(group)) {
+                groupsByMember.put(member, group);
+            }
+        }
+
+        List<SchemaGroup> restored = new ArrayList<>(groups);
+        for (GenerationManifest.Entry entry : manifest.getEntries()) {
+            Set<SchemaGroup> combined = new LinkedHashSet<>();
+            for (String member : entry.getMembers()) {
+                SchemaGroup group = groupsByMember.get(member);
+                if (Objects.isNull(group)) {
+                    combined.clear();
+                    break;
+                }
+                combined.add(group);
+            }
+            if (combined.size() > 1 && restored.containsAll(combined)) {
+                restored.removeAll(combined);
+                restored.add(SchemaGroup.combine(new ArrayList<>(combined), order));
+            }
+        }
+        return restored;
+    }
+
+    private static boolean isUpToDate(GenerationManifest.Entry entry, byte[] key, File targetDirectory) {
+        if (Objects.isNull(entry) || !Arrays.equals(entry.getKey(), key)) {
+            return false;
+        }
+        for (String output : entry.getOutputs()) {
+            if (!new File(targetDirectory, output).isFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void deleteStaleOutputs(File targetDirectory, GenerationManifest manifest, Set<String> outputs) {
+        for (GenerationManifest.Entry entry : manifest.getEntries()) {
+            for (String output : entry.getOutputs()) {
+                File file = new File(targetDirectory, output);
+                if (!outputs.contains(output) && file.isFile() && !file.delete()) {
+                    throw new GenerationException("Could not delete stale output " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static List<String> membersOf(SchemaGroup group) {
+        List<String> members = new ArrayList<>(group.getSources().size());
+        for (SchemaSource source : group.getSources()) {
+            try {
+                members.add(source.getUrl().toURI().normalize().toString());
+            } catch (URISyntaxException e) {
+                members.add(source.getUrl().toString());
+            }
+        }
+        return members;
+    }
+}
@@ -0,0 +1,314 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.jsonschema.custom.automater.metrics.GenerationMetrics;
+import com.sun.codemodel.JCodeModel;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.AnnotatorFactory;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+/**
+ * Parallel replacement for {@link org.jsonschema2pojo.Jsonschema2Pojo#generate(GenerationConfig)}. The schemas of the
+ * configuration are split into groups that do not reference each other, every group is generated on a
+ * {@link ForkJoinPool} worker with its own {@link JCodeModel}, {@link RuleFactory} and annotator instances, and the
+ * results are merged into the target directory in path order.
+ * <p>
+ * The output is byte-identical to the sequential generator. Class names in JSON Schema2POJO depend on the classes
+ * already present in the code model, so groups whose generated files collide are combined and generated again in one
+ * code model, in the order the sequential generator would have visited their schemas.
+ *
+ * @author Jack Phillips
+ */
+public class ParallelSchemaGenerator {
+    private final GenerationConfig config;
+    private final int parallelism;
+    private final GenerationMetrics metrics;
+
+    /**
+     * Create a generator using every available processor.
+     *
+     * @param config generation configuration, as passed to the JSON Schema2POJO plugins
+     */
+    public ParallelSchemaGenerator(GenerationConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param config      generation configuration, as passed to the JSON Schema2POJO plugins
+     * @param parallelism number of worker threads to generate with
+     */
+    public ParallelSchemaGenerator(GenerationConfig config, int parallelism) {
+        this(config, parallelism, null);
+    }
+
+    /**
+     * @param config      generation configuration, as passed to the JSON Schema2POJO plugins
+     * @param parallelism number of worker threads to generate with
+     * @param metrics     metrics to record the generation of every schema in, null to not record any
+     */
+    public ParallelSchemaGenerator(GenerationConfig config, int parallelism, GenerationMetrics metrics) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but was " + parallelism);
+        }
+        this.config = config;
+        this.parallelism = parallelism;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Generate every schema of the configuration and write the sources to the target directory.
+     *
+     * @throws IOException if a schema can not be read or a source can not be written
+     */
+    public void generate() throws IOException {
+        List<SchemaSource> sources = new SchemaSourceScanner(config).scan();
+        Map<String, byte[]> files = new TreeMap<>();
+        for (Map<String, byte[]> groupFiles : generate(sources, new SchemaReferenceGraph().group(sources)).values()) {
+            files.putAll(groupFiles);
+        }
+
+        if (config.isRemoveOldOutput()) {
+            removeOldOutput(config.getTargetDirectory());
+        }
+        write(config.getTargetDirectory(), files);
+    }
+
+    /**
+     * Generate the given groups in parallel. Groups whose generated files collide are combined and generated again
+     * until every generated file belongs to exactly one group.
+     *
+     * @param order  every schema in sequential generation order
+     * @param groups schema groups to generate
+     * @return generated files per group, groups in sequential generation order
+     * @throws IOException if a schema can not be read
+     */
+    Map<SchemaGroup, Map<String, byte[]>> generate(List<SchemaSource> order, List<SchemaGroup> groups) throws IOException {
+        Map<SchemaGroup, Map<String, byte[]>> results = new IdentityHashMap<>();
+        List<SchemaGroup> pending = groups;
+        List<SchemaGroup> current = new ArrayList<>(groups);
+        while (!pending.isEmpty()) {
+            results.putAll(generateAll(pending));
+            List<List<SchemaGroup>> collisions = findCollisions(current, group -> results.get(group).keySet());
+            pending = new ArrayList<>();
+            for (List<SchemaGroup> colliding : collisions) {
+                SchemaGroup combined = SchemaGroup.combine(colliding, order);
+                for (SchemaGroup group : colliding) {
+                    current.remove(group);
+                    results.remove(group);
+                }
+                current.add(combined);
+                pending.add(combined);
+            }
+        }
+
+        // Hand back the groups in the order their first schema is generated
+        Map<SchemaSource, SchemaGroup> groupsByFirstSource = new HashMap<>();
+        for (SchemaGroup group : current) {
+            groupsByFirstSource.put(group.getSources().get(0), group);
+        }
+        Map<SchemaGroup, Map<String, byte[]>> ordered = new LinkedHashMap<>();
+        for (SchemaSource source : order) {
+            SchemaGroup group = groupsByFirstSource.get(source);
+            if (Objects.nonNull(group)) {
+                ordered.put(group, results.get(group));
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Generate every group on its own worker.
+     *
+     * @param groups groups to generate
+     * @return generated files per group
+     * @throws IOException if a schema can not be read
+     */
+    Map<SchemaGroup, Map<String, byte[]>> generateAll(List<SchemaGroup> groups) throws IOException {
+        Map<SchemaGroup, Map<String, byte[]>> results = new IdentityHashMap<>();
+        if (groups.size() == 1 || parallelism == 1) {
+            for (SchemaGroup group : groups) {
+                results.put(group, generateGroup(group));
+            }
+            return results;
+        }
+
+        // JSON Schema2POJO loads javaType classes through the context class loader, keep the caller's one
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, groups.size()), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+        try {
+            Map<SchemaGroup, ForkJoinTask<Map<String, byte[]>>> tasks = new IdentityHashMap<>();
+            for (SchemaGroup group : groups) {
+                tasks.put(group, pool.submit(() -> generateGroup(group)));
+            }
+            for (Map.Entry<SchemaGroup, ForkJoinTask<Map<String, byte[]>>> task : tasks.entrySet()) {
+                results.put(task.getKey(), task.getValue().get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationException("Interrupted while generating schemas", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GenerationException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Generate the schemas of one group into a fresh code model, the same way the sequential generator does.
+     *
+     * @param group schemas to generate
+     * @return generated files keyed by path relative to the target directory
+     * @throws IOException if a schema can not be read
+     */
+    private Map<String, byte[]> generateGroup(SchemaGroup group) throws IOException {
+        RuleFactory ruleFactory = createRuleFactory();
+        ruleFactory.setAnnotator(createAnnotator());
+        ruleFactory.setGenerationConfig(config);
+        SchemaMapper mapper = new SchemaMapper(ruleFactory, new SchemaGenerator());
+        JCodeModel codeModel = new JCodeModel();
+        for (SchemaSource source : group.getSources()) {
+            if (Objects.isNull(metrics)) {
+                mapper.generate(codeModel, source.getNodeName(), source.getPackageName(), source.getUrl());
+                continue;
+            }
+            GenerationMetrics.Scope scope = metrics.open(source.toString());
+            try {
+                mapper.generate(codeModel, source.getNodeName(), source.getPackageName(), source.getUrl());
+            } finally {
+                scope.close();
+            }
+        }
+
+        InMemoryCodeWriter writer = new InMemoryCodeWriter(config.getOutputEncoding());
+        codeModel.build(writer, writer);
+        return writer.getFiles();
+    }
+
+    /**
+     * Find groups that generated a file with the same path. Colliding groups are returned together, transitively.
+     *
+     * @param groups  current groups in sequential generation order
+     * @param outputs paths of the files generated by a group
+     * @return lists of groups that have to be generated together, empty if no file collides
+     */
+    static List<List<SchemaGroup>> findCollisions(List<SchemaGroup> groups, Function<SchemaGroup, Collection<String>> outputs) {
+        Map<String, SchemaGroup> owners = new HashMap<>();
+        Map<SchemaGroup, List<SchemaGroup>> sets = new IdentityHashMap<>();
+        for (SchemaGroup group : groups) {
+            for (String path : outputs.apply(group)) {
+                SchemaGroup owner = owners.putIfAbsent(path, group);
+                if (Objects.isNull(owner) || owner == group) {
+                    continue;
+                }
+                List<SchemaGroup> ownerSet = sets.computeIfAbsent(owner, key -> newSet(key));
+                List<SchemaGroup> groupSet = sets.computeIfAbsent(group, key -> newSet(key));
+                if (ownerSet != groupSet) {
+                    ownerSet.addAll(groupSet);
+                    for (SchemaGroup member : groupSet) {
+                        sets.put(member, ownerSet);
+                    }
+                }
+            }
+        }
+
+        List<List<SchemaGroup>> collisions = new ArrayList<>();
+        for (List<SchemaGroup> set : sets.values()) {
+            if (!collisions.contains(set)) {
+                collisions.add(set);
+            }
+        }
+        return collisions;
+    }
+
+    private static List<SchemaGroup> newSet(SchemaGroup group) {
+        List<SchemaGroup> set = new ArrayList<>();
+        set.add(group);
+        return set;
+    }
+
+    private RuleFactory createRuleFactory() {
+        Class<? extends RuleFactory> clazz = config.getCustomRuleFactory();
+        try {
+            return clazz.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Failed to create a rule factory from the given class " + clazz.getName(), e);
+        }
+    }
+
+    private Annotator createAnnotator() {
+        AnnotatorFactory factory = new AnnotatorFactory(config);
+        return factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(config.getCustomAnnotator()));
+    }
+
+    /**
+     * Write the generated files below the target directory, in path order.
+     *
+     * @param targetDirectory directory to write to
+     * @param files           file contents keyed by relative path
+     * @throws IOException if a file can not be written
+     */
+    static void write(File targetDirectory, Map<String, byte[]> files) throws IOException {
+        if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
+            throw new GenerationException("Could not create or access target directory " + targetDirectory.getAbsolutePath());
+        }
+        for (Map.Entry<String, byte[]> file : new TreeMap<>(files).entrySet()) {
+            File target = new File(targetDirectory, file.getKey());
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.write(target.toPath(), file.getValue());
+        }
+    }
+
+    private static void removeOldOutput(File targetDirectory) {
+        File[] files = targetDirectory.listFiles();
+        if (Objects.isNull(files)) {
+            return;
+        }
+        for (File file : files) {
+            delete(file);
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (Objects.nonNull(children)) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (!file.delete() && file.exists()) {
+            throw new GenerationException("Could not delete old output " + file.getAbsolutePath());
+        }
+    }
+}
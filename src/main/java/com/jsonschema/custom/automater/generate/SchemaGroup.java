@@ -0,0 +1,58 @@
+package com.jsonschema.custom.automater.generate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Schemas that have to be generated together in one {@link com.sun.codemodel.JCodeModel}, because they share
+ * referenced documents or because their generated classes collide by name.
+ */
+final class SchemaGroup {
+    private final List<SchemaSource> sources;
+    private final Set<String> documents;
+
+    SchemaGroup(List<SchemaSource> sources, Set<String> documents) {
+        this.sources = Collections.unmodifiableList(sources);
+        this.documents = Collections.unmodifiableSet(documents);
+    }
+
+    /**
+     * @return schemas of the group in generation order
+     */
+    List<SchemaSource> getSources() {
+        return sources;
+    }
+
+    /**
+     * @return URIs of every document read while generating the group, the schemas themselves included
+     */
+    Set<String> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Combine the schemas of several groups, keeping the overall generation order.
+     *
+     * @param groups groups to combine
+     * @param order  overall generation order
+     * @return combined group
+     */
+    static SchemaGroup combine(List<SchemaGroup> groups, List<SchemaSource> order) {
+        Set<SchemaSource> members = new LinkedHashSet<>();
+        Set<String> documents = new LinkedHashSet<>();
+        for (SchemaGroup group : groups) {
+            members.addAll(group.sources);
+            documents.addAll(group.documents);
+        }
+        List<SchemaSource> sources = new ArrayList<>(members.size());
+        for (SchemaSource source : order) {
+            if (members.contains(source)) {
+                sources.add(source);
+            }
+        }
+        return new SchemaGroup(sources, documents);
+    }
+}
@@ -0,0 +1,192 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Splits schemas into groups that do not share any {@code $ref}'d document, directly or transitively. Schemas of
+ * different groups never see each other's classes while being generated, so groups can be generated independently.
+ * Groups and the schemas within them keep the order of the input list.
+ */
+final class SchemaReferenceGraph {
+    private static final String REF = "$ref";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Union find over document URIs, a URI maps to its parent until it maps to itself
+    private final Map<String, String> parents = new HashMap<>();
+    // Documents reachable from a URI, only filled for documents that were read
+    private final Map<String, Set<String>> references = new HashMap<>();
+
+    /**
+     * Group the given schemas by the documents they reference.
+     *
+     * @param sources schemas in generation order
+     * @return schema groups in generation order
+     * @throws IOException if a schema file can not be read
+     */
+    List<SchemaGroup> group(List<SchemaSource> sources) throws IOException {
+        for (SchemaSource source : sources) {
+            link(toUri(source));
+        }
+
+        Map<String, List<SchemaSource>> groupedSources = new LinkedHashMap<>();
+        for (SchemaSource source : sources) {
+            groupedSources.computeIfAbsent(find(toUri(source)), root -> new ArrayList<>()).add(source);
+        }
+        Map<String, Set<String>> groupedDocuments = new HashMap<>();
+        for (String uri : parents.keySet()) {
+            groupedDocuments.computeIfAbsent(find(uri), root -> new LinkedHashSet<>()).add(uri);
+        }
+
+        List<SchemaGroup> groups = new ArrayList<>(groupedSources.size());
+        for (Map.Entry<String, List<SchemaSource>> entry : groupedSources.entrySet()) {
+            groups.add(new SchemaGroup(entry.getValue(), groupedDocuments.get(entry.getKey())));
+        }
+        return groups;
+    }
+
+    /**
+     * Read a document and every document it references, joining them in one set.
+     *
+     * @param rootUri document to start at
+     * @throws IOException if a document can not be read
+     */
+    private void link(String rootUri) throws IOException {
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(rootUri);
+        while (!pending.isEmpty()) {
+            String uri = pending.pop();
+            if (references.containsKey(uri)) {
+                continue;
+            }
+            Set<String> referenced = readReferences(uri);
+            references.put(uri, referenced);
+            for (String referencedUri : referenced) {
+                union(uri, referencedUri);
+                pending.push(referencedUri);
+            }
+        }
+        find(rootUri);
+    }
+
+    /**
+     * Collect the documents referenced by a document. Only local files are read, other documents are still grouped
+     * by their URI but are not followed any further.
+     *
+     * @param uri document URI without fragment
+     * @return URIs of the referenced documents, without fragments
+     * @throws IOException if the document can not be read
+     */
+    private Set<String> readReferences(String uri) throws IOException {
+        Set<String> referenced = new LinkedHashSet<>();
+        URI documentUri = URI.create(uri);
+        if (!"file".equals(documentUri.getScheme())) {
+            return referenced;
+        }
+        File file = new File(documentUri);
+        if (!file.isFile()) {
+            return referenced;
+        }
+
+        Deque<JsonNode> nodes = new ArrayDeque<>();
+        nodes.push(objectMapper.readTree(file));
+        while (!nodes.isEmpty()) {
+            JsonNode node = nodes.pop();
+            if (node.isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (REF.equals(field.getKey()) && field.getValue().isTextual()) {
+                        String target = resolve(documentUri, field.getValue().asText());
+                        if (Objects.nonNull(target) && !target.equals(uri)) {
+                            referenced.add(target);
+                        }
+                    } else {
+                        nodes.push(field.getValue());
+                    }
+                }
+            } else if (node.isArray()) {
+                for (JsonNode element : node) {
+                    nodes.push(element);
+                }
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * Resolve a {@code $ref} against the document it appears in.
+     *
+     * @param documentUri URI of the referencing document
+     * @param ref         value of the reference
+     * @return URI of the referenced document without fragment or null for document local references
+     */
+    private static String resolve(URI documentUri, String ref) {
+        if (ref.startsWith("#")) {
+            return null;
+        }
+        try {
+            URI refUri = new URI(ref);
+            URI resolved = refUri.isOpaque() || refUri.isAbsolute() ? refUri : documentUri.resolve(refUri);
+            return stripFragment(resolved);
+        } catch (URISyntaxException e) {
+            // Leave unparsable references to JSON Schema2POJO, it reports them with more context
+            return ref;
+        }
+    }
+
+    private static String toUri(SchemaSource source) {
+        try {
+            return stripFragment(source.getUrl().toURI().normalize());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid schema location " + source.getUrl(), e);
+        }
+    }
+
+    private static String stripFragment(URI uri) {
+        String value = uri.normalize().toString();
+        int fragment = value.indexOf('#');
+        return fragment < 0 ? value : value.substring(0, fragment);
+    }
+
+    private String find(String uri) {
+        String root = uri;
+        String parent;
+        while (!(parent = parents.getOrDefault(root, root)).equals(root)) {
+            root = parent;
+        }
+        parents.putIfAbsent(uri, root);
+        // Path compression
+        String current = uri;
+        while (!current.equals(root)) {
+            String next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private void union(String first, String second) {
+        String firstRoot = find(first);
+        String secondRoot = find(second);
+        if (!firstRoot.equals(secondRoot)) {
+            parents.put(secondRoot, firstRoot);
+        }
+    }
+}
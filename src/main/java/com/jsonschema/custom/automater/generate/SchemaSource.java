@@ -0,0 +1,45 @@
+package com.jsonschema.custom.automater.generate;
+
+import java.net.URL;
+
+/**
+ * A single schema to hand to the {@link org.jsonschema2pojo.SchemaMapper}, along with the package and class name it
+ * is generated with.
+ */
+final class SchemaSource {
+    private final URL url;
+    private final String packageName;
+    private final String nodeName;
+
+    SchemaSource(URL url, String packageName, String nodeName) {
+        this.url = url;
+        this.packageName = packageName;
+        this.nodeName = nodeName;
+    }
+
+    /**
+     * @return location of the schema
+     */
+    URL getUrl() {
+        return url;
+    }
+
+    /**
+     * @return package the schema is generated into
+     */
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return node name used to derive the class name of the schema
+     */
+    String getNodeName() {
+        return nodeName;
+    }
+
+    @Override
+    public String toString() {
+        return url.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.jsonschema.custom.automater.generate;
+
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.URLProtocol;
+import org.jsonschema2pojo.util.URLUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists the schemas of a {@link GenerationConfig} in exactly the order {@link org.jsonschema2pojo.Jsonschema2Pojo}
+ * visits them, i.e. source by source, walking directories depth first using the configured sort order. Class names
+ * and package names are derived the same way as well.
+ */
+final class SchemaSourceScanner {
+    private final GenerationConfig config;
+
+    SchemaSourceScanner(GenerationConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * @return all schemas of the configuration in generation order
+     * @throws IOException if a schema location can not be converted to a URL
+     */
+    List<SchemaSource> scan() throws IOException {
+        List<SchemaSource> sources = new ArrayList<>();
+        String targetPackage = Objects.toString(config.getTargetPackage(), "");
+        Iterator<URL> urls = config.getSource();
+        while (urls.hasNext()) {
+            URL source = urls.next();
+            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
+                File[] children = URLUtil.getFileFromURL(source).listFiles(config.getFileFilter());
+                scanDirectory(sources, targetPackage, children);
+            } else {
+                sources.add(new SchemaSource(source, targetPackage, getNodeName(source)));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Recursively add the schema files of a directory, sub directories map to sub packages.
+     *
+     * @param sources     list to add the schemas to
+     * @param packageName package of the directory
+     * @param files       directory contents
+     * @throws IOException if a file can not be converted to a URL
+     */
+    private void scanDirectory(List<SchemaSource> sources, String packageName, File[] files) throws IOException {
+        List<File> schemaFiles = Objects.isNull(files) ? Collections.<File>emptyList() : Arrays.asList(files);
+        Collections.sort(schemaFiles, config.getSourceSortOrder().getComparator());
+        for (File child : schemaFiles) {
+            if (child.isFile()) {
+                URL url = child.toURI().toURL();
+                sources.add(new SchemaSource(url, packageName, getNodeName(url)));
+            } else {
+                scanDirectory(sources, childQualifiedName(packageName, child.getName()), child.listFiles(config.getFileFilter()));
+            }
+        }
+    }
+
+    /**
+     * Derive the node name of a schema from its file name, removing the first matching configured file extension or
+     * the last extension if none matches.
+     *
+     * @param url location of the schema
+     * @return node name used to name the generated class
+     */
+    private String getNodeName(URL url) {
+        String fileName;
+        try {
+            fileName = URLDecoder.decode(url.toString(), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        fileName = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+
+        for (String extension : config.getFileExtensions()) {
+            if (extension.isEmpty()) {
+                continue;
+            }
+            String dottedExtension = extension.startsWith(".") ? extension : "." + extension;
+            if (fileName.endsWith(dottedExtension)) {
+                return fileName.substring(0, fileName.length() - dottedExtension.length());
+            }
+        }
+        int extensionIndex = fileName.lastIndexOf('.');
+        return extensionIndex < 0 ? fileName : fileName.substring(0, extensionIndex);
+    }
+
+    private static String childQualifiedName(String parentQualifiedName, String childSimpleName) {
+        String safeChildName = childSimpleName.replaceAll("[^0-9a-zA-Z_$]", "_");
+        return parentQualifiedName.isEmpty() ? safeChildName : parentQualifiedName + "." + safeChildName;
+    }
+}
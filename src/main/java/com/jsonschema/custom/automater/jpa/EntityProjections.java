@@ -0,0 +1,59 @@
+package com.jsonschema.custom.automater.jpa;
+
+import com.sun.codemodel.JDefinedClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read-only projections declared by the projections keyword of an entity, indexed by the properties they include.
+ * The index is attached to the generated entity class as its codemodel metadata when the class is created, so the
+ * projection fields can be added as JSON Schema2POJO generates the properties without the annotator holding state.
+ *
+ * @author Jack Phillips
+ */
+public final class EntityProjections {
+    private final Map<String, List<JDefinedClass>> projections = new HashMap<>();
+
+    /**
+     * Attach an empty index to a generated entity class.
+     *
+     * @param clazz the generated entity class
+     * @return the attached index
+     */
+    public static EntityProjections attach(JDefinedClass clazz) {
+        if (Objects.nonNull(clazz.metadata)) {
+            throw new IllegalArgumentException("Can not attach the " + JpaConstants.PROJECTIONS + " of "
+                    + clazz.fullName() + ", its metadata is already set to " + clazz.metadata);
+        }
+        EntityProjections entityProjections = new EntityProjections();
+        clazz.metadata = entityProjections;
+        return entityProjections;
+    }
+
+    /**
+     * @param clazz        a generated pojo class
+     * @param propertyName the name of a JSON property of the class
+     * @return the projections of the class including the property, empty if there are none
+     */
+    public static List<JDefinedClass> getProjections(JDefinedClass clazz, String propertyName) {
+        if (!(clazz.metadata instanceof EntityProjections)) {
+            return Collections.emptyList();
+        }
+        return ((EntityProjections) clazz.metadata).projections.getOrDefault(propertyName, Collections.emptyList());
+    }
+
+    /**
+     * Register a projection including a property.
+     *
+     * @param propertyName the name of the JSON property
+     * @param projection   the generated projection class
+     */
+    public void add(String propertyName, JDefinedClass projection) {
+        projections.computeIfAbsent(propertyName, key -> new ArrayList<>()).add(projection);
+    }
+}
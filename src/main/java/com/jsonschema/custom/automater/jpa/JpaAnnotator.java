@@ -28,6 +28,7 @@ public class JpaAnnotator extends AnnotatorAutomator {
     @Override
     public void propertyInclusion(JDefinedClass clazz, JsonNode schema) {
         handleJpaInclusions(clazz, schema);
+        handleKeywordInclusions(clazz, schema);
     }
 
     /**
@@ -41,5 +42,6 @@ public class JpaAnnotator extends AnnotatorAutomator {
     @Override
     public void propertyField(JFieldVar field, JDefinedClass clazz, String propertyName, JsonNode propertyNode) {
         handleJpaPropertyFields(field, clazz, propertyName, propertyNode);
+        handleKeywordPropertyFields(field, clazz, propertyName, propertyNode);
     }
 }
\ No newline at end of file
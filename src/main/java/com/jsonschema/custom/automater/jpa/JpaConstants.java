@@ -1,5 +1,9 @@
 package com.jsonschema.custom.automater.jpa;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Class used to store constants for use by JPA Automation.
  */
@@ -11,10 +15,51 @@ public final class JpaConstants {
     public static final String NAME = "name";
     public static final String COLUMN = "column";
     public static final String COLUMN_NAME = "columnName";
+    // Column sizing values
+    public static final String LENGTH = "length";
+    public static final String PRECISION = "precision";
+    public static final String SCALE = "scale";
+    public static final String NULLABLE = "nullable";
+    public static final String UNIQUE = "unique";
+    public static final String COLUMN_DEFINITION = "columnDefinition";
+    // JSON Schema keywords used to derive column sizing
+    public static final String MAX_LENGTH = "maxLength";
+    public static final String MULTIPLE_OF = "multipleOf";
+    // Index and constraint values
+    public static final String INDEXES = "indexes";
+    public static final String COLUMN_LIST = "columnList";
+    public static final String UNIQUE_CONSTRAINTS = "uniqueConstraints";
+    public static final String COLUMN_NAMES = "columnNames";
+    // Compact field values
+    public static final String PRIMITIVE = "primitive";
+    public static final String ENUMERATED = "enumerated";
+    public static final String EMBEDDABLE = "embeddable";
+    // JSON column values
+    public static final String JSON_COLUMN = "jsonColumn";
+    public static final String CONVERTER = "converter";
+    public static final String JSON_COLUMNS = "JsonColumns";
+    public static final String MAPPER = "MAPPER";
+    public static final String JSON_CONVERTER_SUFFIX = "JsonConverter";
+    // Projection values
+    public static final String PROJECTIONS = "projections";
+    public static final String PROPERTIES = "properties";
     // Identifier values
     public static final String IS_ID_COLUMN = "isIdColumn";
     public static final String GENERATED_VALUE = "generatedValue";
     public static final String STRATEGY = "strategy";
+    public static final String GENERATOR = "generator";
+    public static final String SEQUENCE = "sequence";
+    public static final String SEQUENCE_NAME = "sequenceName";
+    public static final String SCHEMA = "schema";
+    public static final String CATALOG = "catalog";
+    public static final String PK_COLUMN_NAME = "pkColumnName";
+    public static final String VALUE_COLUMN_NAME = "valueColumnName";
+    public static final String PK_COLUMN_VALUE = "pkColumnValue";
+    public static final String INITIAL_VALUE = "initialValue";
+    public static final String ALLOCATION_SIZE = "allocationSize";
+    public static final String OPTIMIZER = "optimizer";
+    public static final String BATCH_INSERTS = "batchInserts";
+    public static final String PARAMETERS = "parameters";
     // Multiplicity values
     public static final String ONE_TO_ONE = "oneToOne";
     public static final String MANY_TO_MANY = "manyToMany";
@@ -26,4 +71,41 @@ public final class JpaConstants {
     public static final String JOIN_COLUMNS = "joinColumns";
     public static final String INVERSE_JOIN_COLUMNS = "inverseJoinColumns";
     public static final String REFERENCED_COLUMN_NAME = "referencedColumnName";
+    // Fetch tuning and second level cache values
+    public static final String BATCH_SIZE = "batchSize";
+    public static final String SIZE = "size";
+    public static final String CACHEABLE = "cacheable";
+    public static final String CACHE = "cache";
+    public static final String USAGE = "usage";
+    public static final String REGION = "region";
+    public static final String VALUE = "value";
+    // Entity graph values
+    public static final String NAMED_ENTITY_GRAPHS = "namedEntityGraphs";
+    public static final String ATTRIBUTE_NODES = "attributeNodes";
+    public static final String SUBGRAPH = "subgraph";
+    public static final String SUBGRAPHS = "subgraphs";
+    public static final String INCLUDE_ALL_ATTRIBUTES = "includeAllAttributes";
+    // Hibernate specific annotations, referenced by name as Hibernate is only required by the generated code
+    public static final String HIBERNATE_BATCH_SIZE = "org.hibernate.annotations.BatchSize";
+    public static final String HIBERNATE_CACHE = "org.hibernate.annotations.Cache";
+    public static final String HIBERNATE_CACHE_CONCURRENCY_STRATEGY = "org.hibernate.annotations.CacheConcurrencyStrategy";
+    public static final String HIBERNATE_GENERIC_GENERATOR = "org.hibernate.annotations.GenericGenerator";
+    public static final String HIBERNATE_PARAMETER = "org.hibernate.annotations.Parameter";
+    public static final String HIBERNATE_SEQUENCE_STYLE_GENERATOR = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+    public static final String HIBERNATE_TABLE_GENERATOR = "org.hibernate.id.enhanced.TableGenerator";
+    // Configuration parameters of Hibernate's enhanced sequence and table generators
+    public static final String HIBERNATE_SEQUENCE_NAME = "sequence_name";
+    public static final String HIBERNATE_TABLE_NAME = "table_name";
+    public static final String HIBERNATE_SEGMENT_COLUMN_NAME = "segment_column_name";
+    public static final String HIBERNATE_VALUE_COLUMN_NAME = "value_column_name";
+    public static final String HIBERNATE_SEGMENT_VALUE = "segment_value";
+    public static final String HIBERNATE_INITIAL_VALUE = "initial_value";
+    public static final String HIBERNATE_INCREMENT_SIZE = "increment_size";
+    public static final String HIBERNATE_OPTIMIZER = "optimizer";
+    public static final String HIBERNATE_SCHEMA = "schema";
+    public static final String HIBERNATE_CATALOG = "catalog";
+    public static final List<String> OPTIMIZERS = Collections.unmodifiableList(Arrays.asList(
+            "none", "hilo", "legacy-hilo", "pooled", "pooled-lo", "pooled-lotl"));
+    public static final List<String> CACHE_CONCURRENCY_STRATEGIES = Collections.unmodifiableList(Arrays.asList(
+            "NONE", "READ_ONLY", "NONSTRICT_READ_WRITE", "READ_WRITE", "TRANSACTIONAL"));
 }
@@ -0,0 +1,234 @@
+package com.jsonschema.custom.automater.jpa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JAnnotatable;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import org.apache.commons.lang3.StringUtils;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.rules.ObjectRule;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.jsonschema2pojo.util.ParcelableHelper;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Object rule that replaces the equals, hashCode and toString methods JSON Schema2POJO generates for classes annotated
+ * with {@link Entity}. The generated methods read every field, so logging an entity or adding it to a hash based
+ * collection initializes every lazy association of the object graph. The replacements are:
+ * <ul>
+ * <li>equals compares the identifier, read through its getter so Hibernate proxies are initialized only for the
+ * identifier, and never considers two entities without an identifier equal</li>
+ * <li>hashCode is constant per entity class, so it does not change when the identifier is assigned on persist</li>
+ * <li>toString appends every field except associations</li>
+ * </ul>
+ * Entities without an {@link Id} or {@link EmbeddedId} field keep the identity based equals and hashCode of their
+ * super class.
+ */
+public class JpaObjectRule extends ObjectRule {
+    // Annotations of fields that are loaded lazily or refer to other entities
+    private static final List<Class<? extends Annotation>> ASSOCIATIONS = Arrays.asList(
+            OneToOne.class, OneToMany.class, ManyToOne.class, ManyToMany.class, ElementCollection.class);
+    private static final List<Class<? extends Annotation>> IDENTIFIERS = Arrays.<Class<? extends Annotation>>asList(
+            Id.class, EmbeddedId.class);
+
+    private final RuleFactory ruleFactory;
+
+    /**
+     * @param ruleFactory       the rule factory creating this rule
+     * @param parcelableHelper  helper used by JSON Schema2POJO to add Parcelable support
+     */
+    protected JpaObjectRule(RuleFactory ruleFactory, ParcelableHelper parcelableHelper) {
+        super(ruleFactory, parcelableHelper);
+        this.ruleFactory = ruleFactory;
+    }
+
+    @Override
+    public JType apply(String nodeName, JsonNode node, JPackage _package, Schema schema) {
+        JType type = super.apply(nodeName, node, _package, schema);
+        if (type instanceof JDefinedClass && isAnnotated((JDefinedClass) type, Entity.class)) {
+            replaceObjectMethods((JDefinedClass) type);
+        }
+        return type;
+    }
+
+    /**
+     * Replace the generated equals, hashCode and toString methods of an entity. A class that is still being generated,
+     * i.e. one reached again through a self reference, is processed again once it is complete, so every previously
+     * added method is removed first.
+     *
+     * @param clazz the generated entity class
+     */
+    private void replaceObjectMethods(JDefinedClass clazz) {
+        boolean hasEquals = removeMethods(clazz, "equals", 1);
+        boolean hasHashCode = removeMethods(clazz, "hashCode", 0);
+        boolean hasToString = removeMethods(clazz, "toString", 0);
+
+        List<JFieldVar> identifiers = findIdentifiers(clazz);
+        if (hasHashCode && !identifiers.isEmpty()) {
+            addHashCode(clazz);
+        }
+        if (hasEquals && !identifiers.isEmpty()) {
+            addEquals(clazz, identifiers);
+        }
+        if (hasToString) {
+            addToString(clazz);
+        }
+    }
+
+    private void addHashCode(JDefinedClass clazz) {
+        JMethod hashCode = clazz.method(JMod.PUBLIC, clazz.owner().INT, "hashCode");
+        hashCode.javadoc().add("Constant for every instance of the entity, so the hash code does not change when the "
+                + "identifier is assigned.");
+        hashCode.body()._return(clazz.dotclass().invoke("hashCode"));
+        hashCode.annotate(Override.class);
+    }
+
+    private void addEquals(JDefinedClass clazz, List<JFieldVar> identifiers) {
+        JMethod equals = clazz.method(JMod.PUBLIC, clazz.owner().BOOLEAN, "equals");
+        equals.javadoc().add("Entities are equal if they have the same identifier, entities without an identifier are "
+                + "only equal to themselves.");
+        JVar other = equals.param(Object.class, "other");
+        JBlock body = equals.body();
+        body._if(other.eq(JExpr._this()))._then()._return(JExpr.TRUE);
+        body._if(other._instanceof(clazz).eq(JExpr.FALSE))._then()._return(JExpr.FALSE);
+        JVar rhs = body.decl(clazz, "rhs").init(JExpr.cast(clazz, other));
+
+        JExpression isEqual = null;
+        for (JFieldVar identifier : identifiers) {
+            JMethod getter = findGetter(clazz, identifier);
+            JExpression value = Objects.nonNull(getter) ? JExpr.invoke(getter) : JExpr._this().ref(identifier);
+            JExpression rhsValue = Objects.nonNull(getter) ? rhs.invoke(getter) : rhs.ref(identifier);
+            // An unassigned identifier is null, or 0 for primitive identifiers
+            JExpression isIdentifierEqual = identifier.type().isPrimitive()
+                    ? value.ne(JExpr.lit(0)).cand(value.eq(rhsValue))
+                    : value.ne(JExpr._null()).cand(value.invoke("equals").arg(rhsValue));
+            isEqual = Objects.isNull(isEqual) ? isIdentifierEqual : isEqual.cand(isIdentifierEqual);
+        }
+        body._return(isEqual);
+        equals.annotate(Override.class);
+    }
+
+    private void addToString(JDefinedClass clazz) {
+        JMethod toString = clazz.method(JMod.PUBLIC, String.class, "toString");
+        toString.javadoc().add("Associations are left out, so logging the entity never triggers lazy loading.");
+        Class<?> toStringBuilder = ruleFactory.getGenerationConfig().isUseCommonsLang3()
+                ? org.apache.commons.lang3.builder.ToStringBuilder.class
+                : org.apache.commons.lang.builder.ToStringBuilder.class;
+        JInvocation builder = JExpr._new(clazz.owner().ref(toStringBuilder)).arg(JExpr._this());
+        if (!Object.class.getName().equals(clazz._extends().fullName())) {
+            builder = builder.invoke("appendSuper").arg(JExpr._super().invoke("toString"));
+        }
+        for (JFieldVar field : clazz.fields().values()) {
+            if ((field.mods().getValue() & JMod.STATIC) != 0 || isAssociation(field)) {
+                continue;
+            }
+            builder = builder.invoke("append").arg(JExpr.lit(field.name())).arg(field);
+        }
+        toString.body()._return(builder.invoke("toString"));
+        toString.annotate(Override.class);
+    }
+
+    /**
+     * Remove every method with the given name and number of parameters.
+     *
+     * @param clazz          the generated class
+     * @param name           method name
+     * @param parameterCount number of parameters
+     * @return true if a method was removed
+     */
+    private static boolean removeMethods(JDefinedClass clazz, String name, int parameterCount) {
+        boolean removed = false;
+        for (Iterator<JMethod> methods = clazz.methods().iterator(); methods.hasNext(); ) {
+            JMethod method = methods.next();
+            if (name.equals(method.name()) && method.params().size() == parameterCount) {
+                methods.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @param clazz the generated entity class
+     * @return identifier fields of the class or of the closest generated super class declaring any
+     */
+    private static List<JFieldVar> findIdentifiers(JDefinedClass clazz) {
+        for (JClass current = clazz; current instanceof JDefinedClass; current = current._extends()) {
+            List<JFieldVar> identifiers = new ArrayList<>();
+            for (JFieldVar field : ((JDefinedClass) current).fields().values()) {
+                for (Class<? extends Annotation> identifier : IDENTIFIERS) {
+                    if (isAnnotated(field, identifier)) {
+                        identifiers.add(field);
+                    }
+                }
+            }
+            if (!identifiers.isEmpty()) {
+                return identifiers;
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Find the getter of a field in the class or one of its generated super classes.
+     *
+     * @param clazz the generated class
+     * @param field the field
+     * @return the getter or null if accessors are not generated
+     */
+    private static JMethod findGetter(JDefinedClass clazz, JFieldVar field) {
+        String capitalized = StringUtils.capitalize(field.name());
+        for (JClass current = clazz; current instanceof JDefinedClass; current = current._extends()) {
+            for (JMethod method : ((JDefinedClass) current).methods()) {
+                if (method.params().isEmpty() && method.type().equals(field.type())
+                        && (method.name().equals("get" + capitalized) || method.name().equals("is" + capitalized))) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAssociation(JFieldVar field) {
+        for (Class<? extends Annotation> association : ASSOCIATIONS) {
+            if (isAnnotated(field, association)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnnotated(JAnnotatable annotatable, Class<? extends Annotation> annotation) {
+        for (JAnnotationUse annotationUse : annotatable.annotations()) {
+            if (annotation.getName().equals(annotationUse.getAnnotationClass().fullName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
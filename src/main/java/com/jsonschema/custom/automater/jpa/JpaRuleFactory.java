@@ -0,0 +1,42 @@
+package com.jsonschema.custom.automater.jpa;
+
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.Rule;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.jsonschema2pojo.util.ParcelableHelper;
+
+/**
+ * Rule factory to be configured as the customRuleFactory of JSON Schema2POJO alongside one of the JPA annotators. It
+ * generates entity classes with equals, hashCode and toString methods that never trigger lazy loading, see
+ * {@link JpaObjectRule}. Every other rule is the JSON Schema2POJO default.
+ *
+ * Please reference the JSON Schema2POJO Git Repo for more information
+ * @see <a href="https://github.com/joelittlejohn/jsonschema2pojo">JSON Schema2POJO Git Repo</a>
+ * @author Jack Phillips
+ */
+public class JpaRuleFactory extends RuleFactory {
+    /**
+     * Create a rule factory with the default configuration, JSON Schema2POJO sets the actual one before generating.
+     */
+    public JpaRuleFactory() {
+        super();
+    }
+
+    /**
+     * @param generationConfig the configuration of the generation run
+     * @param annotator        the annotator applied to the generated classes
+     * @param schemaStore      the store of every schema read during the generation run
+     */
+    public JpaRuleFactory(GenerationConfig generationConfig, Annotator annotator, SchemaStore schemaStore) {
+        super(generationConfig, annotator, schemaStore);
+    }
+
+    @Override
+    public Rule<JPackage, JType> getObjectRule() {
+        return new JpaObjectRule(this, new ParcelableHelper());
+    }
+}
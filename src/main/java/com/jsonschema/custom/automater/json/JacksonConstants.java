@@ -0,0 +1,20 @@
+package com.jsonschema.custom.automater.json;
+
+/**
+ * Constants used to generate annotations that make Jackson (de)serialization of the generated POJOs cheaper and that
+ * are not covered by the vanilla JSON Schema 2 POJO library.
+ */
+public final class JacksonConstants {
+    // Class and property level keywords
+    public static final String JSON_FORMAT = "jsonFormat";
+    public static final String JSON_CREATOR = "jsonCreator";
+    // JsonFormat values
+    public static final String SHAPE = "shape";
+    public static final String PATTERN = "pattern";
+    public static final String TIMEZONE = "timezone";
+    public static final String LOCALE = "locale";
+    // JsonProperty values
+    public static final String VALUE = "value";
+    // JSON Schema keyword that adds the any getter and setter that keep the array shape from being used
+    public static final String ADDITIONAL_PROPERTIES = "additionalProperties";
+}
@@ -0,0 +1,60 @@
+package com.jsonschema.custom.automater.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+
+import java.util.Set;
+
+/**
+ * Handler of custom schema keywords, discovered through {@link java.util.ServiceLoader} by the
+ * {@link KeywordHandlerRegistry}. Register an implementation by listing it in
+ * {@code META-INF/services/com.jsonschema.custom.automater.keyword.KeywordHandler} of a jar on the same classpath as
+ * this library, every annotator of the library then calls it for the schema nodes declaring one of its keywords.
+ * <p>
+ * Handlers are called after the built-in keywords of the node have been processed and, like the annotators, from
+ * concurrent generator threads, so implementations must be stateless or thread safe. Implementations need a public
+ * no args constructor.
+ *
+ * @author Jack Phillips
+ */
+public interface KeywordHandler {
+    /**
+     * @return the keywords handled, the handler is only called for nodes declaring at least one of them
+     */
+    Set<String> getKeywords();
+
+    /**
+     * Process a keyword declared on the schema of a generated class.
+     *
+     * @param clazz   a generated pojo class
+     * @param keyword the declared keyword
+     * @param value   the value of the keyword
+     * @param schema  the object schema associated with this clazz
+     */
+    default void handleClass(JDefinedClass clazz, String keyword, JsonNode value, JsonNode schema) {
+    }
+
+    /**
+     * Process a keyword declared on a property.
+     *
+     * @param field        the field generated for the property
+     * @param clazz        the owner of the field (class to which the field belongs)
+     * @param keyword      the declared keyword
+     * @param value        the value of the keyword
+     * @param propertyNode the schema node defining this property
+     */
+    default void handleField(JFieldVar field, JDefinedClass clazz, String keyword, JsonNode value, JsonNode propertyNode) {
+    }
+
+    /**
+     * Check the value of a keyword, called by the {@link com.jsonschema.custom.automater.validate.SchemaValidator}
+     * for every schema node declaring it.
+     *
+     * @param keyword the declared keyword
+     * @param value   the value of the keyword
+     * @throws IllegalArgumentException with a description of the problem if the value is invalid
+     */
+    default void validate(String keyword, JsonNode value) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.jsonschema.custom.automater.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Immutable index of {@link KeywordHandler}s by keyword. Dispatch iterates over the field names present on a schema
+ * node and looks each one up, so the cost per node is proportional to the keywords it declares rather than to the
+ * number of registered handlers, and nothing is iterated at all while no handler is registered.
+ *
+ * @author Jack Phillips
+ */
+public final class KeywordHandlerRegistry {
+    private final Map<String, List<KeywordHandler>> handlers;
+
+    /**
+     * Index the given handlers. Handlers sharing a keyword are called in the given order.
+     *
+     * @param keywordHandlers handlers to register
+     */
+    public KeywordHandlerRegistry(Iterable<? extends KeywordHandler> keywordHandlers) {
+        Map<String, List<KeywordHandler>> index = new HashMap<>();
+        for (KeywordHandler handler : keywordHandlers) {
+            Set<String> keywords = handler.getKeywords();
+            if (keywords.isEmpty()) {
+                throw new IllegalArgumentException("Keyword handler " + handler.getClass().getName()
+                        + " does not declare any keyword");
+            }
+            for (String keyword : keywords) {
+                index.computeIfAbsent(keyword, key -> new ArrayList<>()).add(handler);
+            }
+        }
+        for (Map.Entry<String, List<KeywordHandler>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.handlers = index;
+    }
+
+    /**
+     * @return registry of the handlers listed in the {@code META-INF/services} of the classpath this library was
+     * loaded from, loaded once
+     */
+    public static KeywordHandlerRegistry getDefault() {
+        return DefaultRegistryHolder.REGISTRY;
+    }
+
+    /**
+     * Load the handlers listed in the {@code META-INF/services} of a class loader.
+     *
+     * @param classLoader class loader to search
+     * @return registry of the discovered handlers
+     */
+    public static KeywordHandlerRegistry load(ClassLoader classLoader) {
+        return new KeywordHandlerRegistry(ServiceLoader.load(KeywordHandler.class, classLoader));
+    }
+
+    /**
+     * @return true if no handler is registered
+     */
+    public boolean isEmpty() {
+        return handlers.isEmpty();
+    }
+
+    /**
+     * @return every keyword with at least one handler
+     */
+    public Set<String> getKeywords() {
+        return Collections.unmodifiableSet(handlers.keySet());
+    }
+
+    /**
+     * @param keyword a schema keyword
+     * @return handlers of the keyword, empty if there are none
+     */
+    public List<KeywordHandler> getHandlers(String keyword) {
+        return handlers.getOrDefault(keyword, Collections.emptyList());
+    }
+
+    /**
+     * Call the handlers of every keyword declared on the schema of a generated class.
+     *
+     * @param clazz  a generated pojo class
+     * @param schema the object schema associated with this clazz
+     */
+    public void handleClass(JDefinedClass clazz, JsonNode schema) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> fields = schema.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            List<KeywordHandler> keywordHandlers = handlers.get(entry.getKey());
+            if (Objects.isNull(keywordHandlers)) {
+                continue;
+            }
+            for (KeywordHandler handler : keywordHandlers) {
+                handler.handleClass(clazz, entry.getKey(), entry.getValue(), schema);
+            }
+        }
+    }
+
+    /**
+     * Call the handlers of every keyword declared on a property.
+     *
+     * @param field        the field generated for the property
+     * @param clazz        the owner of the field (class to which the field belongs)
+     * @param propertyNode the schema node defining this property
+     */
+    public void handleField(JFieldVar field, JDefinedClass clazz, JsonNode propertyNode) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> fields = propertyNode.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            List<KeywordHandler> keywordHandlers = handlers.get(entry.getKey());
+            if (Objects.isNull(keywordHandlers)) {
+                continue;
+            }
+            for (KeywordHandler handler : keywordHandlers) {
+                handler.handleField(field, clazz, entry.getKey(), entry.getValue(), propertyNode);
+            }
+        }
+    }
+
+    // Loaded on first use, so annotators of builds without handlers never touch the service loader twice
+    private static final class DefaultRegistryHolder {
+        private static final KeywordHandlerRegistry REGISTRY = load(KeywordHandler.class.getClassLoader());
+    }
+}
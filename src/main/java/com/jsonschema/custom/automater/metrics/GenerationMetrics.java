@@ -0,0 +1,218 @@
+package com.jsonschema.custom.automater.metrics;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects, for every schema and every generated class, the invocation count, the cumulative nanoseconds and the
+ * number of annotations emitted by the handlers of the {@link com.jsonschema.custom.automater.AnnotatorAutomator}.
+ * <p>
+ * Recording is scoped to a thread: the handlers only record while the calling thread has a {@link Scope} open, which
+ * names the schema being generated. The {@link com.jsonschema.custom.automater.generate.ParallelSchemaGenerator}
+ * opens one per schema when it is given a metrics instance, any other caller can wrap its generation in
+ * {@link #open(String)} itself. While no scope is open anywhere a handler only pays for one atomic read.
+ * <p>
+ * Instances are safe to use from concurrent generator threads.
+ *
+ * @author Jack Phillips
+ */
+public final class GenerationMetrics {
+    /**
+     * The instrumented handlers of the {@link com.jsonschema.custom.automater.AnnotatorAutomator}.
+     */
+    public enum Handler {
+        JPA_INCLUSIONS("handleJpaInclusions"),
+        JSON_IGNORE_INCLUSIONS("handleJsonIgnoreInclusions"),
+        JACKSON_INCLUSIONS("handleJacksonInclusions"),
+        JPA_PROPERTY_FIELDS("handleJpaPropertyFields"),
+        SPRINGFOX_PROPERTY_FIELDS("handleSpringfoxPropertyFields"),
+        JACKSON_PROPERTY_FIELDS("handleJacksonPropertyFields"),
+        KEYWORD_INCLUSIONS("handleKeywordInclusions"),
+        KEYWORD_PROPERTY_FIELDS("handleKeywordPropertyFields");
+
+        private final String methodName;
+
+        Handler(String methodName) {
+            this.methodName = methodName;
+        }
+
+        /**
+         * @return name of the handler method, as written to the reports
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+    }
+
+    // Scopes open over all threads, probes skip the thread local lookup while there are none
+    private static final AtomicInteger OPEN_SCOPES = new AtomicInteger();
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    private final Map<String, SchemaMetrics> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Start recording the handlers invoked by the current thread for the given schema, until the scope is closed.
+     * Scopes can be nested, closing the inner scope resumes recording for the outer one.
+     *
+     * @param schema name of the schema being generated, i.e. its URL
+     * @return the open scope
+     */
+    public Scope open(String schema) {
+        return new Scope(schemas.computeIfAbsent(schema, SchemaMetrics::new));
+    }
+
+    /**
+     * Start measuring a handler invocation on the current thread.
+     *
+     * @param handler the invoked handler
+     * @param clazz   the class the handler annotates
+     * @param field   the field the handler annotates, null for class level handlers
+     * @return the started probe, or null if the thread is not recording
+     */
+    public static Probe probe(Handler handler, JDefinedClass clazz, JFieldVar field) {
+        if (OPEN_SCOPES.get() == 0) {
+            return null;
+        }
+        Scope scope = CURRENT_SCOPE.get();
+        return Objects.isNull(scope) ? null : new Probe(scope.schema, handler, clazz, field);
+    }
+
+    /**
+     * Record a handler invocation started with {@link #probe(Handler, JDefinedClass, JFieldVar)}.
+     *
+     * @param probe the started probe, null is ignored
+     */
+    public static void record(Probe probe) {
+        if (Objects.nonNull(probe)) {
+            probe.stop();
+        }
+    }
+
+    /**
+     * @return snapshot of everything recorded so far
+     */
+    public MetricsReport report() {
+        List<MetricsReport.SchemaSummary> summaries = new ArrayList<>(schemas.size());
+        List<MetricsReport.HandlerTiming> timings = new ArrayList<>();
+        for (SchemaMetrics schema : schemas.values()) {
+            long annotatorNanos = 0;
+            long annotations = 0;
+            for (Map.Entry<String, ClassMetrics> clazz : schema.classes.entrySet()) {
+                for (MetricsReport.HandlerTiming timing : clazz.getValue().snapshot(schema.name, clazz.getKey())) {
+                    annotatorNanos += timing.getNanos();
+                    annotations += timing.getAnnotations();
+                    timings.add(timing);
+                }
+            }
+            summaries.add(new MetricsReport.SchemaSummary(schema.name, schema.generations.sum(),
+                    schema.generationNanos.sum(), annotatorNanos, annotations));
+        }
+        return new MetricsReport(summaries, timings);
+    }
+
+    /**
+     * Recording of one schema on the thread that opened it, close it on the same thread.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final SchemaMetrics schema;
+        private final Scope outer;
+        private final long start;
+
+        private Scope(SchemaMetrics schema) {
+            this.schema = schema;
+            this.outer = CURRENT_SCOPE.get();
+            CURRENT_SCOPE.set(this);
+            OPEN_SCOPES.incrementAndGet();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            schema.generationNanos.add(System.nanoTime() - start);
+            schema.generations.increment();
+            OPEN_SCOPES.decrementAndGet();
+            if (Objects.isNull(outer)) {
+                CURRENT_SCOPE.remove();
+            } else {
+                CURRENT_SCOPE.set(outer);
+            }
+        }
+    }
+
+    /**
+     * A handler invocation being measured.
+     */
+    public static final class Probe {
+        private final SchemaMetrics schema;
+        private final Handler handler;
+        private final JDefinedClass clazz;
+        private final JFieldVar field;
+        private final int annotationsBefore;
+        private final long start;
+
+        private Probe(SchemaMetrics schema, Handler handler, JDefinedClass clazz, JFieldVar field) {
+            this.schema = schema;
+            this.handler = handler;
+            this.clazz = clazz;
+            this.field = field;
+            this.annotationsBefore = countAnnotations(clazz, field);
+            this.start = System.nanoTime();
+        }
+
+        private void stop() {
+            long nanos = System.nanoTime() - start;
+            int annotations = countAnnotations(clazz, field) - annotationsBefore;
+            schema.classes.computeIfAbsent(clazz.fullName(), name -> new ClassMetrics()).add(handler, nanos, annotations);
+        }
+
+        private static int countAnnotations(JDefinedClass clazz, JFieldVar field) {
+            int count = clazz.annotations().size();
+            return Objects.isNull(field) ? count : count + field.annotations().size();
+        }
+    }
+
+    private static final class SchemaMetrics {
+        private final String name;
+        private final LongAdder generations = new LongAdder();
+        private final LongAdder generationNanos = new LongAdder();
+        private final Map<String, ClassMetrics> classes = new ConcurrentHashMap<>();
+
+        private SchemaMetrics(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Counters of one generated class, indexed by handler ordinal.
+     */
+    private static final class ClassMetrics {
+        private final long[] invocations = new long[Handler.values().length];
+        private final long[] nanos = new long[Handler.values().length];
+        private final long[] annotations = new long[Handler.values().length];
+
+        private synchronized void add(Handler handler, long elapsedNanos, int emittedAnnotations) {
+            invocations[handler.ordinal()]++;
+            nanos[handler.ordinal()] += elapsedNanos;
+            annotations[handler.ordinal()] += emittedAnnotations;
+        }
+
+        private synchronized List<MetricsReport.HandlerTiming> snapshot(String schema, String className) {
+            List<MetricsReport.HandlerTiming> timings = new ArrayList<>();
+            for (Handler handler : Handler.values()) {
+                if (invocations[handler.ordinal()] > 0) {
+                    timings.add(new MetricsReport.HandlerTiming(schema, className, handler,
+                            invocations[handler.ordinal()], nanos[handler.ordinal()], annotations[handler.ordinal()]));
+                }
+            }
+            return timings;
+        }
+    }
+}
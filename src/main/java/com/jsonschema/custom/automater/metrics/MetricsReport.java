@@ -0,0 +1,328 @@
+package com.jsonschema.custom.automater.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of {@link GenerationMetrics}, written as JSON or CSV. Schemas are ordered from slowest to fastest
+ * by the time spent generating them, handler timings by schema, class and handler.
+ * <p>
+ * The generation time of a schema covers everything JSON Schema2POJO does for it, including the classes of the
+ * documents it pulls in through {@code $ref}, the annotator time only the instrumented handlers. A schema generated
+ * more than once, i.e. again after its classes collided with another group, adds up the time of every generation.
+ *
+ * @author Jack Phillips
+ */
+public final class MetricsReport {
+    /**
+     * Name of the JSON report written by {@link #write(File, int)}.
+     */
+    public static final String JSON_FILE_NAME = "generation-metrics.json";
+    /**
+     * Name of the CSV report written by {@link #write(File, int)}.
+     */
+    public static final String CSV_FILE_NAME = "generation-metrics.csv";
+
+    private static final String CSV_HEADER = "schema,class,handler,invocations,nanos,annotations";
+
+    private final List<SchemaSummary> schemas;
+    private final List<HandlerTiming> timings;
+
+    MetricsReport(List<SchemaSummary> schemas, List<HandlerTiming> timings) {
+        List<SchemaSummary> sortedSchemas = new ArrayList<>(schemas);
+        sortedSchemas.sort(Comparator.comparingLong(SchemaSummary::getGenerationNanos).reversed()
+                .thenComparing(SchemaSummary::getSchema));
+        List<HandlerTiming> sortedTimings = new ArrayList<>(timings);
+        sortedTimings.sort(Comparator.comparing(HandlerTiming::getSchema).thenComparing(HandlerTiming::getClassName)
+                .thenComparing(HandlerTiming::getHandler));
+        this.schemas = Collections.unmodifiableList(sortedSchemas);
+        this.timings = Collections.unmodifiableList(sortedTimings);
+    }
+
+    /**
+     * @return every recorded schema, slowest first
+     */
+    public List<SchemaSummary> getSchemas() {
+        return schemas;
+    }
+
+    /**
+     * @param top maximum number of schemas
+     * @return the slowest schemas, slowest first
+     */
+    public List<SchemaSummary> getSlowestSchemas(int top) {
+        if (top < 0) {
+            throw new IllegalArgumentException("Number of slowest schemas must not be negative but was " + top);
+        }
+        return schemas.subList(0, Math.min(top, schemas.size()));
+    }
+
+    /**
+     * @return timings per schema, class and handler
+     */
+    public List<HandlerTiming> getTimings() {
+        return timings;
+    }
+
+    /**
+     * Write the JSON and the CSV report to a directory, creating it if needed.
+     *
+     * @param directory directory to write {@value #JSON_FILE_NAME} and {@value #CSV_FILE_NAME} to
+     * @param top       number of schemas in the slowest schema summary of the JSON report
+     * @throws IOException if a report can not be written
+     */
+    public void write(File directory, int top) throws IOException {
+        Files.createDirectories(directory.toPath());
+        try (Writer writer = Files.newBufferedWriter(new File(directory, JSON_FILE_NAME).toPath(), StandardCharsets.UTF_8)) {
+            writeJson(writer, top);
+        }
+        try (Writer writer = Files.newBufferedWriter(new File(directory, CSV_FILE_NAME).toPath(), StandardCharsets.UTF_8)) {
+            writeCsv(writer);
+        }
+    }
+
+    /**
+     * Write the report as a JSON document with run totals, the {@code top} slowest schemas and, per schema, the
+     * timings of every class and handler.
+     *
+     * @param writer destination, not closed
+     * @param top    number of schemas in the slowest schema summary
+     * @throws IOException if the report can not be written
+     */
+    public void writeJson(Writer writer, int top) throws IOException {
+        List<SchemaSummary> slowest = getSlowestSchemas(top);
+        long generationNanos = 0;
+        long annotatorNanos = 0;
+        long annotations = 0;
+        for (SchemaSummary schema : schemas) {
+            generationNanos += schema.getGenerationNanos();
+            annotatorNanos += schema.getAnnotatorNanos();
+            annotations += schema.getAnnotations();
+        }
+
+        JsonGenerator json = new JsonFactory().createGenerator(writer);
+        json.useDefaultPrettyPrinter();
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writeNumberField("schemaCount", schemas.size());
+        json.writeNumberField("generationNanos", generationNanos);
+        json.writeNumberField("annotatorNanos", annotatorNanos);
+        json.writeNumberField("annotations", annotations);
+        json.writeArrayFieldStart("slowestSchemas");
+        for (SchemaSummary schema : slowest) {
+            json.writeStartObject();
+            writeSummaryFields(json, schema);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        Map<String, List<HandlerTiming>> timingsBySchema = timings.stream()
+                .collect(Collectors.groupingBy(HandlerTiming::getSchema));
+        json.writeArrayFieldStart("schemas");
+        for (SchemaSummary schema : schemas) {
+            json.writeStartObject();
+            writeSummaryFields(json, schema);
+            json.writeArrayFieldStart("classes");
+            String className = null;
+            for (HandlerTiming timing : timingsBySchema.getOrDefault(schema.getSchema(), Collections.emptyList())) {
+                if (!timing.getClassName().equals(className)) {
+                    if (Objects.nonNull(className)) {
+                        json.writeEndArray();
+                        json.writeEndObject();
+                    }
+                    className = timing.getClassName();
+                    json.writeStartObject();
+                    json.writeStringField("class", className);
+                    json.writeArrayFieldStart("handlers");
+                }
+                json.writeStartObject();
+                json.writeStringField("handler", timing.getHandler().getMethodName());
+                json.writeNumberField("invocations", timing.getInvocations());
+                json.writeNumberField("nanos", timing.getNanos());
+                json.writeNumberField("annotations", timing.getAnnotations());
+                json.writeEndObject();
+            }
+            if (Objects.nonNull(className)) {
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.flush();
+    }
+
+    /**
+     * Write the handler timings as CSV, one row per schema, class and handler.
+     *
+     * @param writer destination, not closed
+     * @throws IOException if the report can not be written
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        for (HandlerTiming timing : timings) {
+            writer.write(csvValue(timing.getSchema()));
+            writer.write(',');
+            writer.write(csvValue(timing.getClassName()));
+            writer.write(',');
+            writer.write(timing.getHandler().getMethodName());
+            writer.write(',');
+            writer.write(Long.toString(timing.getInvocations()));
+            writer.write(',');
+            writer.write(Long.toString(timing.getNanos()));
+            writer.write(',');
+            writer.write(Long.toString(timing.getAnnotations()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static void writeSummaryFields(JsonGenerator json, SchemaSummary schema) throws IOException {
+        json.writeStringField("schema", schema.getSchema());
+        json.writeNumberField("generations", schema.getGenerations());
+        json.writeNumberField("generationNanos", schema.getGenerationNanos());
+        json.writeNumberField("annotatorNanos", schema.getAnnotatorNanos());
+        json.writeNumberField("annotations", schema.getAnnotations());
+    }
+
+    private static String csvValue(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Totals of one schema.
+     */
+    public static final class SchemaSummary {
+        private final String schema;
+        private final long generations;
+        private final long generationNanos;
+        private final long annotatorNanos;
+        private final long annotations;
+
+        SchemaSummary(String schema, long generations, long generationNanos, long annotatorNanos, long annotations) {
+            this.schema = schema;
+            this.generations = generations;
+            this.generationNanos = generationNanos;
+            this.annotatorNanos = annotatorNanos;
+            this.annotations = annotations;
+        }
+
+        /**
+         * @return name of the schema, as passed to {@link GenerationMetrics#open(String)}
+         */
+        public String getSchema() {
+            return schema;
+        }
+
+        /**
+         * @return number of times the schema was generated
+         */
+        public long getGenerations() {
+            return generations;
+        }
+
+        /**
+         * @return nanoseconds spent generating the schema
+         */
+        public long getGenerationNanos() {
+            return generationNanos;
+        }
+
+        /**
+         * @return nanoseconds spent in the instrumented handlers while generating the schema
+         */
+        public long getAnnotatorNanos() {
+            return annotatorNanos;
+        }
+
+        /**
+         * @return number of annotations emitted by the instrumented handlers
+         */
+        public long getAnnotations() {
+            return annotations;
+        }
+    }
+
+    /**
+     * Counters of one handler for one generated class of a schema.
+     */
+    public static final class HandlerTiming {
+        private final String schema;
+        private final String className;
+        private final GenerationMetrics.Handler handler;
+        private final long invocations;
+        private final long nanos;
+        private final long annotations;
+
+        HandlerTiming(String schema, String className, GenerationMetrics.Handler handler, long invocations, long nanos,
+                      long annotations) {
+            this.schema = schema;
+            this.className = className;
+            this.handler = handler;
+            this.invocations = invocations;
+            this.nanos = nanos;
+            this.annotations = annotations;
+        }
+
+        /**
+         * @return name of the schema the class was generated for
+         */
+        public String getSchema() {
+            return schema;
+        }
+
+        /**
+         * @return fully qualified name of the generated class
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return the instrumented handler
+         */
+        public GenerationMetrics.Handler getHandler() {
+            return handler;
+        }
+
+        /**
+         * @return number of invocations
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * @return cumulative nanoseconds spent in the handler
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return number of annotations emitted by the handler
+         */
+        public long getAnnotations() {
+            return annotations;
+        }
+    }
+}
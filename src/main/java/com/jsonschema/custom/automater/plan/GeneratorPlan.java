@@ -0,0 +1,172 @@
+package com.jsonschema.custom.automater.plan;
+
+import javax.persistence.GenerationType;
+
+/**
+ * Immutable, pre-resolved values of an identifier generator declared by a generatedValue keyword. Without an optimizer
+ * the generator is emitted as a {@link javax.persistence.SequenceGenerator} or {@link javax.persistence.TableGenerator},
+ * with an optimizer it is emitted as Hibernate's GenericGenerator over the enhanced sequence or table generator.
+ */
+public final class GeneratorPlan {
+    private final GenerationType type;
+    private final String name;
+    private final String sourceName;
+    private final String schema;
+    private final String catalog;
+    private final String pkColumnName;
+    private final String valueColumnName;
+    private final String pkColumnValue;
+    private final Integer initialValue;
+    private final Integer allocationSize;
+    private final String optimizer;
+
+    private GeneratorPlan(Builder builder) {
+        this.type = builder.type;
+        this.name = builder.name;
+        this.sourceName = builder.sourceName;
+        this.schema = builder.schema;
+        this.catalog = builder.catalog;
+        this.pkColumnName = builder.pkColumnName;
+        this.valueColumnName = builder.valueColumnName;
+        this.pkColumnValue = builder.pkColumnValue;
+        this.initialValue = builder.initialValue;
+        this.allocationSize = builder.allocationSize;
+        this.optimizer = builder.optimizer;
+    }
+
+    /**
+     * @return {@link GenerationType#SEQUENCE} or {@link GenerationType#TABLE}
+     */
+    public GenerationType getType() {
+        return type;
+    }
+
+    /**
+     * @return generator name referenced by the GeneratedValue annotation
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return name of the database sequence or generator table, null for the provider default
+     */
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * @return schema of the sequence or table or null if none was declared
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return catalog of the sequence or table or null if none was declared
+     */
+    public String getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * @return primary key column of a generator table or null if none was declared
+     */
+    public String getPkColumnName() {
+        return pkColumnName;
+    }
+
+    /**
+     * @return value column of a generator table or null if none was declared
+     */
+    public String getValueColumnName() {
+        return valueColumnName;
+    }
+
+    /**
+     * @return row of a generator table holding this generator's value or null if none was declared
+     */
+    public String getPkColumnValue() {
+        return pkColumnValue;
+    }
+
+    /**
+     * @return initial value or null if none was declared
+     */
+    public Integer getInitialValue() {
+        return initialValue;
+    }
+
+    /**
+     * @return number of identifiers allocated per database round trip or null for the JPA default of 50
+     */
+    public Integer getAllocationSize() {
+        return allocationSize;
+    }
+
+    /**
+     * @return Hibernate optimizer name, i.e. pooled, or null to emit the standard JPA generator
+     */
+    public String getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * Mutable collector used by the {@link PropertyPlanCompiler} while walking a generatedValue node.
+     */
+    static final class Builder {
+        private final GenerationType type;
+        private String name;
+        private String sourceName;
+        private String schema;
+        private String catalog;
+        private String pkColumnName;
+        private String valueColumnName;
+        private String pkColumnValue;
+        private Integer initialValue;
+        private Integer allocationSize;
+        private String optimizer;
+
+        Builder(GenerationType type) {
+            this.type = type;
+        }
+
+        Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        Builder sourceName(String sourceName) {
+            this.sourceName = sourceName;
+            return this;
+        }
+
+        Builder location(String schema, String catalog) {
+            this.schema = schema;
+            this.catalog = catalog;
+            return this;
+        }
+
+        Builder tableColumns(String pkColumnName, String valueColumnName, String pkColumnValue) {
+            this.pkColumnName = pkColumnName;
+            this.valueColumnName = valueColumnName;
+            this.pkColumnValue = pkColumnValue;
+            return this;
+        }
+
+        Builder sizing(Integer initialValue, Integer allocationSize) {
+            this.initialValue = initialValue;
+            this.allocationSize = allocationSize;
+            return this;
+        }
+
+        Builder optimizer(String optimizer) {
+            this.optimizer = optimizer;
+            return this;
+        }
+
+        GeneratorPlan build() {
+            return new GeneratorPlan(this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.jsonschema.custom.automater.plan;
+
+/**
+ * Immutable, pre-resolved values of a single {@link javax.persistence.Index} declared on a table or join table.
+ */
+public final class IndexPlan {
+    private final String name;
+    private final String columnList;
+    private final boolean unique;
+
+    IndexPlan(String name, String columnList, boolean unique) {
+        this.name = name;
+        this.columnList = columnList;
+        this.unique = unique;
+    }
+
+    /**
+     * @return index name or null to let the persistence provider name it
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return comma separated list of the indexed columns
+     */
+    public String getColumnList() {
+        return columnList;
+    }
+
+    /**
+     * @return true if the index is unique
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jsonschema.custom.automater.plan;
+
+/**
+ * Immutable, pre-resolved values of a single {@link javax.persistence.JoinColumn} declared in a schema joinTable.
+ */
+public final class JoinColumnPlan {
+    private final String name;
+    private final String referencedColumnName;
+
+    JoinColumnPlan(String name, String referencedColumnName) {
+        this.name = name;
+        this.referencedColumnName = referencedColumnName;
+    }
+
+    /**
+     * @return join column name or null if the schema does not declare one
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return referenced column name or null if the schema does not declare one
+     */
+    public String getReferencedColumnName() {
+        return referencedColumnName;
+    }
+}
@@ -0,0 +1,48 @@
+package com.jsonschema.custom.automater.plan;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Immutable, pre-resolved values of a {@link JsonFormat} declared on a class or property.
+ */
+public final class JsonFormatPlan {
+    private final JsonFormat.Shape shape;
+    private final String pattern;
+    private final String timezone;
+    private final String locale;
+
+    JsonFormatPlan(JsonFormat.Shape shape, String pattern, String timezone, String locale) {
+        this.shape = shape;
+        this.pattern = pattern;
+        this.timezone = timezone;
+        this.locale = locale;
+    }
+
+    /**
+     * @return shape to serialize as or null if none was declared
+     */
+    public JsonFormat.Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * @return format pattern, i.e. of a date, or null if none was declared
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return time zone or null if none was declared
+     */
+    public String getTimezone() {
+        return timezone;
+    }
+
+    /**
+     * @return locale or null if none was declared
+     */
+    public String getLocale() {
+        return locale;
+    }
+}
@@ -0,0 +1,407 @@
+package com.jsonschema.custom.automater.plan;
+
+import javax.persistence.EnumType;
+import javax.persistence.FetchType;
+import javax.persistence.GenerationType;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable annotation plan for a single schema property. The plan holds a bitmask of the keywords present on the
+ * property node along with the values of those keywords already resolved to their Java representation, so applying
+ * the plan to a generated field never has to go back to the {@link com.fasterxml.jackson.databind.JsonNode}.
+ * <p>
+ * Plans are created by the {@link PropertyPlanCompiler}.
+ */
+public final class PropertyPlan {
+    // Keyword bits
+    public static final int ID = 1;
+    public static final int GENERATED_VALUE = 1 << 1;
+    public static final int COLUMN = 1 << 2;
+    public static final int MULTIPLICITY = 1 << 3;
+    public static final int JOIN_TABLE = 1 << 4;
+    public static final int JOIN_COLUMNS = 1 << 5;
+    public static final int DESCRIPTION = 1 << 6;
+    public static final int REQUIRED = 1 << 7;
+    public static final int BATCH_SIZE = 1 << 8;
+    public static final int CACHE = 1 << 9;
+    public static final int JSON_FORMAT = 1 << 10;
+    public static final int JSON_CREATOR = 1 << 11;
+    public static final int PRIMITIVE = 1 << 12;
+    public static final int ENUMERATED = 1 << 13;
+    public static final int EMBEDDED = 1 << 14;
+    public static final int JSON_COLUMN = 1 << 15;
+    // Keyword groups
+    public static final int JPA_KEYWORDS = ID | GENERATED_VALUE | COLUMN | MULTIPLICITY | JOIN_TABLE | BATCH_SIZE | CACHE
+            | PRIMITIVE | ENUMERATED | EMBEDDED | JSON_COLUMN;
+    public static final int SPRINGFOX_KEYWORDS = DESCRIPTION | REQUIRED;
+    public static final int JACKSON_KEYWORDS = JSON_FORMAT | JSON_CREATOR;
+
+    private final int keywords;
+    private final GenerationType strategy;
+    private final String generator;
+    private final GeneratorPlan generatorPlan;
+    private final String columnName;
+    private final Integer columnLength;
+    private final Integer columnPrecision;
+    private final Integer columnScale;
+    private final Boolean columnNullable;
+    private final Boolean columnUnique;
+    private final String columnDefinition;
+    private final Class<? extends Annotation> multiplicity;
+    private final FetchType fetchType;
+    private final String joinTableName;
+    private final JoinColumnPlan joinColumn;
+    private final JoinColumnPlan inverseJoinColumn;
+    private final List<IndexPlan> joinTableIndexes;
+    private final String description;
+    private final boolean required;
+    private final int batchSize;
+    private final String cacheUsage;
+    private final String cacheRegion;
+    private final EnumType enumType;
+    private final JsonFormatPlan jsonFormat;
+    private final boolean creatorProperty;
+
+    private PropertyPlan(Builder builder) {
+        this.keywords = builder.keywords;
+        this.strategy = builder.strategy;
+        this.generator = builder.generator;
+        this.generatorPlan = builder.generatorPlan;
+        this.columnName = builder.columnName;
+        this.columnLength = builder.columnLength;
+        this.columnPrecision = builder.columnPrecision;
+        this.columnScale = builder.columnScale;
+        this.columnNullable = builder.columnNullable;
+        this.columnUnique = builder.columnUnique;
+        this.columnDefinition = builder.columnDefinition;
+        this.multiplicity = builder.multiplicity;
+        this.fetchType = builder.fetchType;
+        this.joinTableName = builder.joinTableName;
+        this.joinColumn = builder.joinColumn;
+        this.inverseJoinColumn = builder.inverseJoinColumn;
+        this.joinTableIndexes = Collections.unmodifiableList(builder.joinTableIndexes);
+        this.description = builder.description;
+        this.required = builder.required;
+        this.batchSize = builder.batchSize;
+        this.cacheUsage = builder.cacheUsage;
+        this.cacheRegion = builder.cacheRegion;
+        this.enumType = builder.enumType;
+        this.jsonFormat = builder.jsonFormat;
+        this.creatorProperty = builder.creatorProperty;
+    }
+
+    /**
+     * Determine if the plan contains the given keyword(s).
+     *
+     * @param keyword one or more keyword bits of this class
+     * @return true if any of the given keyword bits is set
+     */
+    public boolean has(int keyword) {
+        return (keywords & keyword) != 0;
+    }
+
+    /**
+     * @return bitmask of all keywords present on the property
+     */
+    public int getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * @return generated value strategy or null if none was declared
+     */
+    public GenerationType getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return generator name referenced by the generated value or null if none was declared
+     */
+    public String getGenerator() {
+        return generator;
+    }
+
+    /**
+     * @return generator declared along with the generated value or null if none was declared
+     */
+    public GeneratorPlan getGeneratorPlan() {
+        return generatorPlan;
+    }
+
+    /**
+     * @return column name or null if the column should use the JPA default name
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * @return column length or null if neither declared nor derived from maxLength
+     */
+    public Integer getColumnLength() {
+        return columnLength;
+    }
+
+    /**
+     * @return column precision or null if not declared
+     */
+    public Integer getColumnPrecision() {
+        return columnPrecision;
+    }
+
+    /**
+     * @return column scale or null if neither declared nor derived from multipleOf
+     */
+    public Integer getColumnScale() {
+        return columnScale;
+    }
+
+    /**
+     * @return column nullability or null if neither declared nor derived from required
+     */
+    public Boolean getColumnNullable() {
+        return columnNullable;
+    }
+
+    /**
+     * @return column uniqueness or null if not declared
+     */
+    public Boolean getColumnUnique() {
+        return columnUnique;
+    }
+
+    /**
+     * @return SQL fragment used to create the column, i.e. jsonb, or null if not declared
+     */
+    public String getColumnDefinition() {
+        return columnDefinition;
+    }
+
+    /**
+     * @return multiplicity annotation, i.e. OneToOne, ManyToMany, etc.
+     */
+    public Class<? extends Annotation> getMultiplicity() {
+        return multiplicity;
+    }
+
+    /**
+     * @return fetch type of the multiplicity annotation or null if none was declared
+     */
+    public FetchType getFetchType() {
+        return fetchType;
+    }
+
+    /**
+     * @return join table name or null if none was declared
+     */
+    public String getJoinTableName() {
+        return joinTableName;
+    }
+
+    /**
+     * @return join column of the join table or null if none was declared
+     */
+    public JoinColumnPlan getJoinColumn() {
+        return joinColumn;
+    }
+
+    /**
+     * @return inverse join column of the join table or null if none was declared
+     */
+    public JoinColumnPlan getInverseJoinColumn() {
+        return inverseJoinColumn;
+    }
+
+    /**
+     * @return indexes of the join table, empty if it has none
+     */
+    public List<IndexPlan> getJoinTableIndexes() {
+        return joinTableIndexes;
+    }
+
+    /**
+     * @return Swagger/Springfox description or null if none was declared
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return required flag for Swagger/Springfox documentation
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * @return number of entities or collections to load in one batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return name of the Hibernate cache concurrency strategy of the collection
+     */
+    public String getCacheUsage() {
+        return cacheUsage;
+    }
+
+    /**
+     * @return second level cache region or null to use the default region
+     */
+    public String getCacheRegion() {
+        return cacheRegion;
+    }
+
+    /**
+     * @return how an enum property is persisted or null if none was declared
+     */
+    public EnumType getEnumType() {
+        return enumType;
+    }
+
+    /**
+     * @return JsonFormat of the property or null if none was declared
+     */
+    public JsonFormatPlan getJsonFormat() {
+        return jsonFormat;
+    }
+
+    /**
+     * @return false if the property is excluded from the JsonCreator constructor of its class
+     */
+    public boolean isCreatorProperty() {
+        return creatorProperty;
+    }
+
+    /**
+     * Mutable collector used by the {@link PropertyPlanCompiler} while walking a property node.
+     */
+    static final class Builder {
+        private int keywords;
+        private GenerationType strategy;
+        private String generator;
+        private GeneratorPlan generatorPlan;
+        private String columnName;
+        private Integer columnLength;
+        private Integer columnPrecision;
+        private Integer columnScale;
+        private Boolean columnNullable;
+        private Boolean columnUnique;
+        private String columnDefinition;
+        private Class<? extends Annotation> multiplicity;
+        private FetchType fetchType;
+        private String joinTableName;
+        private JoinColumnPlan joinColumn;
+        private JoinColumnPlan inverseJoinColumn;
+        private List<IndexPlan> joinTableIndexes = Collections.emptyList();
+        private String description;
+        private boolean required;
+        private int batchSize;
+        private String cacheUsage;
+        private String cacheRegion;
+        private EnumType enumType;
+        private JsonFormatPlan jsonFormat;
+        private boolean creatorProperty = true;
+
+        Builder keyword(int keyword) {
+            this.keywords |= keyword;
+            return this;
+        }
+
+        Builder strategy(GenerationType strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        Builder generator(String generator, GeneratorPlan generatorPlan) {
+            this.generator = generator;
+            this.generatorPlan = generatorPlan;
+            return this;
+        }
+
+        Builder columnName(String columnName) {
+            this.columnName = columnName;
+            return this;
+        }
+
+        Builder columnSizing(Integer length, Integer precision, Integer scale, Boolean nullable, Boolean unique) {
+            this.columnLength = length;
+            this.columnPrecision = precision;
+            this.columnScale = scale;
+            this.columnNullable = nullable;
+            this.columnUnique = unique;
+            return this;
+        }
+
+        Builder columnDefinition(String columnDefinition) {
+            this.columnDefinition = columnDefinition;
+            return this;
+        }
+
+        Builder multiplicity(Class<? extends Annotation> multiplicity, FetchType fetchType) {
+            this.multiplicity = multiplicity;
+            this.fetchType = fetchType;
+            return keyword(MULTIPLICITY);
+        }
+
+        Builder joinTableName(String joinTableName) {
+            this.joinTableName = joinTableName;
+            return this;
+        }
+
+        Builder joinColumns(JoinColumnPlan joinColumn, JoinColumnPlan inverseJoinColumn) {
+            this.joinColumn = joinColumn;
+            this.inverseJoinColumn = inverseJoinColumn;
+            return keyword(JOIN_COLUMNS);
+        }
+
+        Builder joinTableIndexes(List<IndexPlan> joinTableIndexes) {
+            this.joinTableIndexes = joinTableIndexes;
+            return this;
+        }
+
+        Builder description(String description) {
+            this.description = description;
+            return keyword(DESCRIPTION);
+        }
+
+        Builder required(boolean required) {
+            this.required = required;
+            return keyword(REQUIRED);
+        }
+
+        Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return keyword(BATCH_SIZE);
+        }
+
+        Builder cache(String cacheUsage, String cacheRegion) {
+            this.cacheUsage = cacheUsage;
+            this.cacheRegion = cacheRegion;
+            return keyword(CACHE);
+        }
+
+        Builder enumerated(EnumType enumType) {
+            this.enumType = enumType;
+            return keyword(ENUMERATED);
+        }
+
+        Builder jsonFormat(JsonFormatPlan jsonFormat) {
+            this.jsonFormat = jsonFormat;
+            return keyword(JSON_FORMAT);
+        }
+
+        Builder creatorProperty(boolean creatorProperty) {
+            this.creatorProperty = creatorProperty;
+            return keyword(JSON_CREATOR);
+        }
+
+        PropertyPlan build() {
+            return new PropertyPlan(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.jsonschema.custom.automater.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled {@link PropertyPlan}s keyed by property node identity. JSON Schema2POJO resolves a {@code $ref}
+ * to the same node instance every time it is used, so a shared definition is only compiled once no matter how many
+ * classes reference it.
+ */
+public final class PropertyPlanCache {
+    private final Map<NodeKey, PropertyPlan> plans = new ConcurrentHashMap<>();
+    private final PropertyPlanCompiler compiler;
+
+    public PropertyPlanCache() {
+        this(new PropertyPlanCompiler());
+    }
+
+    public PropertyPlanCache(PropertyPlanCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    /**
+     * Return the plan of the given property node, compiling it on first use.
+     *
+     * @param propertyNode the schema node defining the property
+     * @return immutable annotation plan
+     */
+    public PropertyPlan get(JsonNode propertyNode) {
+        return plans.computeIfAbsent(new NodeKey(propertyNode), key -> compiler.compile(key.node));
+    }
+
+    /**
+     * @return number of compiled plans held by the cache
+     */
+    public int size() {
+        return plans.size();
+    }
+
+    /**
+     * Identity based map key, {@link JsonNode#equals(Object)} and {@link JsonNode#hashCode()} walk the whole tree.
+     */
+    private static final class NodeKey {
+        private final JsonNode node;
+        private final int hash;
+
+        private NodeKey(JsonNode node) {
+            this.node = node;
+            this.hash = System.identityHashCode(node);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof NodeKey && ((NodeKey) other).node == node;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
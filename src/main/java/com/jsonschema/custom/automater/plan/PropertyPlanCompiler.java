@@ -0,0 +1,563 @@
+package com.jsonschema.custom.automater.plan;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.jsonschema.custom.automater.doc.SpringfoxConstants;
+import com.jsonschema.custom.automater.jpa.JpaConstants;
+import com.jsonschema.custom.automater.json.JacksonConstants;
+
+import javax.persistence.EnumType;
+import javax.persistence.FetchType;
+import javax.persistence.GenerationType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Turns a schema property node into an immutable {@link PropertyPlan}. The node is walked once, only the field names
+ * actually present on it are inspected and enum values are resolved while doing so.
+ */
+public final class PropertyPlanCompiler {
+    // Multiplicity precedence when more than one is declared, lower wins
+    private static final int NO_MULTIPLICITY = Integer.MAX_VALUE;
+
+    /**
+     * Compile the plan for the given property node.
+     *
+     * @param propertyNode the schema node defining this property
+     * @return immutable annotation plan
+     */
+    public PropertyPlan compile(JsonNode propertyNode) {
+        PropertyPlan.Builder builder = new PropertyPlan.Builder();
+        JsonNode columnNode = null;
+        JsonNode columnNameNode = null;
+        JsonNode maxLengthNode = null;
+        JsonNode multipleOfNode = null;
+        JsonNode requiredNode = null;
+        boolean primitive = false;
+        boolean jsonColumn = false;
+        JsonNode multiplicityNode = null;
+        int multiplicityRank = NO_MULTIPLICITY;
+
+        Iterator<Map.Entry<String, JsonNode>> fields = propertyNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode value = entry.getValue();
+            switch (entry.getKey()) {
+                case JpaConstants.IS_ID_COLUMN:
+                    if (value.asBoolean(true)) {
+                        builder.keyword(PropertyPlan.ID);
+                    }
+                    break;
+                case JpaConstants.GENERATED_VALUE:
+                    compileGeneratedValue(builder, value);
+                    break;
+                case JpaConstants.COLUMN:
+                    columnNode = value;
+                    break;
+                case JpaConstants.COLUMN_NAME:
+                    columnNameNode = value;
+                    break;
+                case JpaConstants.MAX_LENGTH:
+                    maxLengthNode = value;
+                    break;
+                case JpaConstants.MULTIPLE_OF:
+                    multipleOfNode = value;
+                    break;
+                case JpaConstants.ONE_TO_ONE:
+                case JpaConstants.MANY_TO_MANY:
+                case JpaConstants.ONE_TO_MANY:
+                case JpaConstants.MANY_TO_ONE:
+                    int rank = multiplicityRank(entry.getKey());
+                    if (rank < multiplicityRank) {
+                        multiplicityRank = rank;
+                        multiplicityNode = value;
+                    }
+                    break;
+                case JpaConstants.JOIN_TABLE:
+                    compileJoinTable(builder, value);
+                    break;
+                case JpaConstants.BATCH_SIZE:
+                    builder.batchSize(compileBatchSize(value));
+                    break;
+                case JpaConstants.CACHE:
+                    builder.cache(compileCacheUsage(value), value.has(JpaConstants.REGION) ? value.get(JpaConstants.REGION).asText() : null);
+                    break;
+                case SpringfoxConstants.API_MODEL_DESC:
+                    builder.description(value.asText());
+                    break;
+                case SpringfoxConstants.REQUIRED:
+                    requiredNode = value;
+                    builder.required(value.asBoolean(false));
+                    break;
+                case JacksonConstants.JSON_FORMAT:
+                    builder.jsonFormat(compileJsonFormat(value));
+                    break;
+                case JacksonConstants.JSON_CREATOR:
+                    builder.creatorProperty(value.asBoolean(true));
+                    break;
+                case JpaConstants.PRIMITIVE:
+                    primitive = value.asBoolean(false);
+                    break;
+                case JpaConstants.ENUMERATED:
+                    builder.enumerated(compileEnumType(value));
+                    break;
+                case JpaConstants.EMBEDDABLE:
+                    if (value.asBoolean(false)) {
+                        builder.keyword(PropertyPlan.EMBEDDED);
+                    }
+                    break;
+                case JpaConstants.JSON_COLUMN:
+                    jsonColumn = value.asBoolean(false);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (Objects.nonNull(columnNode)) {
+            builder.keyword(PropertyPlan.COLUMN);
+            if (Objects.nonNull(columnNameNode)) {
+                builder.columnName(columnNameNode.asText());
+            } else if (columnNode.isObject()) {
+                if (columnNode.has(JpaConstants.NAME)) {
+                    builder.columnName(columnNode.get(JpaConstants.NAME).asText());
+                }
+            } else if (!columnNode.isBoolean()) {
+                builder.columnName(columnNode.asText());
+            }
+            compileColumnSizing(builder, columnNode, maxLengthNode, multipleOfNode, requiredNode);
+        }
+        if (primitive) {
+            compilePrimitive(builder, columnNode, requiredNode);
+        }
+        if (Objects.nonNull(multiplicityNode)) {
+            FetchType fetchType = multiplicityNode.has(JpaConstants.FETCH)
+                    ? FetchType.valueOf(multiplicityNode.get(JpaConstants.FETCH).asText()) : null;
+            switch (multiplicityRank) {
+                case 0:
+                    builder.multiplicity(OneToOne.class, fetchType);
+                    break;
+                case 1:
+                    builder.multiplicity(ManyToMany.class, fetchType);
+                    break;
+                case 2:
+                    builder.multiplicity(OneToMany.class, fetchType);
+                    break;
+                default:
+                    builder.multiplicity(ManyToOne.class, fetchType);
+                    break;
+            }
+        }
+        if (!jsonColumn) {
+            return builder.build();
+        }
+        PropertyPlan plan = builder.keyword(PropertyPlan.JSON_COLUMN).build();
+        validateJsonColumn(plan);
+        return plan;
+    }
+
+    /**
+     * Check that a jsonColumn property is not also mapped in another way. The whole value is stored in a single
+     * column, so it can neither be an association, an embedded value, an enum nor an identifier.
+     *
+     * @param plan compiled plan of the property
+     */
+    private static void validateJsonColumn(PropertyPlan plan) {
+        if (plan.has(PropertyPlan.MULTIPLICITY | PropertyPlan.JOIN_TABLE)) {
+            throw new IllegalArgumentException(JpaConstants.JSON_COLUMN + " properties are stored in a single column "
+                    + "and can not declare a multiplicity or " + JpaConstants.JOIN_TABLE);
+        }
+        if (plan.has(PropertyPlan.EMBEDDED | PropertyPlan.ENUMERATED | PropertyPlan.PRIMITIVE | PropertyPlan.ID)) {
+            throw new IllegalArgumentException(JpaConstants.JSON_COLUMN + " can not be combined with "
+                    + JpaConstants.EMBEDDABLE + ", " + JpaConstants.ENUMERATED + ", " + JpaConstants.PRIMITIVE
+                    + " or " + JpaConstants.IS_ID_COLUMN);
+        }
+    }
+
+    /**
+     * Process the generatedValue node, resolving the {@link GenerationType} strategy and the sequence or table generator
+     * if declared. The strategy defaults to the type of the declared generator and the generator name to the name of
+     * its sequence or table.
+     *
+     * @param builder            plan under construction
+     * @param generatedValueNode the generatedValue schema node
+     */
+    private void compileGeneratedValue(PropertyPlan.Builder builder, JsonNode generatedValueNode) {
+        builder.keyword(PropertyPlan.GENERATED_VALUE);
+        GenerationType strategy = null;
+        if (generatedValueNode.has(JpaConstants.STRATEGY)) {
+            strategy = GenerationType.valueOf(generatedValueNode.get(JpaConstants.STRATEGY).asText());
+        }
+
+        GeneratorPlan generatorPlan = null;
+        if (generatedValueNode.has(JpaConstants.SEQUENCE) && generatedValueNode.has(JpaConstants.TABLE)) {
+            throw new IllegalArgumentException(JpaConstants.GENERATED_VALUE + " can not declare both a "
+                    + JpaConstants.SEQUENCE + " and a " + JpaConstants.TABLE + " generator");
+        } else if (generatedValueNode.has(JpaConstants.SEQUENCE)) {
+            generatorPlan = compileGenerator(generatedValueNode, generatedValueNode.get(JpaConstants.SEQUENCE), GenerationType.SEQUENCE);
+        } else if (generatedValueNode.has(JpaConstants.TABLE)) {
+            generatorPlan = compileGenerator(generatedValueNode, generatedValueNode.get(JpaConstants.TABLE), GenerationType.TABLE);
+        }
+
+        String generator = generatedValueNode.has(JpaConstants.GENERATOR) ? generatedValueNode.get(JpaConstants.GENERATOR).asText() : null;
+        if (Objects.nonNull(generatorPlan)) {
+            if (Objects.isNull(strategy)) {
+                strategy = generatorPlan.getType();
+            } else if (strategy != generatorPlan.getType()) {
+                throw new IllegalArgumentException("Strategy " + strategy + " does not use the declared "
+                        + generatorPlan.getType() + " generator " + generatorPlan.getName());
+            }
+            generator = generatorPlan.getName();
+        }
+
+        if (generatedValueNode.path(JpaConstants.BATCH_INSERTS).asBoolean(false)) {
+            validateBatchInserts(strategy, generator, generatorPlan);
+        }
+        builder.strategy(strategy);
+        builder.generator(generator, generatorPlan);
+    }
+
+    /**
+     * Process a sequence or table generator node, i.e. {"sequenceName": "order_seq", "allocationSize": 50}.
+     *
+     * @param generatedValueNode the generatedValue schema node
+     * @param generatorNode      the sequence or table schema node
+     * @param type               {@link GenerationType#SEQUENCE} or {@link GenerationType#TABLE}
+     * @return resolved generator
+     */
+    private static GeneratorPlan compileGenerator(JsonNode generatedValueNode, JsonNode generatorNode, GenerationType type) {
+        String sourceKey = type == GenerationType.SEQUENCE ? JpaConstants.SEQUENCE_NAME : JpaConstants.TABLE;
+        String sourceName = textOrNull(generatorNode, sourceKey);
+        String name = textOrNull(generatedValueNode, JpaConstants.GENERATOR);
+        if (Objects.isNull(name)) {
+            name = sourceName;
+        }
+        if (Objects.isNull(name) || name.isEmpty()) {
+            throw new IllegalArgumentException(type + " generator requires a " + JpaConstants.GENERATOR + " or " + sourceKey);
+        }
+
+        Integer allocationSize = compileSize(generatorNode, JpaConstants.ALLOCATION_SIZE);
+        if (Objects.nonNull(allocationSize) && allocationSize < 1) {
+            throw new IllegalArgumentException(JpaConstants.ALLOCATION_SIZE + " must be positive but was " + allocationSize);
+        }
+        String optimizer = textOrNull(generatorNode, JpaConstants.OPTIMIZER);
+        if (Objects.nonNull(optimizer) && !JpaConstants.OPTIMIZERS.contains(optimizer)) {
+            throw new IllegalArgumentException("Unknown " + JpaConstants.OPTIMIZER + " " + optimizer
+                    + ", expected one of " + JpaConstants.OPTIMIZERS);
+        }
+
+        return new GeneratorPlan.Builder(type)
+                .name(name)
+                .sourceName(sourceName)
+                .location(textOrNull(generatorNode, JpaConstants.SCHEMA), textOrNull(generatorNode, JpaConstants.CATALOG))
+                .tableColumns(textOrNull(generatorNode, JpaConstants.PK_COLUMN_NAME),
+                        textOrNull(generatorNode, JpaConstants.VALUE_COLUMN_NAME),
+                        textOrNull(generatorNode, JpaConstants.PK_COLUMN_VALUE))
+                .sizing(compileSize(generatorNode, JpaConstants.INITIAL_VALUE), allocationSize)
+                .optimizer(optimizer)
+                .build();
+    }
+
+    /**
+     * Check that identifiers are allocated in a way that lets Hibernate batch the inserts of the entity. IDENTITY
+     * columns are only known after each insert, which turns JDBC batching off, and generators that hand out a single
+     * identifier per round trip cost one extra statement per row.
+     *
+     * @param strategy      resolved generation strategy, can be null
+     * @param generator     generator name, can be null
+     * @param generatorPlan declared generator, can be null
+     */
+    private static void validateBatchInserts(GenerationType strategy, String generator, GeneratorPlan generatorPlan) {
+        if (strategy == GenerationType.IDENTITY) {
+            throw new IllegalArgumentException(JpaConstants.BATCH_INSERTS + " can not be used with the IDENTITY strategy, "
+                    + "identity columns disable JDBC insert batching. Declare a " + JpaConstants.SEQUENCE + " or "
+                    + JpaConstants.TABLE + " generator instead");
+        }
+        if (Objects.isNull(generator)) {
+            throw new IllegalArgumentException(JpaConstants.BATCH_INSERTS + " requires a " + JpaConstants.SEQUENCE + " or "
+                    + JpaConstants.TABLE + " generator, the provider default may resolve to IDENTITY or allocate one value at a time");
+        }
+        if (Objects.nonNull(generatorPlan)) {
+            if (Objects.nonNull(generatorPlan.getAllocationSize()) && generatorPlan.getAllocationSize() <= 1) {
+                throw new IllegalArgumentException(JpaConstants.BATCH_INSERTS + " requires an " + JpaConstants.ALLOCATION_SIZE
+                        + " greater than 1 on generator " + generatorPlan.getName());
+            }
+            if ("none".equals(generatorPlan.getOptimizer())) {
+                throw new IllegalArgumentException(JpaConstants.BATCH_INSERTS + " requires a pooling "
+                        + JpaConstants.OPTIMIZER + " on generator " + generatorPlan.getName());
+            }
+        }
+    }
+
+    private static String textOrNull(JsonNode node, String key) {
+        return node.has(key) ? node.get(key).asText() : null;
+    }
+
+    /**
+     * Process the primitive keyword. Only required properties can be primitive, as a primitive field can not hold the
+     * null of a missing value, and their column is mapped as not nullable.
+     *
+     * @param builder      plan under construction
+     * @param columnNode   the column schema node, can be null
+     * @param requiredNode the required schema node, can be null
+     */
+    private void compilePrimitive(PropertyPlan.Builder builder, JsonNode columnNode, JsonNode requiredNode) {
+        if (Objects.isNull(requiredNode) || !requiredNode.asBoolean(false)) {
+            throw new IllegalArgumentException(JpaConstants.PRIMITIVE + " properties must be " + SpringfoxConstants.REQUIRED);
+        }
+        if (Objects.isNull(columnNode)) {
+            builder.keyword(PropertyPlan.COLUMN).columnSizing(null, null, null, false, null);
+        } else if (columnNode.path(JpaConstants.NULLABLE).asBoolean(false)) {
+            throw new IllegalArgumentException(JpaConstants.PRIMITIVE + " properties can not map to a nullable column");
+        }
+        builder.keyword(PropertyPlan.PRIMITIVE);
+    }
+
+    /**
+     * Resolve an enumerated keyword, i.e. "ORDINAL".
+     *
+     * @param enumeratedNode the enumerated schema node
+     * @return how the enum is persisted
+     */
+    private static EnumType compileEnumType(JsonNode enumeratedNode) {
+        try {
+            return EnumType.valueOf(enumeratedNode.asText());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(JpaConstants.ENUMERATED + " must be one of "
+                    + Arrays.toString(EnumType.values()) + " but was " + enumeratedNode, e);
+        }
+    }
+
+    /**
+     * Process the column sizing values and the column definition. Values declared on an object column node win,
+     * otherwise the length is derived from maxLength, the scale from multipleOf and the nullability from required.
+     *
+     * @param builder        plan under construction
+     * @param columnNode     the column schema node
+     * @param maxLengthNode  the maxLength schema node, can be null
+     * @param multipleOfNode the multipleOf schema node, can be null
+     * @param requiredNode   the required schema node, can be null
+     */
+    private void compileColumnSizing(PropertyPlan.Builder builder, JsonNode columnNode, JsonNode maxLengthNode,
+                                     JsonNode multipleOfNode, JsonNode requiredNode) {
+        JsonNode sizingNode = columnNode.isObject() ? columnNode : MissingNode.getInstance();
+
+        Integer length = compileSize(sizingNode, JpaConstants.LENGTH);
+        if (Objects.isNull(length) && Objects.nonNull(maxLengthNode) && maxLengthNode.canConvertToInt()) {
+            length = maxLengthNode.asInt();
+        }
+        Integer scale = compileSize(sizingNode, JpaConstants.SCALE);
+        if (Objects.isNull(scale) && Objects.nonNull(multipleOfNode) && multipleOfNode.isNumber()) {
+            int derivedScale = multipleOfNode.decimalValue().stripTrailingZeros().scale();
+            scale = derivedScale > 0 ? derivedScale : null;
+        }
+        Boolean nullable = null;
+        if (sizingNode.has(JpaConstants.NULLABLE)) {
+            nullable = sizingNode.get(JpaConstants.NULLABLE).asBoolean(true);
+        } else if (Objects.nonNull(requiredNode) && requiredNode.asBoolean(false)) {
+            nullable = false;
+        }
+        Boolean unique = sizingNode.has(JpaConstants.UNIQUE) ? sizingNode.get(JpaConstants.UNIQUE).asBoolean(false) : null;
+
+        builder.columnSizing(length, compileSize(sizingNode, JpaConstants.PRECISION), scale, nullable, unique);
+        builder.columnDefinition(textOrNull(sizingNode, JpaConstants.COLUMN_DEFINITION));
+    }
+
+    /**
+     * Read a non-negative size value of a column or generator.
+     *
+     * @param sizingNode object column or generator schema node
+     * @param key        size key, i.e. length, scale or allocationSize
+     * @return the size or null if not declared
+     */
+    private static Integer compileSize(JsonNode sizingNode, String key) {
+        if (!sizingNode.has(key)) {
+            return null;
+        }
+        JsonNode sizeNode = sizingNode.get(key);
+        if (!sizeNode.canConvertToInt() || sizeNode.asInt() < 0) {
+            throw new IllegalArgumentException(key + " must be a non-negative integer but was " + sizeNode);
+        }
+        return sizeNode.asInt();
+    }
+
+    /**
+     * Resolve index declarations, i.e. [{"name": "idx_foo", "columnList": "foo, bar", "unique": true}]. The column
+     * list can also be given as an array of column names.
+     *
+     * @param indexesNode array of index schema nodes
+     * @return resolved indexes
+     */
+    public static List<IndexPlan> compileIndexes(JsonNode indexesNode) {
+        if (!indexesNode.isArray()) {
+            throw new IllegalArgumentException(JpaConstants.INDEXES + " must be an array but was " + indexesNode);
+        }
+        List<IndexPlan> indexes = new ArrayList<>(indexesNode.size());
+        for (JsonNode indexNode : indexesNode) {
+            String columnList = joinNames(indexNode.path(JpaConstants.COLUMN_LIST));
+            if (columnList.isEmpty()) {
+                throw new IllegalArgumentException("index " + JpaConstants.COLUMN_LIST + " must not be empty in " + indexNode);
+            }
+            String name = indexNode.has(JpaConstants.NAME) ? indexNode.get(JpaConstants.NAME).asText() : null;
+            indexes.add(new IndexPlan(name, columnList, indexNode.path(JpaConstants.UNIQUE).asBoolean(false)));
+        }
+        return indexes;
+    }
+
+    /**
+     * Join a column list given as text or array of names into the comma separated JPA form.
+     *
+     * @param namesNode text or array schema node
+     * @return comma separated names, empty if there are none
+     */
+    private static String joinNames(JsonNode namesNode) {
+        if (!namesNode.isArray()) {
+            return namesNode.asText().trim();
+        }
+        StringBuilder names = new StringBuilder();
+        for (JsonNode nameNode : namesNode) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(nameNode.asText());
+        }
+        return names.toString();
+    }
+
+    /**
+     * Process the joinTable node. Join columns are only taken into account when joinColumns is declared, the inverse
+     * join columns are optional.
+     *
+     * @param builder       plan under construction
+     * @param joinTableNode the joinTable schema node
+     */
+    private void compileJoinTable(PropertyPlan.Builder builder, JsonNode joinTableNode) {
+        builder.keyword(PropertyPlan.JOIN_TABLE);
+        if (joinTableNode.has(JpaConstants.NAME)) {
+            builder.joinTableName(joinTableNode.get(JpaConstants.NAME).asText());
+        }
+        if (joinTableNode.has(JpaConstants.JOIN_COLUMNS)) {
+            JoinColumnPlan joinColumn = compileJoinColumn(joinTableNode.get(JpaConstants.JOIN_COLUMNS));
+            JoinColumnPlan inverseJoinColumn = compileJoinColumn(joinTableNode.get(JpaConstants.INVERSE_JOIN_COLUMNS));
+            builder.joinColumns(joinColumn, inverseJoinColumn);
+            // Foreign keys of the join table are indexed unless the indexes are declared explicitly
+            if (joinTableNode.has(JpaConstants.INDEXES)) {
+                builder.joinTableIndexes(compileIndexes(joinTableNode.get(JpaConstants.INDEXES)));
+            } else {
+                builder.joinTableIndexes(deriveJoinColumnIndexes(joinColumn, inverseJoinColumn));
+            }
+        }
+    }
+
+    /**
+     * Index every named join column of a join table.
+     *
+     * @param joinColumns join columns, null entries are skipped
+     * @return one index per named join column
+     */
+    private static List<IndexPlan> deriveJoinColumnIndexes(JoinColumnPlan... joinColumns) {
+        List<IndexPlan> indexes = new ArrayList<>(joinColumns.length);
+        for (JoinColumnPlan joinColumn : joinColumns) {
+            if (Objects.nonNull(joinColumn) && Objects.nonNull(joinColumn.getName()) && !joinColumn.getName().isEmpty()) {
+                indexes.add(new IndexPlan(null, joinColumn.getName(), false));
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Process a join column node.
+     *
+     * @param joinColumnNode join column schema node, can be null
+     * @return join column plan or null if the node does not exist
+     */
+    private JoinColumnPlan compileJoinColumn(JsonNode joinColumnNode) {
+        if (Objects.isNull(joinColumnNode)) {
+            return null;
+        }
+        String name = joinColumnNode.has(JpaConstants.NAME)
+                ? joinColumnNode.get(JpaConstants.NAME).asText() : null;
+        String referencedColumnName = joinColumnNode.has(JpaConstants.REFERENCED_COLUMN_NAME)
+                ? joinColumnNode.get(JpaConstants.REFERENCED_COLUMN_NAME).asText() : null;
+        return new JoinColumnPlan(name, referencedColumnName);
+    }
+
+    /**
+     * Resolve a batchSize keyword, either a plain number or an object holding the size.
+     *
+     * @param batchSizeNode the batchSize schema node
+     * @return positive batch size
+     */
+    public static int compileBatchSize(JsonNode batchSizeNode) {
+        JsonNode sizeNode = batchSizeNode.isObject() ? batchSizeNode.path(JpaConstants.SIZE) : batchSizeNode;
+        if (!sizeNode.canConvertToInt() || sizeNode.asInt() < 1) {
+            throw new IllegalArgumentException("batchSize must be a positive integer but was " + batchSizeNode);
+        }
+        return sizeNode.asInt();
+    }
+
+    /**
+     * Resolve the cache concurrency strategy of a cache keyword, i.e. {"usage": "READ_WRITE"}.
+     *
+     * @param cacheNode the cache schema node
+     * @return name of the Hibernate cache concurrency strategy
+     */
+    public static String compileCacheUsage(JsonNode cacheNode) {
+        String usage = cacheNode.path(JpaConstants.USAGE).asText();
+        if (!JpaConstants.CACHE_CONCURRENCY_STRATEGIES.contains(usage)) {
+            throw new IllegalArgumentException("cache usage must be one of " + JpaConstants.CACHE_CONCURRENCY_STRATEGIES
+                    + " but was " + cacheNode.path(JpaConstants.USAGE));
+        }
+        return usage;
+    }
+
+    /**
+     * Resolve a jsonFormat keyword, either the name of a {@link JsonFormat.Shape} or an object holding the shape,
+     * pattern, timezone and locale.
+     *
+     * @param jsonFormatNode the jsonFormat schema node
+     * @return resolved format
+     */
+    public static JsonFormatPlan compileJsonFormat(JsonNode jsonFormatNode) {
+        JsonNode shapeNode = jsonFormatNode.isObject() ? jsonFormatNode.path(JacksonConstants.SHAPE) : jsonFormatNode;
+        JsonFormat.Shape shape = null;
+        if (!shapeNode.isMissingNode()) {
+            try {
+                shape = JsonFormat.Shape.valueOf(shapeNode.asText());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("jsonFormat shape must be one of "
+                        + Arrays.toString(JsonFormat.Shape.values()) + " but was " + shapeNode, e);
+            }
+        }
+        return new JsonFormatPlan(shape, textOrNull(jsonFormatNode, JacksonConstants.PATTERN),
+                textOrNull(jsonFormatNode, JacksonConstants.TIMEZONE), textOrNull(jsonFormatNode, JacksonConstants.LOCALE));
+    }
+
+    /**
+     * Precedence of the multiplicity keywords, mirrors the order they have always been checked in.
+     *
+     * @param keyword multiplicity keyword
+     * @return rank of the keyword, lower wins
+     */
+    private static int multiplicityRank(String keyword) {
+        switch (keyword) {
+            case JpaConstants.ONE_TO_ONE:
+                return 0;
+            case JpaConstants.MANY_TO_MANY:
+                return 1;
+            case JpaConstants.ONE_TO_MANY:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+}
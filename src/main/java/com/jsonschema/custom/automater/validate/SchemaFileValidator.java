@@ -0,0 +1,913 @@
+package com.jsonschema.custom.automater.validate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.jsonschema.custom.automater.doc.SpringfoxConstants;
+import com.jsonschema.custom.automater.jpa.JpaConstants;
+import com.jsonschema.custom.automater.json.JacksonConstants;
+import com.jsonschema.custom.automater.keyword.KeywordHandler;
+import com.jsonschema.custom.automater.keyword.KeywordHandlerRegistry;
+
+import javax.lang.model.SourceVersion;
+import javax.persistence.EnumType;
+import javax.persistence.FetchType;
+import javax.persistence.GenerationType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validates one schema document in a single pass over the tokens of the Jackson streaming parser. Only the values of
+ * the keywords interpreted by the annotators are read as trees, they are tiny compared to the schema around them.
+ * Every problem is collected, validation only stops early if the document is not well-formed JSON.
+ * <p>
+ * The checks mirror what the {@link com.jsonschema.custom.automater.plan.PropertyPlanCompiler} and the
+ * {@link com.jsonschema.custom.automater.AnnotatorAutomator} reject during generation, and additionally report values
+ * they silently ignore, i.e. unknown members of a keyword object or a second multiplicity. Instances hold the state of
+ * a single document and are not thread safe.
+ * <p>
+ * Keywords of the registered {@link KeywordHandler}s are read as trees as well and passed to
+ * {@link KeywordHandler#validate(String, JsonNode)}.
+ *
+ * @author Jack Phillips
+ */
+final class SchemaFileValidator {
+    // Keywords interpreted by the annotators, every other object member of a schema node is walked as a schema
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            JpaConstants.ENTITY, JpaConstants.TABLE, JpaConstants.EMBEDDABLE, JpaConstants.CACHEABLE,
+            JpaConstants.CACHE, JpaConstants.BATCH_SIZE, JpaConstants.NAMED_ENTITY_GRAPHS, JpaConstants.IS_ID_COLUMN,
+            JpaConstants.GENERATED_VALUE, JpaConstants.COLUMN, JpaConstants.COLUMN_NAME, JpaConstants.PRIMITIVE,
+            JpaConstants.ENUMERATED, JpaConstants.ONE_TO_ONE, JpaConstants.MANY_TO_MANY, JpaConstants.ONE_TO_MANY,
+            JpaConstants.MANY_TO_ONE, JpaConstants.JOIN_TABLE, JpaConstants.JSON_COLUMN, JpaConstants.PROJECTIONS,
+            SpringfoxConstants.REQUIRED,
+            SpringfoxConstants.IGNORE_UNKNOWN, SpringfoxConstants.IGNORE_PROPERTIES, JacksonConstants.JSON_FORMAT,
+            JacksonConstants.JSON_CREATOR));
+    // Multiplicity keywords in order of precedence, the first declared one is generated
+    private static final List<String> MULTIPLICITIES = Arrays.asList(
+            JpaConstants.ONE_TO_ONE, JpaConstants.MANY_TO_MANY, JpaConstants.ONE_TO_MANY, JpaConstants.MANY_TO_ONE);
+    // Keywords mapping a property in a way that excludes storing it as a JSON column
+    private static final List<String> JSON_COLUMN_CONFLICTS = Arrays.asList(JpaConstants.JOIN_TABLE,
+            JpaConstants.EMBEDDABLE, JpaConstants.ENUMERATED, JpaConstants.PRIMITIVE, JpaConstants.IS_ID_COLUMN);
+    // JSON Schema keywords mapping names to schemas, their member names are not keywords
+    private static final Set<String> SCHEMA_MAPS = new HashSet<>(Arrays.asList(
+            "properties", "patternProperties", "definitions", "dependencies"));
+    // JSON Schema keywords holding instance data rather than schemas
+    private static final Set<String> DATA = new HashSet<>(Arrays.asList("enum", "default", "examples", "const"));
+    // Keywords that can give a property an enum type
+    private static final Set<String> TYPE_SOURCES = new HashSet<>(Arrays.asList(
+            "enum", "$ref", "javaType", "existingJavaType"));
+
+    // Members of the keyword objects
+    private static final Set<String> TABLE_MEMBERS = members(
+            JpaConstants.TABLE_NAME, JpaConstants.INDEXES, JpaConstants.UNIQUE_CONSTRAINTS);
+    private static final Set<String> INDEX_MEMBERS = members(
+            JpaConstants.NAME, JpaConstants.COLUMN_LIST, JpaConstants.UNIQUE);
+    private static final Set<String> UNIQUE_CONSTRAINT_MEMBERS = members(JpaConstants.NAME, JpaConstants.COLUMN_NAMES);
+    private static final Set<String> COLUMN_MEMBERS = members(JpaConstants.NAME, JpaConstants.LENGTH,
+            JpaConstants.PRECISION, JpaConstants.SCALE, JpaConstants.NULLABLE, JpaConstants.UNIQUE,
+            JpaConstants.COLUMN_DEFINITION);
+    private static final Set<String> GENERATED_VALUE_MEMBERS = members(JpaConstants.STRATEGY, JpaConstants.GENERATOR,
+            JpaConstants.SEQUENCE, JpaConstants.TABLE, JpaConstants.BATCH_INSERTS);
+    private static final Set<String> SEQUENCE_MEMBERS = members(JpaConstants.SEQUENCE_NAME, JpaConstants.SCHEMA,
+            JpaConstants.CATALOG, JpaConstants.INITIAL_VALUE, JpaConstants.ALLOCATION_SIZE, JpaConstants.OPTIMIZER);
+    private static final Set<String> TABLE_GENERATOR_MEMBERS = members(JpaConstants.TABLE, JpaConstants.SCHEMA,
+            JpaConstants.CATALOG, JpaConstants.PK_COLUMN_NAME, JpaConstants.VALUE_COLUMN_NAME,
+            JpaConstants.PK_COLUMN_VALUE, JpaConstants.INITIAL_VALUE, JpaConstants.ALLOCATION_SIZE,
+            JpaConstants.OPTIMIZER);
+    private static final Set<String> MULTIPLICITY_MEMBERS = members(JpaConstants.FETCH);
+    private static final Set<String> JOIN_TABLE_MEMBERS = members(JpaConstants.NAME, JpaConstants.JOIN_COLUMNS,
+            JpaConstants.INVERSE_JOIN_COLUMNS, JpaConstants.INDEXES);
+    private static final Set<String> JOIN_COLUMN_MEMBERS = members(JpaConstants.NAME, JpaConstants.REFERENCED_COLUMN_NAME);
+    private static final Set<String> BATCH_SIZE_MEMBERS = members(JpaConstants.SIZE);
+    private static final Set<String> CACHE_MEMBERS = members(JpaConstants.USAGE, JpaConstants.REGION);
+    private static final Set<String> ENTITY_GRAPH_MEMBERS = members(JpaConstants.NAME, JpaConstants.ATTRIBUTE_NODES,
+            JpaConstants.SUBGRAPHS, JpaConstants.INCLUDE_ALL_ATTRIBUTES);
+    private static final Set<String> SUBGRAPH_MEMBERS = members(JpaConstants.NAME, JpaConstants.ATTRIBUTE_NODES);
+    private static final Set<String> ATTRIBUTE_NODE_MEMBERS = members(JpaConstants.NAME, JpaConstants.SUBGRAPH);
+    private static final Set<String> PROJECTION_MEMBERS = members(JpaConstants.NAME, JpaConstants.PROPERTIES);
+    private static final Set<String> JSON_FORMAT_MEMBERS = members(JacksonConstants.SHAPE, JacksonConstants.PATTERN,
+            JacksonConstants.TIMEZONE, JacksonConstants.LOCALE);
+
+    // Enum constants accepted by the keywords
+    private static final List<String> GENERATION_TYPES = names(GenerationType.values());
+    private static final List<String> FETCH_TYPES = names(FetchType.values());
+    private static final List<String> ENUM_TYPES = names(EnumType.values());
+    private static final List<String> SHAPES = names(JsonFormat.Shape.values());
+
+    // Maximum edit distance of a misspelled value to the suggested one
+    private static final int MAX_SUGGESTION_DISTANCE = 2;
+
+    private final String source;
+    private final KeywordHandlerRegistry keywordHandlers;
+    private final List<String> path = new ArrayList<>();
+    private final List<ValidationError> errors = new ArrayList<>();
+    // Location of the keyword being validated, problems nested in its value are reported at the keyword
+    private JsonLocation keywordLocation;
+
+    /**
+     * @param source          location of the schema, used in the reported errors
+     * @param keywordHandlers handlers of the custom keywords to validate
+     */
+    SchemaFileValidator(String source, KeywordHandlerRegistry keywordHandlers) {
+        this.source = source;
+        this.keywordHandlers = keywordHandlers;
+    }
+
+    /**
+     * Validate the document of the parser.
+     *
+     * @param parser parser positioned before the document, with an object codec to read keyword values
+     * @return every problem found, ordered by location
+     * @throws IOException if the document can not be read
+     */
+    List<ValidationError> validate(JsonParser parser) throws IOException {
+        try {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                walkSchema(parser);
+            } else {
+                keywordLocation = parser.getTokenLocation();
+                error("", "schema must be a JSON object");
+            }
+        } catch (JsonProcessingException e) {
+            keywordLocation = e.getLocation();
+            error("", e.getOriginalMessage());
+        }
+        errors.sort(Comparator.comparingInt(ValidationError::getLine).thenComparingInt(ValidationError::getColumn));
+        return errors;
+    }
+
+    /**
+     * Walk a schema node, the parser is positioned on its start. Keyword values are validated as they are read,
+     * combinations of keywords once the node is complete.
+     */
+    private void walkSchema(JsonParser parser) throws IOException {
+        Map<String, Keyword> keywords = null;
+        boolean typed = false;
+        Set<String> properties = Collections.emptySet();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonLocation location = parser.getTokenLocation();
+            JsonToken token = parser.nextToken();
+            boolean keyword = KEYWORDS.contains(name);
+            List<KeywordHandler> handlers = keywordHandlers.getHandlers(name);
+            if (keyword || !handlers.isEmpty()) {
+                JsonNode value = parser.readValueAsTree();
+                if (Objects.isNull(value)) {
+                    value = NullNode.getInstance();
+                }
+                keywordLocation = location;
+                if (keyword) {
+                    if (Objects.isNull(keywords)) {
+                        keywords = new HashMap<>();
+                    }
+                    keywords.put(name, new Keyword(value, location));
+                    validateKeyword(name, value);
+                }
+                validateCustomKeyword(name, value, handlers);
+                continue;
+            }
+
+            typed |= TYPE_SOURCES.contains(name);
+            path.add(name);
+            if (DATA.contains(name)) {
+                parser.skipChildren();
+            } else if (token == JsonToken.START_OBJECT) {
+                if (JpaConstants.PROPERTIES.equals(name)) {
+                    properties = walkSchemaMap(parser);
+                } else if (SCHEMA_MAPS.contains(name)) {
+                    walkSchemaMap(parser);
+                } else {
+                    walkSchema(parser);
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                walkSchemaArray(parser);
+            }
+            path.remove(path.size() - 1);
+        }
+        if (Objects.nonNull(keywords)) {
+            validateCombinations(keywords, typed, properties);
+        }
+    }
+
+    /**
+     * Walk the members of properties, definitions and the like, the parser is positioned on the start of the map.
+     *
+     * @return names of the members
+     */
+    private Set<String> walkSchemaMap(JsonParser parser) throws IOException {
+        Set<String> names = new HashSet<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            names.add(parser.getCurrentName());
+            path.add(parser.getCurrentName());
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                walkSchema(parser);
+            } else {
+                parser.skipChildren();
+            }
+            path.remove(path.size() - 1);
+        }
+        return names;
+    }
+
+    /**
+     * Walk the schemas of allOf, anyOf, items and the like, the parser is positioned on the start of the array.
+     */
+    private void walkSchemaArray(JsonParser parser) throws IOException {
+        int index = 0;
+        for (JsonToken token = parser.nextToken(); Objects.nonNull(token) && token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            path.add(Integer.toString(index++));
+            if (token == JsonToken.START_OBJECT) {
+                walkSchema(parser);
+            } else {
+                parser.skipChildren();
+            }
+            path.remove(path.size() - 1);
+        }
+    }
+
+    /**
+     * Let the registered handlers of a keyword validate its value.
+     */
+    private void validateCustomKeyword(String name, JsonNode value, List<KeywordHandler> handlers) {
+        for (KeywordHandler handler : handlers) {
+            try {
+                handler.validate(name, value);
+            } catch (IllegalArgumentException e) {
+                error(name, e.getMessage());
+            }
+        }
+    }
+
+    private void validateKeyword(String name, JsonNode value) {
+        switch (name) {
+            case JpaConstants.ENTITY:
+                if (!value.isBoolean() || !value.booleanValue()) {
+                    error(name, "entity must be true, the class is generated as an entity for any value but was " + value);
+                }
+                break;
+            case JpaConstants.EMBEDDABLE:
+            case JpaConstants.CACHEABLE:
+            case JpaConstants.IS_ID_COLUMN:
+            case JpaConstants.PRIMITIVE:
+            case JpaConstants.JSON_COLUMN:
+            case JacksonConstants.JSON_CREATOR:
+            case SpringfoxConstants.IGNORE_UNKNOWN:
+                requireBoolean(name, name, value);
+                break;
+            case JpaConstants.TABLE:
+                validateTable(name, value);
+                break;
+            case JpaConstants.CACHE:
+                validateCache(name, value);
+                break;
+            case JpaConstants.BATCH_SIZE:
+                validateBatchSize(name, value);
+                break;
+            case JpaConstants.NAMED_ENTITY_GRAPHS:
+                validateEntityGraphs(name, value);
+                break;
+            case JpaConstants.GENERATED_VALUE:
+                validateGeneratedValue(name, value);
+                break;
+            case JpaConstants.COLUMN:
+                validateColumn(name, value);
+                break;
+            case JpaConstants.COLUMN_NAME:
+                requireText(name, name, value);
+                break;
+            case JpaConstants.ENUMERATED:
+                requireConstant(name, name, value, ENUM_TYPES);
+                break;
+            case JpaConstants.JOIN_TABLE:
+                validateJoinTable(name, value);
+                break;
+            case JpaConstants.PROJECTIONS:
+                validateProjections(name, value);
+                break;
+            case SpringfoxConstants.REQUIRED:
+                if (!value.isBoolean() && !value.isArray()) {
+                    error(name, "required must be true, false or an array of property names but was " + value);
+                }
+                break;
+            case SpringfoxConstants.IGNORE_PROPERTIES:
+                requireNames(name, name, value);
+                break;
+            case JacksonConstants.JSON_FORMAT:
+                validateJsonFormat(name, value);
+                break;
+            default:
+                validateMultiplicity(name, value);
+                break;
+        }
+    }
+
+    /**
+     * Check the keywords of one schema node against each other.
+     *
+     * @param keywords   keywords of the node by name
+     * @param typed      true if the node declares an enum, $ref or Java type
+     * @param properties names of the properties declared by the node
+     */
+    private void validateCombinations(Map<String, Keyword> keywords, boolean typed, Set<String> properties) {
+        Keyword entity = keywords.get(JpaConstants.ENTITY);
+        Keyword embeddable = keywords.get(JpaConstants.EMBEDDABLE);
+        if (Objects.nonNull(entity) && Objects.nonNull(embeddable) && embeddable.value.asBoolean(false)) {
+            error(embeddable, JpaConstants.EMBEDDABLE, "a class can not be both an entity and embeddable");
+        }
+
+        Keyword primitive = keywords.get(JpaConstants.PRIMITIVE);
+        if (Objects.nonNull(primitive) && primitive.value.asBoolean(false)) {
+            Keyword required = keywords.get(SpringfoxConstants.REQUIRED);
+            if (Objects.isNull(required) || !required.value.asBoolean(false)) {
+                error(primitive, JpaConstants.PRIMITIVE, "primitive properties must be required");
+            }
+            Keyword column = keywords.get(JpaConstants.COLUMN);
+            if (Objects.nonNull(column) && column.value.path(JpaConstants.NULLABLE).asBoolean(false)) {
+                error(column, JpaConstants.COLUMN + "/" + JpaConstants.NULLABLE, "primitive properties can not map to a nullable column");
+            }
+        }
+
+        Keyword enumerated = keywords.get(JpaConstants.ENUMERATED);
+        if (Objects.nonNull(enumerated) && !typed) {
+            error(enumerated, JpaConstants.ENUMERATED, "enumerated requires an enum property");
+        }
+
+        Keyword generatedValue = keywords.get(JpaConstants.GENERATED_VALUE);
+        Keyword id = keywords.get(JpaConstants.IS_ID_COLUMN);
+        if (Objects.nonNull(generatedValue) && (Objects.isNull(id) || !id.value.asBoolean(true))) {
+            error(generatedValue, JpaConstants.GENERATED_VALUE, "generatedValue requires isIdColumn");
+        }
+
+        String multiplicity = null;
+        for (String candidate : MULTIPLICITIES) {
+            Keyword declared = keywords.get(candidate);
+            if (Objects.isNull(declared)) {
+                continue;
+            }
+            if (Objects.isNull(multiplicity)) {
+                multiplicity = candidate;
+            } else {
+                error(declared, candidate, "conflicting multiplicities " + multiplicity + " and " + candidate
+                        + ", only " + multiplicity + " is generated");
+            }
+        }
+        Keyword joinTable = keywords.get(JpaConstants.JOIN_TABLE);
+        if (Objects.nonNull(joinTable) && Objects.isNull(multiplicity)) {
+            error(joinTable, JpaConstants.JOIN_TABLE, "joinTable requires one of the multiplicities " + MULTIPLICITIES);
+        }
+
+        Keyword jsonColumn = keywords.get(JpaConstants.JSON_COLUMN);
+        if (Objects.nonNull(jsonColumn) && jsonColumn.value.asBoolean(false)) {
+            List<String> conflicts = new ArrayList<>();
+            for (String conflict : JSON_COLUMN_CONFLICTS) {
+                Keyword declared = keywords.get(conflict);
+                if (Objects.nonNull(declared) && (!declared.value.isBoolean() || declared.value.booleanValue())) {
+                    conflicts.add(conflict);
+                }
+            }
+            if (Objects.nonNull(multiplicity)) {
+                conflicts.add(multiplicity);
+            }
+            if (!conflicts.isEmpty()) {
+                error(jsonColumn, JpaConstants.JSON_COLUMN, "jsonColumn properties are stored in a single column and can "
+                        + "not be combined with " + conflicts);
+            }
+        }
+
+        Keyword projections = keywords.get(JpaConstants.PROJECTIONS);
+        if (Objects.nonNull(projections)) {
+            if (Objects.isNull(entity)) {
+                error(projections, JpaConstants.PROJECTIONS, "projections require an entity");
+            }
+            for (int i = 0; i < projections.value.size(); i++) {
+                JsonNode projected = projections.value.get(i).path(JpaConstants.PROPERTIES);
+                for (int j = 0; j < projected.size(); j++) {
+                    if (!properties.contains(projected.get(j).asText())) {
+                        error(projections, JpaConstants.PROJECTIONS + "/" + i + "/" + JpaConstants.PROPERTIES + "/" + j,
+                                "projection includes " + projected.get(j) + ", which is not a property of this schema"
+                                        + suggest(projected.get(j).asText(), properties));
+                    }
+                }
+            }
+        }
+    }
+
+    private void validateTable(String pointer, JsonNode table) {
+        if (!requireObject(pointer, JpaConstants.TABLE, table, TABLE_MEMBERS)) {
+            return;
+        }
+        if (table.has(JpaConstants.TABLE_NAME)) {
+            requireText(child(pointer, JpaConstants.TABLE_NAME), JpaConstants.TABLE_NAME, table.get(JpaConstants.TABLE_NAME));
+        }
+        if (table.has(JpaConstants.INDEXES)) {
+            validateIndexes(child(pointer, JpaConstants.INDEXES), table.get(JpaConstants.INDEXES));
+        }
+        if (table.has(JpaConstants.UNIQUE_CONSTRAINTS)) {
+            String constraintsPointer = child(pointer, JpaConstants.UNIQUE_CONSTRAINTS);
+            JsonNode constraints = table.get(JpaConstants.UNIQUE_CONSTRAINTS);
+            if (!constraints.isArray()) {
+                error(constraintsPointer, "uniqueConstraints must be an array but was " + constraints);
+                return;
+            }
+            for (int i = 0; i < constraints.size(); i++) {
+                String constraintPointer = child(constraintsPointer, i);
+                JsonNode constraint = constraints.get(i);
+                if (requireObject(constraintPointer, "unique constraint", constraint, UNIQUE_CONSTRAINT_MEMBERS)) {
+                    validateOptionalText(constraintPointer, constraint, JpaConstants.NAME);
+                    requireColumns(child(constraintPointer, JpaConstants.COLUMN_NAMES), JpaConstants.COLUMN_NAMES,
+                            constraint.path(JpaConstants.COLUMN_NAMES));
+                }
+            }
+        }
+    }
+
+    private void validateIndexes(String pointer, JsonNode indexes) {
+        if (!indexes.isArray()) {
+            error(pointer, "indexes must be an array but was " + indexes);
+            return;
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            String indexPointer = child(pointer, i);
+            JsonNode index = indexes.get(i);
+            if (requireObject(indexPointer, "index", index, INDEX_MEMBERS)) {
+                validateOptionalText(indexPointer, index, JpaConstants.NAME);
+                requireColumns(child(indexPointer, JpaConstants.COLUMN_LIST), JpaConstants.COLUMN_LIST,
+                        index.path(JpaConstants.COLUMN_LIST));
+                if (index.has(JpaConstants.UNIQUE)) {
+                    requireBoolean(child(indexPointer, JpaConstants.UNIQUE), JpaConstants.UNIQUE, index.get(JpaConstants.UNIQUE));
+                }
+            }
+        }
+    }
+
+    private void validateCache(String pointer, JsonNode cache) {
+        if (!requireObject(pointer, JpaConstants.CACHE, cache, CACHE_MEMBERS)) {
+            return;
+        }
+        requireConstant(child(pointer, JpaConstants.USAGE), "cache " + JpaConstants.USAGE, cache.path(JpaConstants.USAGE),
+                JpaConstants.CACHE_CONCURRENCY_STRATEGIES);
+        validateOptionalText(pointer, cache, JpaConstants.REGION);
+    }
+
+    private void validateBatchSize(String pointer, JsonNode batchSize) {
+        if (batchSize.isObject()) {
+            requireObject(pointer, JpaConstants.BATCH_SIZE, batchSize, BATCH_SIZE_MEMBERS);
+            requireSize(child(pointer, JpaConstants.SIZE), JpaConstants.BATCH_SIZE, batchSize.path(JpaConstants.SIZE), 1);
+        } else {
+            requireSize(pointer, JpaConstants.BATCH_SIZE, batchSize, 1);
+        }
+    }
+
+    private void validateProjections(String pointer, JsonNode projections) {
+        if (!projections.isArray() || projections.size() == 0) {
+            error(pointer, "projections must be a non empty array but was " + projections);
+            return;
+        }
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < projections.size(); i++) {
+            String projectionPointer = child(pointer, i);
+            JsonNode projection = projections.get(i);
+            if (!requireObject(projectionPointer, "projection", projection, PROJECTION_MEMBERS)) {
+                continue;
+            }
+            JsonNode name = projection.path(JpaConstants.NAME);
+            if (!SourceVersion.isIdentifier(name.asText()) || SourceVersion.isKeyword(name.asText())) {
+                error(child(projectionPointer, JpaConstants.NAME), "projection name must be a Java class name but was "
+                        + (name.isMissingNode() ? "missing" : name));
+            } else if (!names.add(name.asText())) {
+                error(child(projectionPointer, JpaConstants.NAME), "duplicate projection " + name.asText());
+            }
+            JsonNode properties = projection.path(JpaConstants.PROPERTIES);
+            if (!properties.isArray() || properties.size() == 0) {
+                error(child(projectionPointer, JpaConstants.PROPERTIES), "projection properties must be a non empty "
+                        + "array of property names but was " + (properties.isMissingNode() ? "missing" : properties));
+            } else {
+                requireNames(child(projectionPointer, JpaConstants.PROPERTIES), "projection properties", properties);
+            }
+        }
+    }
+
+    private void validateEntityGraphs(String pointer, JsonNode graphs) {
+        if (!graphs.isArray() || graphs.size() == 0) {
+            error(pointer, "namedEntityGraphs must be a non empty array but was " + graphs);
+            return;
+        }
+        for (int i = 0; i < graphs.size(); i++) {
+            String graphPointer = child(pointer, i);
+            JsonNode graph = graphs.get(i);
+            if (!requireObject(graphPointer, "entity graph", graph, ENTITY_GRAPH_MEMBERS)) {
+                continue;
+            }
+            validateOptionalText(graphPointer, graph, JpaConstants.NAME);
+            if (graph.has(JpaConstants.INCLUDE_ALL_ATTRIBUTES)) {
+                requireBoolean(child(graphPointer, JpaConstants.INCLUDE_ALL_ATTRIBUTES), JpaConstants.INCLUDE_ALL_ATTRIBUTES,
+                        graph.get(JpaConstants.INCLUDE_ALL_ATTRIBUTES));
+            }
+            validateAttributeNodes(graphPointer, graph);
+            if (!graph.has(JpaConstants.SUBGRAPHS)) {
+                continue;
+            }
+            String subgraphsPointer = child(graphPointer, JpaConstants.SUBGRAPHS);
+            JsonNode subgraphs = graph.get(JpaConstants.SUBGRAPHS);
+            if (!subgraphs.isArray()) {
+                error(subgraphsPointer, "subgraphs must be an array but was " + subgraphs);
+                continue;
+            }
+            for (int j = 0; j < subgraphs.size(); j++) {
+                String subgraphPointer = child(subgraphsPointer, j);
+                JsonNode subgraph = subgraphs.get(j);
+                if (requireObject(subgraphPointer, "subgraph", subgraph, SUBGRAPH_MEMBERS)) {
+                    requireText(child(subgraphPointer, JpaConstants.NAME), "subgraph " + JpaConstants.NAME,
+                            subgraph.path(JpaConstants.NAME));
+                    validateAttributeNodes(subgraphPointer, subgraph);
+                }
+            }
+        }
+    }
+
+    private void validateAttributeNodes(String pointer, JsonNode graph) {
+        if (!graph.has(JpaConstants.ATTRIBUTE_NODES)) {
+            return;
+        }
+        String nodesPointer = child(pointer, JpaConstants.ATTRIBUTE_NODES);
+        JsonNode attributeNodes = graph.get(JpaConstants.ATTRIBUTE_NODES);
+        if (!attributeNodes.isArray()) {
+            error(nodesPointer, "attributeNodes must be an array but was " + attributeNodes);
+            return;
+        }
+        for (int i = 0; i < attributeNodes.size(); i++) {
+            String nodePointer = child(nodesPointer, i);
+            JsonNode attributeNode = attributeNodes.get(i);
+            if (attributeNode.isTextual()) {
+                continue;
+            }
+            if (requireObject(nodePointer, "attribute node", attributeNode, ATTRIBUTE_NODE_MEMBERS)) {
+                requireText(child(nodePointer, JpaConstants.NAME), "attribute node " + JpaConstants.NAME,
+                        attributeNode.path(JpaConstants.NAME));
+                validateOptionalText(nodePointer, attributeNode, JpaConstants.SUBGRAPH);
+            }
+        }
+    }
+
+    private void validateGeneratedValue(String pointer, JsonNode generatedValue) {
+        if (!requireObject(pointer, JpaConstants.GENERATED_VALUE, generatedValue, GENERATED_VALUE_MEMBERS)) {
+            return;
+        }
+        String strategy = null;
+        if (generatedValue.has(JpaConstants.STRATEGY)
+                && requireConstant(child(pointer, JpaConstants.STRATEGY), JpaConstants.STRATEGY,
+                generatedValue.get(JpaConstants.STRATEGY), GENERATION_TYPES)) {
+            strategy = generatedValue.get(JpaConstants.STRATEGY).asText();
+        }
+        validateOptionalText(pointer, generatedValue, JpaConstants.GENERATOR);
+
+        JsonNode generator = null;
+        if (generatedValue.has(JpaConstants.SEQUENCE) && generatedValue.has(JpaConstants.TABLE)) {
+            error(pointer, "generatedValue can not declare both a sequence and a table generator");
+        } else if (generatedValue.has(JpaConstants.SEQUENCE) || generatedValue.has(JpaConstants.TABLE)) {
+            GenerationType type = generatedValue.has(JpaConstants.SEQUENCE) ? GenerationType.SEQUENCE : GenerationType.TABLE;
+            generator = validateGenerator(pointer, generatedValue, type);
+            if (Objects.isNull(strategy)) {
+                strategy = type.name();
+            } else if (!strategy.equals(type.name())) {
+                error(child(pointer, JpaConstants.STRATEGY), "strategy " + strategy + " does not use the declared "
+                        + type + " generator");
+            }
+        }
+
+        if (!generatedValue.has(JpaConstants.BATCH_INSERTS)) {
+            return;
+        }
+        String batchInsertsPointer = child(pointer, JpaConstants.BATCH_INSERTS);
+        if (!requireBoolean(batchInsertsPointer, JpaConstants.BATCH_INSERTS, generatedValue.get(JpaConstants.BATCH_INSERTS))
+                || !generatedValue.get(JpaConstants.BATCH_INSERTS).booleanValue()) {
+            return;
+        }
+        if (GenerationType.IDENTITY.name().equals(strategy)) {
+            error(batchInsertsPointer, "batchInserts can not be used with the IDENTITY strategy, identity columns disable "
+                    + "JDBC insert batching");
+        } else if (!generatedValue.has(JpaConstants.GENERATOR) && Objects.isNull(generator)) {
+            error(batchInsertsPointer, "batchInserts requires a sequence or table generator");
+        } else if (Objects.nonNull(generator) && generator.isObject()) {
+            JsonNode allocationSize = generator.path(JpaConstants.ALLOCATION_SIZE);
+            if (allocationSize.isIntegralNumber() && allocationSize.asInt() <= 1) {
+                error(batchInsertsPointer, "batchInserts requires an allocationSize greater than 1");
+            }
+            if ("none".equals(generator.path(JpaConstants.OPTIMIZER).asText())) {
+                error(batchInsertsPointer, "batchInserts requires a pooling optimizer");
+            }
+        }
+    }
+
+    /**
+     * Validate the sequence or table generator of a generatedValue keyword.
+     *
+     * @return the generator node
+     */
+    private JsonNode validateGenerator(String pointer, JsonNode generatedValue, GenerationType type) {
+        boolean sequence = type == GenerationType.SEQUENCE;
+        String name = sequence ? JpaConstants.SEQUENCE : JpaConstants.TABLE;
+        String generatorPointer = child(pointer, name);
+        JsonNode generator = generatedValue.get(name);
+        if (!requireObject(generatorPointer, name, generator, sequence ? SEQUENCE_MEMBERS : TABLE_GENERATOR_MEMBERS)) {
+            return generator;
+        }
+        String sourceKey = sequence ? JpaConstants.SEQUENCE_NAME : JpaConstants.TABLE;
+        for (String key : Arrays.asList(sourceKey, JpaConstants.SCHEMA, JpaConstants.CATALOG, JpaConstants.PK_COLUMN_NAME,
+                JpaConstants.VALUE_COLUMN_NAME, JpaConstants.PK_COLUMN_VALUE)) {
+            validateOptionalText(generatorPointer, generator, key);
+        }
+        if (!generatedValue.has(JpaConstants.GENERATOR) && generator.path(sourceKey).asText().isEmpty()) {
+            error(generatorPointer, type + " generator requires a generator or " + sourceKey);
+        }
+        if (generator.has(JpaConstants.INITIAL_VALUE)) {
+            requireSize(child(generatorPointer, JpaConstants.INITIAL_VALUE), JpaConstants.INITIAL_VALUE,
+                    generator.get(JpaConstants.INITIAL_VALUE), 0);
+        }
+        if (generator.has(JpaConstants.ALLOCATION_SIZE)) {
+            requireSize(child(generatorPointer, JpaConstants.ALLOCATION_SIZE), JpaConstants.ALLOCATION_SIZE,
+                    generator.get(JpaConstants.ALLOCATION_SIZE), 1);
+        }
+        if (generator.has(JpaConstants.OPTIMIZER)) {
+            requireConstant(child(generatorPointer, JpaConstants.OPTIMIZER), JpaConstants.OPTIMIZER,
+                    generator.get(JpaConstants.OPTIMIZER), JpaConstants.OPTIMIZERS);
+        }
+        return generator;
+    }
+
+    private void validateColumn(String pointer, JsonNode column) {
+        if (column.isTextual() || column.isBoolean()) {
+            return;
+        }
+        if (!column.isObject()) {
+            error(pointer, "column must be a column name, true or an object but was " + column);
+            return;
+        }
+        requireObject(pointer, JpaConstants.COLUMN, column, COLUMN_MEMBERS);
+        validateOptionalText(pointer, column, JpaConstants.NAME);
+        validateOptionalText(pointer, column, JpaConstants.COLUMN_DEFINITION);
+        for (String key : Arrays.asList(JpaConstants.LENGTH, JpaConstants.PRECISION, JpaConstants.SCALE)) {
+            if (column.has(key)) {
+                requireSize(child(pointer, key), key, column.get(key), 0);
+            }
+        }
+        for (String key : Arrays.asList(JpaConstants.NULLABLE, JpaConstants.UNIQUE)) {
+            if (column.has(key)) {
+                requireBoolean(child(pointer, key), key, column.get(key));
+            }
+        }
+    }
+
+    private void validateMultiplicity(String pointer, JsonNode multiplicity) {
+        if (multiplicity.isBoolean()) {
+            if (!multiplicity.booleanValue()) {
+                error(pointer, pointer + " must be true or an object, the association is generated for any value but was false");
+            }
+            return;
+        }
+        if (requireObject(pointer, pointer, multiplicity, MULTIPLICITY_MEMBERS) && multiplicity.has(JpaConstants.FETCH)) {
+            requireConstant(child(pointer, JpaConstants.FETCH), JpaConstants.FETCH, multiplicity.get(JpaConstants.FETCH), FETCH_TYPES);
+        }
+    }
+
+    private void validateJoinTable(String pointer, JsonNode joinTable) {
+        if (!requireObject(pointer, JpaConstants.JOIN_TABLE, joinTable, JOIN_TABLE_MEMBERS)) {
+            return;
+        }
+        validateOptionalText(pointer, joinTable, JpaConstants.NAME);
+        for (String key : Arrays.asList(JpaConstants.JOIN_COLUMNS, JpaConstants.INVERSE_JOIN_COLUMNS)) {
+            if (joinTable.has(key)) {
+                String columnPointer = child(pointer, key);
+                JsonNode joinColumn = joinTable.get(key);
+                if (requireObject(columnPointer, key, joinColumn, JOIN_COLUMN_MEMBERS)) {
+                    validateOptionalText(columnPointer, joinColumn, JpaConstants.NAME);
+                    validateOptionalText(columnPointer, joinColumn, JpaConstants.REFERENCED_COLUMN_NAME);
+                }
+            }
+        }
+        if (joinTable.has(JpaConstants.INDEXES)) {
+            validateIndexes(child(pointer, JpaConstants.INDEXES), joinTable.get(JpaConstants.INDEXES));
+        }
+        // Join columns and indexes are only generated along with the join columns
+        if (!joinTable.has(JpaConstants.JOIN_COLUMNS)) {
+            for (String key : Arrays.asList(JpaConstants.INVERSE_JOIN_COLUMNS, JpaConstants.INDEXES)) {
+                if (joinTable.has(key)) {
+                    error(child(pointer, key), key + " is ignored without joinColumns");
+                }
+            }
+        }
+    }
+
+    private void validateJsonFormat(String pointer, JsonNode jsonFormat) {
+        if (jsonFormat.isTextual()) {
+            requireConstant(pointer, "jsonFormat shape", jsonFormat, SHAPES);
+            return;
+        }
+        if (!requireObject(pointer, JacksonConstants.JSON_FORMAT, jsonFormat, JSON_FORMAT_MEMBERS)) {
+            return;
+        }
+        if (jsonFormat.has(JacksonConstants.SHAPE)) {
+            requireConstant(child(pointer, JacksonConstants.SHAPE), "jsonFormat shape", jsonFormat.get(JacksonConstants.SHAPE), SHAPES);
+        }
+        for (String key : Arrays.asList(JacksonConstants.PATTERN, JacksonConstants.TIMEZONE, JacksonConstants.LOCALE)) {
+            validateOptionalText(pointer, jsonFormat, key);
+        }
+    }
+
+    /**
+     * Require an object holding only the given members.
+     *
+     * @return true if the value is an object
+     */
+    private boolean requireObject(String pointer, String description, JsonNode value, Set<String> members) {
+        if (!value.isObject()) {
+            error(pointer, description + " must be an object but was " + value);
+            return false;
+        }
+        for (Iterator<String> names = value.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!members.contains(name)) {
+                error(child(pointer, name), "unknown " + description + " member " + name + ", expected one of " + members
+                        + suggest(name, members));
+            }
+        }
+        return true;
+    }
+
+    private boolean requireBoolean(String pointer, String description, JsonNode value) {
+        if (!value.isBoolean()) {
+            error(pointer, description + " must be true or false but was " + value);
+            return false;
+        }
+        return true;
+    }
+
+    private void requireText(String pointer, String description, JsonNode value) {
+        if (!value.isTextual() || value.asText().isEmpty()) {
+            error(pointer, description + " must be a non empty string but was " + (value.isMissingNode() ? "missing" : value));
+        }
+    }
+
+    private void validateOptionalText(String pointer, JsonNode parent, String key) {
+        if (parent.has(key)) {
+            requireText(child(pointer, key), key, parent.get(key));
+        }
+    }
+
+    private boolean requireConstant(String pointer, String description, JsonNode value, List<String> constants) {
+        if (value.isTextual() && constants.contains(value.asText())) {
+            return true;
+        }
+        String suggestion = value.isTextual() ? suggest(value.asText(), constants) : "";
+        error(pointer, description + " must be one of " + constants + " but was "
+                + (value.isMissingNode() ? "missing" : value) + suggestion);
+        return false;
+    }
+
+    private void requireSize(String pointer, String description, JsonNode value, int minimum) {
+        if (!value.isIntegralNumber() || !value.canConvertToInt() || value.asInt() < minimum) {
+            error(pointer, description + " must be " + (minimum > 0 ? "a positive" : "a non-negative") + " integer but was "
+                    + (value.isMissingNode() ? "missing" : value));
+        }
+    }
+
+    /**
+     * Require a single name or an array of names.
+     */
+    private void requireNames(String pointer, String description, JsonNode value) {
+        if (value.isTextual()) {
+            return;
+        }
+        if (!value.isArray()) {
+            error(pointer, description + " must be a name or an array of names but was " + value);
+            return;
+        }
+        for (int i = 0; i < value.size(); i++) {
+            requireText(child(pointer, i), description, value.get(i));
+        }
+    }
+
+    /**
+     * Require a comma separated column list or a non empty array of column names.
+     */
+    private void requireColumns(String pointer, String description, JsonNode value) {
+        if (value.isArray() ? value.size() == 0 : !value.isTextual() || value.asText().trim().isEmpty()) {
+            error(pointer, description + " must be a comma separated list or a non empty array of columns but was "
+                    + (value.isMissingNode() ? "missing" : value));
+            return;
+        }
+        requireNames(pointer, description, value);
+    }
+
+    private void error(Keyword keyword, String relativePointer, String message) {
+        keywordLocation = keyword.location;
+        error(relativePointer, message);
+    }
+
+    /**
+     * Report a problem at the location of the current keyword.
+     *
+     * @param relativePointer pointer relative to the current schema node, empty for the node itself
+     * @param message         description of the problem
+     */
+    private void error(String relativePointer, String message) {
+        StringBuilder pointer = new StringBuilder();
+        for (String segment : path) {
+            pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+        }
+        if (!relativePointer.isEmpty()) {
+            pointer.append('/').append(relativePointer);
+        }
+        int line = Objects.isNull(keywordLocation) ? 0 : Math.max(keywordLocation.getLineNr(), 0);
+        int column = Objects.isNull(keywordLocation) ? 0 : Math.max(keywordLocation.getColumnNr(), 0);
+        errors.add(new ValidationError(source, line, column, pointer.length() == 0 ? "/" : pointer.toString(), message));
+    }
+
+    private static String child(String pointer, Object member) {
+        return pointer + "/" + member;
+    }
+
+    /**
+     * Suggest the closest of the expected values for a misspelled one, i.e. IDENTITY for IDENTTY.
+     *
+     * @param value    the declared value
+     * @param expected the expected values
+     * @return the suggestion to append to an error message, empty if no expected value is close
+     */
+    static String suggest(String value, Collection<String> expected) {
+        String closest = null;
+        int closestDistance = MAX_SUGGESTION_DISTANCE + 1;
+        for (String candidate : expected) {
+            int distance = distance(value.toLowerCase(Locale.ROOT), candidate.toLowerCase(Locale.ROOT));
+            if (distance < closestDistance) {
+                closest = candidate;
+                closestDistance = distance;
+            }
+        }
+        return Objects.isNull(closest) ? "" : ", did you mean " + closest + "?";
+    }
+
+    /**
+     * @return the Levenshtein distance of the two strings
+     */
+    private static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static Set<String> members(String... names) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(names)));
+    }
+
+    private static List<String> names(Enum<?>[] constants) {
+        List<String> names = new ArrayList<>(constants.length);
+        for (Enum<?> constant : constants) {
+            names.add(constant.name());
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * A keyword of a schema node, along with where it was declared.
+     */
+    private static final class Keyword {
+        private final JsonNode value;
+        private final JsonLocation location;
+
+        private Keyword(JsonNode value, JsonLocation location) {
+            this.value = value;
+            this.location = location;
+        }
+    }
+}
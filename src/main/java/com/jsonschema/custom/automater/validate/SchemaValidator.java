@@ -0,0 +1,194 @@
+package com.jsonschema.custom.automater.validate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonschema.custom.automater.keyword.KeywordHandlerRegistry;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.URLProtocol;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.util.URLUtil;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Checks the keywords of the custom annotators in a set of schemas before any code is generated, so a typo such as
+ * {@code "strategy": "IDENTTY"} is reported with its file, line and JSON pointer in seconds instead of failing the
+ * generation minutes in. Every schema is streamed once with the Jackson streaming parser and the schemas are
+ * validated in parallel. All problems are reported, not only the first one.
+ * <p>
+ * Only the documents themselves are validated, a {@code $ref} to a document outside of the validated set is not
+ * followed. Checks that depend on the generation configuration, i.e. jsonCreator together with includeConstructors,
+ * are left to the annotators. Values of custom keywords are checked by their registered
+ * {@link com.jsonschema.custom.automater.keyword.KeywordHandler}s.
+ * <p>
+ * Run it from the command line with the schema files or directories as arguments, it exits with status 1 if a
+ * schema is invalid, or call {@link #validate(GenerationConfig)} from a build script.
+ *
+ * @author Jack Phillips
+ */
+public class SchemaValidator {
+    // Comments are accepted, as they are by JSON Schema2POJO
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(JsonParser.Feature.ALLOW_COMMENTS);
+    private static final FileFilter JSON_FILES = file -> file.isDirectory() || file.getName().endsWith(".json");
+
+    private final int parallelism;
+
+    /**
+     * Create a validator using every available processor.
+     */
+    public SchemaValidator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism number of schemas to validate at the same time
+     */
+    public SchemaValidator(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Validate every schema of the configuration, directories are searched with its file filter.
+     *
+     * @param config generation configuration, as passed to the JSON Schema2POJO plugins
+     * @return every problem found, by schema and location
+     * @throws IOException if a schema can not be read
+     */
+    public List<ValidationError> validate(GenerationConfig config) throws IOException {
+        List<URL> schemas = new ArrayList<>();
+        for (Iterator<URL> sources = config.getSource(); sources.hasNext(); ) {
+            URL source = sources.next();
+            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
+                addSchemas(schemas, URLUtil.getFileFromURL(source), config.getFileFilter());
+            } else {
+                schemas.add(source);
+            }
+        }
+        return validate(schemas);
+    }
+
+    /**
+     * Validate the given schemas in parallel.
+     *
+     * @param schemas locations of the schemas
+     * @return every problem found, in the order of the schemas and by location within a schema
+     * @throws IOException if a schema can not be read
+     */
+    public List<ValidationError> validate(List<URL> schemas) throws IOException {
+        List<ValidationError> errors = new ArrayList<>();
+        if (schemas.size() <= 1 || parallelism == 1) {
+            for (URL schema : schemas) {
+                errors.addAll(validate(schema));
+            }
+            return errors;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, schemas.size()));
+        try {
+            List<ForkJoinTask<List<ValidationError>>> tasks = new ArrayList<>(schemas.size());
+            for (URL schema : schemas) {
+                tasks.add(pool.submit(() -> validate(schema)));
+            }
+            for (ForkJoinTask<List<ValidationError>> task : tasks) {
+                errors.addAll(task.get());
+            }
+            return errors;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationException("Interrupted while validating schemas", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GenerationException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Validate a single schema.
+     *
+     * @param schema location of the schema
+     * @return every problem found, by location
+     * @throws IOException if the schema can not be read
+     */
+    public static List<ValidationError> validate(URL schema) throws IOException {
+        try (InputStream input = schema.openStream(); JsonParser parser = MAPPER.getFactory().createParser(input)) {
+            return new SchemaFileValidator(schema.toString(), KeywordHandlerRegistry.getDefault()).validate(parser);
+        }
+    }
+
+    /**
+     * Validate the schema files and directories given as arguments, directories are searched for .json files.
+     * Problems are printed to standard error.
+     *
+     * @param args schema files and directories
+     * @throws IOException if a schema can not be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: " + SchemaValidator.class.getName() + " <schema file or directory>...");
+            System.exit(2);
+        }
+        List<URL> schemas = new ArrayList<>();
+        for (String arg : args) {
+            File file = new File(arg);
+            if (file.isDirectory()) {
+                addSchemas(schemas, file, JSON_FILES);
+            } else {
+                schemas.add(file.toURI().toURL());
+            }
+        }
+
+        List<ValidationError> errors = new SchemaValidator().validate(schemas);
+        for (ValidationError error : errors) {
+            System.err.println(error);
+        }
+        if (!errors.isEmpty()) {
+            System.err.println(errors.size() + " problem(s) found in " + schemas.size() + " schema(s)");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Recursively add the schema files of a directory, in name order.
+     *
+     * @param schemas   list to add the schemas to
+     * @param directory directory to search
+     * @param filter    filter for files and sub directories
+     * @throws IOException if a file can not be converted to a URL
+     */
+    private static void addSchemas(List<URL> schemas, File directory, FileFilter filter) throws IOException {
+        File[] files = directory.listFiles(filter);
+        if (Objects.isNull(files)) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                addSchemas(schemas, file, filter);
+            } else {
+                schemas.add(file.toURI().toURL());
+            }
+        }
+    }
+}
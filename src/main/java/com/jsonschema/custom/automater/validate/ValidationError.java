@@ -0,0 +1,72 @@
+package com.jsonschema.custom.automater.validate;
+
+/**
+ * A problem found in a schema by the {@link SchemaValidator}, along with where it was found.
+ *
+ * @author Jack Phillips
+ */
+public final class ValidationError {
+    private final String source;
+    private final int line;
+    private final int column;
+    private final String pointer;
+    private final String message;
+
+    /**
+     * @param source  location of the schema, i.e. its URL
+     * @param line    line of the offending keyword, starting at 1, 0 if unknown
+     * @param column  column of the offending keyword, starting at 1, 0 if unknown
+     * @param pointer JSON pointer to the offending value
+     * @param message description of the problem
+     */
+    ValidationError(String source, int line, int column, String pointer, String message) {
+        this.source = source;
+        this.line = line;
+        this.column = column;
+        this.pointer = pointer;
+        this.message = message;
+    }
+
+    /**
+     * @return location of the schema, i.e. its URL
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return line of the offending keyword, starting at 1, 0 if unknown
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @return column of the offending keyword, starting at 1, 0 if unknown
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return JSON pointer to the offending value, i.e. /properties/id/generatedValue/strategy
+     */
+    public String getPointer() {
+        return pointer;
+    }
+
+    /**
+     * @return description of the problem
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the error in the usual compiler format, i.e. file:line:column: pointer: message
+     */
+    @Override
+    public String toString() {
+        return source + ":" + line + ":" + column + ": " + pointer + ": " + message;
+    }
+}
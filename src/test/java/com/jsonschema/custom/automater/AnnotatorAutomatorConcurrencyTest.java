@@ -0,0 +1,112 @@
+package com.jsonschema.custom.automater;
+
+import com.jsonschema.custom.automater.jpa.JpaRuleFactory;
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JCodeModel;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.AnnotatorFactory;
+import org.jsonschema2pojo.FileCodeWriterWithEncoding;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Generates the test schemas from many threads through one shared annotator instance and checks every thread
+ * produced exactly the sources of a sequential run. Each thread has its own code model, rule factory and schema
+ * store, as the {@link com.jsonschema.custom.automater.generate.ParallelSchemaGenerator} workers do, so the
+ * annotator, including the annotation plan cache of the {@link AnnotatorAutomator}, is the only shared state.
+ */
+public class AnnotatorAutomatorConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 4;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void sharedAnnotatorGeneratesTheSequentialSources() throws Exception {
+        File schemas = TestSchemas.schemaDirectory();
+        GenerationConfig config = TestSchemas.config(schemas, null);
+        Map<String, String> expected = generate(config, schemas, createAnnotator(config), temporaryFolder.newFolder());
+
+        Annotator shared = createAnnotator(config);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Released together, so the threads run through the annotator at the same time
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Callable<Map<String, String>>> runs = new ArrayList<>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    File target = temporaryFolder.newFolder();
+                    runs.add(() -> {
+                        start.await(30, TimeUnit.SECONDS);
+                        return generate(config, schemas, shared, target);
+                    });
+                }
+                for (Future<Map<String, String>> run : executor.invokeAll(runs)) {
+                    assertEquals(expected, run.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Annotator createAnnotator(GenerationConfig config) {
+        AnnotatorFactory factory = new AnnotatorFactory(config);
+        return factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(config.getCustomAnnotator()));
+    }
+
+    /**
+     * Generate every schema of the directory, in name order, into a code model of its own.
+     *
+     * @param config    generation configuration
+     * @param schemas   schema directory
+     * @param annotator annotator to generate with
+     * @param target    directory to write the sources to
+     * @return the generated sources
+     * @throws IOException if a schema can not be read
+     */
+    private static Map<String, String> generate(GenerationConfig config, File schemas, Annotator annotator, File target) throws IOException {
+        RuleFactory ruleFactory = new JpaRuleFactory(config, annotator, new SchemaStore());
+        SchemaMapper mapper = new SchemaMapper(ruleFactory, new SchemaGenerator());
+        JCodeModel codeModel = new JCodeModel();
+        generateDirectory(mapper, codeModel, schemas, TestSchemas.TARGET_PACKAGE);
+        CodeWriter writer = new FileCodeWriterWithEncoding(target, config.getOutputEncoding());
+        codeModel.build(writer, writer);
+        return TestSchemas.readSources(target);
+    }
+
+    private static void generateDirectory(SchemaMapper mapper, JCodeModel codeModel, File directory, String packageName) throws IOException {
+        File[] files = directory.listFiles();
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                generateDirectory(mapper, codeModel, file, packageName + "." + file.getName());
+            } else if (file.getName().endsWith(".json")) {
+                String nodeName = file.getName().substring(0, file.getName().length() - ".json".length());
+                mapper.generate(codeModel, nodeName, packageName, file.toURI().toURL());
+            }
+        }
+    }
+}
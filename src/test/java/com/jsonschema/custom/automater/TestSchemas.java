@@ -0,0 +1,243 @@
+package com.jsonschema.custom.automater;
+
+import com.jsonschema.custom.automater.jpa.JpaRuleFactory;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.jsonschema2pojo.rules.RuleFactory;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Schemas and configuration shared by the generation tests. The {@code schema/orders} resources cover the JPA,
+ * Springfox and JSON column keywords, {@code $ref}s between documents, a sub package and two schemas that both
+ * declare an inline {@code details} object, so a sequential run names their classes {@code Details} and
+ * {@code Details_}.
+ */
+public final class TestSchemas {
+    public static final String TARGET_PACKAGE = "com.example.api";
+
+    private static final FileFilter JSON_FILES = file -> file.isDirectory() || file.getName().endsWith(".json");
+
+    private TestSchemas() {
+    }
+
+    /**
+     * @return the directory of the {@code schema/orders} test resources
+     */
+    public static File schemaDirectory() {
+        return schemaDirectory("orders");
+    }
+
+    /**
+     * @param name name of a directory below the {@code schema} test resources
+     * @return the directory
+     */
+    public static File schemaDirectory(String name) {
+        URL resource = TestSchemas.class.getResource("/schema/" + name);
+        if (Objects.isNull(resource)) {
+            throw new IllegalStateException("Missing the schema/" + name + " test resources");
+        }
+        try {
+            return new File(resource.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param source          schema file or directory
+     * @param targetDirectory directory to generate into
+     * @return configuration generating with the {@link JpaSpringfoxAnnotator} and the {@link JpaRuleFactory}
+     */
+    public static GenerationConfig config(File source, File targetDirectory) {
+        return new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                try {
+                    return Collections.singletonList(source.toURI().toURL()).iterator();
+                } catch (MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return TARGET_PACKAGE;
+            }
+
+            @Override
+            public FileFilter getFileFilter() {
+                return JSON_FILES;
+            }
+
+            @Override
+            public Class<? extends Annotator> getCustomAnnotator() {
+                return JpaSpringfoxAnnotator.class;
+            }
+
+            @Override
+            public Class<? extends RuleFactory> getCustomRuleFactory() {
+                return JpaRuleFactory.class;
+            }
+
+            @Override
+            public boolean isIncludeJsr303Annotations() {
+                return true;
+            }
+
+            @Override
+            public boolean isSerializable() {
+                return true;
+            }
+
+            @Override
+            public boolean isIncludeAdditionalProperties() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param config configuration to change
+     * @param getter name of the {@link GenerationConfig} getter to override
+     * @param value  value the getter returns instead
+     * @return configuration returning the value from the getter and delegating every other call
+     */
+    public static GenerationConfig withSetting(GenerationConfig config, String getter, Object value) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals(getter) && method.getParameterCount() == 0) {
+                return value;
+            }
+            try {
+                return method.invoke(config, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (GenerationConfig) Proxy.newProxyInstance(GenerationConfig.class.getClassLoader(),
+                new Class<?>[]{GenerationConfig.class}, handler);
+    }
+
+    /**
+     * Generate the schemas with the sequential JSON Schema2POJO generator and the {@link #config}.
+     *
+     * @param source          schema file or directory
+     * @param targetDirectory directory to generate into
+     * @return the generated sources, see {@link #readSources(File)}
+     * @throws IOException if a schema can not be read or a source can not be written
+     */
+    public static Map<String, String> generate(File source, File targetDirectory) throws IOException {
+        Jsonschema2Pojo.generate(config(source, targetDirectory));
+        return readSources(targetDirectory);
+    }
+
+    /**
+     * Copy a schema directory, so a test can change the schemas without touching the test resources.
+     *
+     * @param source directory to copy
+     * @param target directory to copy into
+     * @throws IOException if a file can not be copied
+     */
+    public static void copy(File source, File target) throws IOException {
+        Path root = source.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Iterator<Path> files = paths.iterator(); files.hasNext(); ) {
+                Path file = files.next();
+                Path copy = target.toPath().resolve(root.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile generated sources against the test classpath.
+     *
+     * @param sources directory of the generated sources
+     * @param classes directory to write the classes to
+     * @throws IOException if the sources can not be listed
+     */
+    public static void compile(File sources, File classes) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (Objects.isNull(compiler)) {
+            throw new IllegalStateException("Compiling the generated classes requires a JDK");
+        }
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-nowarn");
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add("-d");
+        arguments.add(classes.getAbsolutePath());
+        try (Stream<Path> paths = Files.walk(sources.toPath())) {
+            paths.filter(path -> path.toString().endsWith(".java")).forEach(path -> arguments.add(path.toString()));
+        }
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Failed to compile the generated classes of " + sources);
+        }
+    }
+
+    /**
+     * @param source generated source
+     * @return the source with every run of whitespace replaced by a single space, so assertions do not depend on how
+     * the code model wraps annotations
+     */
+    public static String normalize(String source) {
+        return source.replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Read the generated files of a directory. The contents are decoded as ISO-8859-1, which maps every byte to one
+     * character, so two maps are equal exactly when the files are byte-identical, and a failed assertion shows the
+     * differing sources.
+     *
+     * @param directory target directory of a generation run
+     * @return file contents keyed by path relative to the directory, without hidden files such as the manifest
+     * @throws IOException if a file can not be read
+     */
+    public static Map<String, String> readSources(File directory) throws IOException {
+        Map<String, String> sources = new TreeMap<>();
+        Path root = directory.toPath();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Iterator<Path> files = paths.filter(Files::isRegularFile).iterator(); files.hasNext(); ) {
+                Path file = files.next();
+                if (file.getFileName().toString().startsWith(".")) {
+                    continue;
+                }
+                sources.put(root.relativize(file).toString().replace(File.separatorChar, '/'),
+                        new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1));
+            }
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,162 @@
+package com.jsonschema.custom.automater.daemon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.TestSchemas;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Starts a {@link GeneratorDaemon} on a copy of the {@code schema/orders} test resources and talks to it through the
+ * {@link GeneratorClient}, as an editor save hook would.
+ */
+public class GeneratorDaemonTest {
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File schemas;
+    private File target;
+    private File portFile;
+    private GeneratorDaemon daemon;
+
+    @Before
+    public void setUp() throws IOException {
+        schemas = temporaryFolder.newFolder("schema");
+        TestSchemas.copy(TestSchemas.schemaDirectory(), schemas);
+        target = temporaryFolder.newFolder("target");
+        portFile = new File(temporaryFolder.getRoot(), GeneratorDaemon.PORT_FILE_NAME);
+        daemon = new GeneratorDaemon(TestSchemas.config(schemas, target), 2, portFile);
+        daemon.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        daemon.close();
+    }
+
+    @Test
+    public void generatesTheChangedSchemasLikeAFullGeneration() throws IOException {
+        GeneratorClient client = new GeneratorClient(portFile);
+        client.ping();
+        assertEquals(generateFully(), TestSchemas.readSources(target));
+
+        File shipment = new File(schemas, "shipment.json");
+        ObjectNode schema = (ObjectNode) GeneratorDaemon.MAPPER.readTree(shipment);
+        ((ObjectNode) schema.path("properties")).putObject("carrier").put("type", "string");
+        GeneratorDaemon.MAPPER.writeValue(shipment, schema);
+
+        assertTrue(client.generate(Collections.singletonList(shipment)) >= 1);
+        Map<String, String> sources = TestSchemas.readSources(target);
+        assertTrue(sources.get("com/example/api/Shipment.java").contains("carrier"));
+        assertEquals(generateFully(), sources);
+        assertEquals(0, client.generate(Collections.singletonList(shipment)));
+    }
+
+    @Test
+    public void rejectsARequestWithTheWrongToken() throws IOException {
+        ObjectNode request = GeneratorDaemon.MAPPER.createObjectNode();
+        request.put(GeneratorClient.TOKEN, "not-the-token");
+        request.put(GeneratorClient.COMMAND, GeneratorClient.PING);
+
+        JsonNode response = send(port(), request);
+
+        assertEquals(GeneratorClient.STATUS_ERROR, response.path(GeneratorClient.STATUS).asText());
+        assertTrue(response.path(GeneratorClient.MESSAGE).asText().startsWith("Invalid token"));
+    }
+
+    @Test
+    public void rejectsAnOversizedRequestBeforeParsingIt() throws IOException {
+        byte[] request = new byte[GeneratorClient.MAX_REQUEST_BYTES + 1];
+        Arrays.fill(request, (byte) ' ');
+
+        JsonNode response;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port())) {
+            socket.getOutputStream().write(request);
+            socket.getOutputStream().flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            response = GeneratorDaemon.MAPPER.readTree(reader.readLine());
+        }
+
+        assertEquals(GeneratorClient.STATUS_ERROR, response.path(GeneratorClient.STATUS).asText());
+        assertEquals("Request exceeds " + GeneratorClient.MAX_REQUEST_BYTES + " bytes", response.path(GeneratorClient.MESSAGE).asText());
+        new GeneratorClient(portFile).ping();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void clientRefusesToSendAnOversizedRequest() throws IOException {
+        List<File> changed = new ArrayList<>();
+        for (int i = 0; i < GeneratorClient.MAX_REQUEST_BYTES / 16; i++) {
+            changed.add(new File(schemas, "schema-" + i + ".json"));
+        }
+
+        new GeneratorClient(portFile).generate(changed);
+    }
+
+    @Test
+    public void stopShutsTheDaemonDownAndRemovesThePortFile() throws Exception {
+        int port = port();
+
+        new GeneratorClient(portFile).stop();
+
+        // The daemon closes after it answered the request
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+        while (portFile.exists() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertFalse(portFile.exists());
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            fail("The daemon still listens on port " + socket.getPort());
+        } catch (ConnectException e) {
+            // Expected, nothing listens on the port anymore
+        }
+    }
+
+    private Map<String, String> generateFully() throws IOException {
+        File expected = temporaryFolder.newFolder();
+        Jsonschema2Pojo.generate(TestSchemas.config(schemas, expected));
+        return TestSchemas.readSources(expected);
+    }
+
+    private int port() throws IOException {
+        return GeneratorDaemon.MAPPER.readTree(portFile).path(GeneratorClient.PORT).asInt();
+    }
+
+    private static JsonNode send(int port, ObjectNode request) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(GeneratorDaemon.MAPPER.writeValueAsString(request));
+            writer.write('\n');
+            writer.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            return GeneratorDaemon.MAPPER.readTree(reader.readLine());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.jsonschema.custom.automater.JpaSpringfoxAnnotator;
+import com.jsonschema.custom.automater.TestSchemas;
+import org.jsonschema2pojo.GenerationConfig;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Computes the keys of the groups of a copy of the {@code schema/orders} test resources and checks which changes
+ * invalidate them.
+ */
+public class GenerationFingerprintTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File schemas;
+    private GenerationConfig config;
+
+    @Before
+    public void setUp() throws IOException {
+        schemas = temporaryFolder.newFolder("schema");
+        TestSchemas.copy(TestSchemas.schemaDirectory(), schemas);
+        config = TestSchemas.config(schemas, temporaryFolder.newFolder("target"));
+    }
+
+    @Test
+    public void sameInputsHaveTheSameKeys() throws IOException {
+        List<SchemaGroup> groups = groups(config);
+
+        assertArrayEquals(keys(config, groups), keys(config, groups(config)));
+    }
+
+    @Test
+    public void configurationChangesInvalidateEveryGroup() throws IOException {
+        List<SchemaGroup> groups = groups(config);
+        byte[][] keys = keys(config, groups);
+
+        assertEveryKeyDiffers(keys, keys(TestSchemas.withSetting(config, "isIncludeJsr303Annotations", false), groups));
+        assertEveryKeyDiffers(keys, keys(TestSchemas.withSetting(config, "getTargetPackage", "com.example.model"), groups));
+    }
+
+    @Test
+    public void annotatorChangesInvalidateEveryGroup() throws IOException {
+        List<SchemaGroup> groups = groups(config);
+
+        assertEveryKeyDiffers(keys(config, groups),
+                keys(TestSchemas.withSetting(config, "getCustomAnnotator", AuditingAnnotator.class), groups));
+    }
+
+    @Test
+    public void documentChangesOnlyInvalidateTheGroupsReadingThem() throws IOException {
+        List<SchemaGroup> groups = groups(config);
+        byte[][] keys = keys(config, groups);
+
+        File address = new File(schemas, "address.json");
+        String schema = new String(Files.readAllBytes(address.toPath()), StandardCharsets.UTF_8);
+        Files.write(address.toPath(), schema.replace("\"properties\": {", "\"properties\": {\"floor\": {\"type\": \"integer\"},")
+                .getBytes(StandardCharsets.UTF_8));
+        byte[][] changed = keys(config, groups);
+
+        int invalidated = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            boolean readsAddress = groups.get(i).getDocuments().contains(address.toURI().toString());
+            assertTrue(groups.get(i).getDocuments().toString(), readsAddress != Arrays.equals(keys[i], changed[i]));
+            invalidated += readsAddress ? 1 : 0;
+        }
+        assertTrue(invalidated > 0 && invalidated < groups.size());
+    }
+
+    private static List<SchemaGroup> groups(GenerationConfig config) throws IOException {
+        return new SchemaReferenceGraph().group(new SchemaSourceScanner(config).scan());
+    }
+
+    private static byte[][] keys(GenerationConfig config, List<SchemaGroup> groups) throws IOException {
+        GenerationFingerprint fingerprint = new GenerationFingerprint(config);
+        List<byte[]> keys = new ArrayList<>(groups.size());
+        for (SchemaGroup group : groups) {
+            keys.add(fingerprint.keyOf(group));
+        }
+        return keys.toArray(new byte[0][]);
+    }
+
+    private static void assertEveryKeyDiffers(byte[][] expected, byte[][] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            assertFalse("Group " + i, Arrays.equals(expected[i], actual[i]));
+        }
+    }
+
+    /**
+     * Annotator with the same behaviour but another implementation class.
+     */
+    public static class AuditingAnnotator extends JpaSpringfoxAnnotator {
+    }
+}
@@ -0,0 +1,107 @@
+package com.jsonschema.custom.automater.generate;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Writes and reads {@link GenerationManifest}s, including files that are damaged or were written by another version.
+ */
+public class GenerationManifestTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void readsTheEntriesItWrote() throws IOException {
+        File file = new File(temporaryFolder.getRoot(), "target/.manifest");
+        GenerationManifest.Entry order = new GenerationManifest.Entry(key(1),
+                Arrays.asList("file:/schema/order.json", "file:/schema/address.json"),
+                Arrays.asList("com/example/api/Order.java", "com/example/api/Address.java"));
+        GenerationManifest.Entry product = new GenerationManifest.Entry(key(2),
+                Collections.singletonList("file:/schema/catalog/prod\u00fcct.json"), Collections.<String>emptyList());
+
+        new GenerationManifest(Arrays.asList(order, product)).write(file);
+        GenerationManifest manifest = GenerationManifest.read(file);
+
+        assertEquals(2, manifest.getEntries().size());
+        assertEntry(order, manifest.find(order.getMembers()));
+        assertEntry(product, manifest.find(product.getMembers()));
+        assertNull(manifest.find(Collections.singletonList("file:/schema/order.json")));
+    }
+
+    @Test
+    public void missingManifestIsEmpty() throws IOException {
+        assertTrue(GenerationManifest.read(new File(temporaryFolder.getRoot(), "missing")).getEntries().isEmpty());
+    }
+
+    @Test
+    public void truncatedManifestIsEmpty() throws IOException {
+        File file = writeManifest();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        for (int length : new int[]{0, 6, 12 + GenerationManifest.KEY_LENGTH, bytes.length - 1}) {
+            Files.write(file.toPath(), Arrays.copyOf(bytes, length));
+            assertTrue("Truncated to " + length, GenerationManifest.read(file).getEntries().isEmpty());
+        }
+    }
+
+    @Test
+    public void manifestWithTheWrongMagicOrVersionIsEmpty() throws IOException {
+        File file = writeManifest();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        Files.write(file.toPath(), ByteBuffer.wrap(bytes.clone()).putInt(0, 0xCAFEBABE).array());
+        assertTrue(GenerationManifest.read(file).getEntries().isEmpty());
+        Files.write(file.toPath(), ByteBuffer.wrap(bytes.clone()).putInt(4, 2).array());
+        assertTrue(GenerationManifest.read(file).getEntries().isEmpty());
+    }
+
+    @Test
+    public void manifestWithANegativeCountIsEmpty() throws IOException {
+        File file = writeManifest();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+
+        // The member count follows the magic, the version, the entry count and the key of the first entry
+        Files.write(file.toPath(), ByteBuffer.wrap(bytes).putInt(12 + GenerationManifest.KEY_LENGTH, -1).array());
+
+        assertTrue(GenerationManifest.read(file).getEntries().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAKeyOfTheWrongLength() {
+        new GenerationManifest.Entry(new byte[16], Collections.<String>emptyList(), Collections.<String>emptyList());
+    }
+
+    private File writeManifest() throws IOException {
+        File file = temporaryFolder.newFile();
+        new GenerationManifest(Collections.singletonList(new GenerationManifest.Entry(key(1),
+                Collections.singletonList("file:/schema/order.json"),
+                Collections.singletonList("com/example/api/Order.java")))).write(file);
+        assertEquals(1, GenerationManifest.read(file).getEntries().size());
+        return file;
+    }
+
+    private static byte[] key(int value) {
+        byte[] key = new byte[GenerationManifest.KEY_LENGTH];
+        Arrays.fill(key, (byte) value);
+        return key;
+    }
+
+    private static void assertEntry(GenerationManifest.Entry expected, GenerationManifest.Entry actual) {
+        assertArrayEquals(expected.getKey(), actual.getKey());
+        assertEquals(expected.getMembers(), actual.getMembers());
+        assertEquals(expected.getOutputs(), actual.getOutputs());
+    }
+}
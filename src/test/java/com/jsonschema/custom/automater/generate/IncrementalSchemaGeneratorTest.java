@@ -0,0 +1,164 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.jsonschema.custom.automater.TestSchemas;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link IncrementalSchemaGenerator} repeatedly on a copy of the {@code schema/orders} test resources and
+ * compares every run with a full sequential generation of the same schemas.
+ */
+public class IncrementalSchemaGeneratorTest {
+    // address, catalog/product, customer, invoice, order and shipment
+    private static final int SCHEMA_COUNT = 6;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File schemas;
+    private File target;
+    private File manifestFile;
+
+    @Before
+    public void setUp() throws IOException {
+        schemas = temporaryFolder.newFolder("schema");
+        TestSchemas.copy(TestSchemas.schemaDirectory(), schemas);
+        target = temporaryFolder.newFolder("target");
+        manifestFile = new File(target, IncrementalSchemaGenerator.MANIFEST_FILE_NAME);
+    }
+
+    @Test
+    public void secondRunGeneratesNothing() throws IOException {
+        assertEquals(SCHEMA_COUNT, generate(config()));
+        assertEquals(generateFully(config()), TestSchemas.readSources(target));
+        assertTrue(manifestFile.isFile());
+
+        assertEquals(0, generate(config()));
+        assertEquals(generateFully(config()), TestSchemas.readSources(target));
+    }
+
+    @Test
+    public void regeneratesOnlyTheChangedSchema() throws IOException {
+        generate(config());
+
+        File product = new File(schemas, "catalog/product.json");
+        String schema = new String(Files.readAllBytes(product.toPath()), StandardCharsets.UTF_8);
+        Files.write(product.toPath(), schema.replace("\"properties\": {", "\"properties\": {\"sku\": {\"type\": \"string\"},")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1, generate(config()));
+        Map<String, String> sources = TestSchemas.readSources(target);
+        assertTrue(sources.get("com/example/api/catalog/Product.java").contains("sku"));
+        assertEquals(generateFully(config()), sources);
+    }
+
+    @Test
+    public void deletesTheOutputsOfARemovedSchema() throws IOException {
+        generate(config());
+        assertTrue(new File(target, "com/example/api/Invoice.java").isFile());
+        assertTrue(new File(target, "com/example/api/Details_.java").isFile());
+
+        // The shipment details take over the Details name once the invoice is gone
+        Files.delete(new File(schemas, "invoice.json").toPath());
+        generate(config());
+
+        assertFalse(new File(target, "com/example/api/Invoice.java").exists());
+        assertFalse(new File(target, "com/example/api/Details_.java").exists());
+        assertEquals(generateFully(config()), TestSchemas.readSources(target));
+        assertEquals(0, generate(config()));
+    }
+
+    @Test
+    public void truncatedManifestCausesAFullGeneration() throws IOException {
+        generate(config());
+        byte[] manifest = Files.readAllBytes(manifestFile.toPath());
+        Files.write(manifestFile.toPath(), Arrays.copyOf(manifest, manifest.length / 2));
+
+        assertRegeneratesEverything(config());
+    }
+
+    @Test
+    public void manifestWithTheWrongMagicCausesAFullGeneration() throws IOException {
+        generate(config());
+        Files.write(manifestFile.toPath(), ByteBuffer.wrap(Files.readAllBytes(manifestFile.toPath())).putInt(0, 0).array());
+
+        assertRegeneratesEverything(config());
+    }
+
+    @Test
+    public void manifestOfAnotherVersionCausesAFullGeneration() throws IOException {
+        generate(config());
+        Files.write(manifestFile.toPath(), ByteBuffer.wrap(Files.readAllBytes(manifestFile.toPath())).putInt(4, 0).array());
+
+        assertRegeneratesEverything(config());
+    }
+
+    @Test
+    public void annotatorChangeCausesAFullGeneration() throws IOException {
+        generate(config());
+
+        assertRegeneratesEverything(TestSchemas.withSetting(config(), "getCustomAnnotator",
+                GenerationFingerprintTest.AuditingAnnotator.class));
+    }
+
+    @Test
+    public void configurationChangeCausesAFullGeneration() throws IOException {
+        generate(config());
+
+        GenerationConfig changed = TestSchemas.withSetting(config(), "isIncludeJsr303Annotations", false);
+        assertRegeneratesEverything(changed);
+        assertFalse(TestSchemas.readSources(target).get("com/example/api/Order.java").contains("@Valid"));
+    }
+
+    @Test
+    public void regeneratesADeletedOutput() throws IOException {
+        generate(config());
+        Files.delete(new File(target, "com/example/api/Address.java").toPath());
+
+        assertTrue(generate(config()) > 0);
+        assertEquals(generateFully(config()), TestSchemas.readSources(target));
+    }
+
+    /**
+     * Generate with the given configuration, expecting every schema to be generated again and a second run with it
+     * to generate none.
+     *
+     * @param config configuration to generate with
+     * @throws IOException if generation fails
+     */
+    private void assertRegeneratesEverything(GenerationConfig config) throws IOException {
+        assertEquals(SCHEMA_COUNT, generate(config));
+        assertEquals(generateFully(config), TestSchemas.readSources(target));
+        assertEquals(0, generate(config));
+    }
+
+    private GenerationConfig config() {
+        return TestSchemas.config(schemas, target);
+    }
+
+    private int generate(GenerationConfig config) throws IOException {
+        return new IncrementalSchemaGenerator(config, 2, manifestFile).generate();
+    }
+
+    private Map<String, String> generateFully(GenerationConfig config) throws IOException {
+        File expected = temporaryFolder.newFolder();
+        Jsonschema2Pojo.generate(TestSchemas.withSetting(config, "getTargetDirectory", expected));
+        return TestSchemas.readSources(expected);
+    }
+}
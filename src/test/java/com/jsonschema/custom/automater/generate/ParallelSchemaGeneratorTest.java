@@ -0,0 +1,52 @@
+package com.jsonschema.custom.automater.generate;
+
+import com.jsonschema.custom.automater.TestSchemas;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the {@link ParallelSchemaGenerator} with the sequential {@link Jsonschema2Pojo#generate} on the
+ * {@code schema/orders} test resources, whose {@code invoice} and {@code shipment} schemas both generate a
+ * {@code Details} class, so the parallel run has to combine their groups to name the classes the same way.
+ */
+public class ParallelSchemaGeneratorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generatesTheSequentialSources() throws Exception {
+        Map<String, String> expected = generateSequential();
+        assertTrue(expected.containsKey("com/example/api/Details.java"));
+        assertTrue(expected.containsKey("com/example/api/Details_.java"));
+
+        assertEquals(expected, generateParallel(4));
+    }
+
+    @Test
+    public void generatesTheSameSourcesForEveryParallelism() throws Exception {
+        Map<String, String> expected = generateParallel(1);
+
+        assertEquals(expected, generateParallel(2));
+        assertEquals(expected, generateParallel(8));
+    }
+
+    private Map<String, String> generateSequential() throws Exception {
+        File target = temporaryFolder.newFolder();
+        Jsonschema2Pojo.generate(TestSchemas.config(TestSchemas.schemaDirectory(), target));
+        return TestSchemas.readSources(target);
+    }
+
+    private Map<String, String> generateParallel(int parallelism) throws Exception {
+        File target = temporaryFolder.newFolder();
+        new ParallelSchemaGenerator(TestSchemas.config(TestSchemas.schemaDirectory(), target), parallelism).generate();
+        return TestSchemas.readSources(target);
+    }
+}
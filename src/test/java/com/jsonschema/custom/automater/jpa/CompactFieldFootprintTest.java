@@ -0,0 +1,118 @@
+package com.jsonschema.custom.automater.jpa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jsonschema.custom.automater.TestSchemas;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.writer.FileCodeWriter;
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.AnnotatorFactory;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Generates the same shipment entity with boxed fields and with the compact field keywords, i.e. primitive required
+ * properties, an ordinal Enumerated enum and an Embeddable value object, loads the same JSON into both and compares
+ * the heap retained per instance, measured with JOL over the whole object graph. The {@code FootprintBenchmark}
+ * reports the same measure next to the load throughput.
+ */
+public class CompactFieldFootprintTest {
+    private static final String PACKAGE_NAME = "com.jsonschema.custom.automater.jpa.generated";
+    private static final String CLASS_NAME = "Shipment";
+    private static final int ENTITY_COUNT = 1000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void compactFieldsRetainLessThanBoxedFields() throws Exception {
+        byte[] json = new ObjectMapper().writeValueAsBytes(createEntities(ENTITY_COUNT));
+
+        long boxed = retainedBytesPerEntity("/schema/footprint/shipment-boxed.json", json);
+        long compact = retainedBytesPerEntity("/schema/footprint/shipment-compact.json", json);
+
+        assertTrue("Compact entities retain " + compact + " bytes, boxed ones " + boxed, compact < boxed);
+    }
+
+    /**
+     * Generate and compile the schema, load the entities with Jackson and measure them.
+     *
+     * @param schemaResource classpath resource of the entity schema
+     * @param json           JSON array of entities
+     * @return heap retained per loaded entity
+     * @throws Exception if the class can not be generated, compiled or loaded
+     */
+    private long retainedBytesPerEntity(String schemaResource, byte[] json) throws Exception {
+        URL schema = getClass().getResource(schemaResource);
+        assertNotNull(schemaResource, schema);
+        File sources = temporaryFolder.newFolder();
+        File classes = temporaryFolder.newFolder();
+        generate(schema, sources);
+        TestSchemas.compile(sources, classes);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = classLoader.loadClass(PACKAGE_NAME + "." + CLASS_NAME);
+            ObjectMapper mapper = new ObjectMapper();
+            List<?> entities = mapper.readValue(json, mapper.getTypeFactory().constructCollectionType(List.class, type));
+            assertEquals(ENTITY_COUNT, entities.size());
+            return GraphLayout.parseInstance(entities.toArray()).totalSize() / ENTITY_COUNT;
+        }
+    }
+
+    private static void generate(URL schema, File sources) throws IOException {
+        GenerationConfig config = new DefaultGenerationConfig() {
+            @Override
+            public Class<? extends Annotator> getCustomAnnotator() {
+                return JpaAnnotator.class;
+            }
+        };
+        AnnotatorFactory factory = new AnnotatorFactory(config);
+        Annotator annotator = factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(JpaAnnotator.class));
+        SchemaMapper mapper = new SchemaMapper(new RuleFactory(config, annotator, new SchemaStore()), new SchemaGenerator());
+        JCodeModel codeModel = new JCodeModel();
+        mapper.generate(codeModel, CLASS_NAME, PACKAGE_NAME, schema);
+        codeModel.build(new FileCodeWriter(sources));
+    }
+
+    /**
+     * @param count number of entities
+     * @return JSON array of entities, numbers are outside the boxed value caches like they are in production data
+     */
+    private static ArrayNode createEntities(int count) {
+        String[] statuses = {"NEW", "PACKED", "SHIPPED", "DELIVERED"};
+        ArrayNode entities = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode entity = entities.addObject();
+            entity.put("id", 1000000L + i);
+            entity.put("version", 1000 + i % 7);
+            entity.put("quantity", 200 + i % 50);
+            entity.put("weight", 1.25d + i);
+            entity.put("express", i % 2 == 0);
+            entity.put("status", statuses[i % statuses.length]);
+            ObjectNode address = entity.putObject("address");
+            address.put("street", (i % 100) + " Main Street");
+            address.put("postalCode", String.valueOf(10000 + i % 900));
+        }
+        return entities;
+    }
+}
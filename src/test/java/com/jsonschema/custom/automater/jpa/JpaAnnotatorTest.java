@@ -0,0 +1,126 @@
+package com.jsonschema.custom.automater.jpa;
+
+import com.jsonschema.custom.automater.TestSchemas;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Generates entities with the JPA keywords and checks the annotations of the generated sources.
+ */
+public class JpaAnnotatorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generatesTableIndexesAndUniqueConstraints() throws IOException {
+        String order = generate("columns", "Order");
+
+        assertThat(order, containsString("@Table(name = \"orders\", indexes = { "
+                + "@Index(name = \"idx_orders_status\", columnList = \"status, created\") }, uniqueConstraints = { "
+                + "@UniqueConstraint(name = \"uk_orders_ref\", columnNames = { \"ref\" }) })"));
+    }
+
+    @Test
+    public void derivesColumnSizingFromTheProperty() throws IOException {
+        String order = generate("columns", "Order");
+
+        assertThat(order, containsString("@Column(name = \"ref\", length = 32, nullable = false)"));
+        assertThat(order, containsString("@Column(name = \"total\", precision = 12, scale = 2)"));
+    }
+
+    @Test
+    public void declaredColumnSizingWinsOverTheDerivedOne() throws IOException {
+        String order = generate("columns", "Order");
+
+        assertThat(order, containsString("@Column(name = \"code\", length = 4, nullable = true, unique = true)"));
+    }
+
+    @Test
+    public void indexesTheJoinColumnsOfAJoinTable() throws IOException {
+        String order = generate("columns", "Order");
+
+        assertThat(order, containsString("@JoinTable(name = \"order_tags\", joinColumns = @JoinColumn(name = \"order_id\"), "
+                + "inverseJoinColumns = @JoinColumn(name = \"tag_id\"), indexes = { "
+                + "@Index(columnList = \"order_id\"), @Index(columnList = \"tag_id\") })"));
+    }
+
+    @Test
+    public void declaredJoinTableIndexesReplaceTheJoinColumnIndexes() throws IOException {
+        String order = generate("columns", "Order");
+
+        assertThat(order, containsString("inverseJoinColumns = @JoinColumn(name = \"label_id\"), indexes = { "
+                + "@Index(name = \"idx_label\", columnList = \"label_id\") })"));
+    }
+
+    @Test
+    public void generatesAPooledSequenceGenerator() throws IOException {
+        String order = generate("generators", "Order");
+
+        assertThat(order, containsString("@Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = \"order_id\") "
+                + "@GenericGenerator(name = \"order_id\", strategy = \"org.hibernate.id.enhanced.SequenceStyleGenerator\", "
+                + "parameters = { @Parameter(name = \"sequence_name\", value = \"order_seq\"), "
+                + "@Parameter(name = \"increment_size\", value = \"50\"), @Parameter(name = \"optimizer\", value = \"pooled\") }) "
+                + "private Integer id;"));
+    }
+
+    @Test
+    public void generatesAPooledTableGeneratorNamedAfterItsTable() throws IOException {
+        String parcel = generate("generators", "Parcel");
+
+        assertThat(parcel, containsString("@GeneratedValue(strategy = GenerationType.TABLE, generator = \"parcel_ids\") "
+                + "@GenericGenerator(name = \"parcel_ids\", strategy = \"org.hibernate.id.enhanced.TableGenerator\", "
+                + "parameters = { @Parameter(name = \"table_name\", value = \"parcel_ids\"), "
+                + "@Parameter(name = \"increment_size\", value = \"25\"), "
+                + "@Parameter(name = \"optimizer\", value = \"pooled-lo\") })"));
+    }
+
+    @Test
+    public void generatesJpaGeneratorsWithoutAnOptimizer() throws IOException {
+        String invoice = generate("generators", "Invoice");
+        String shipment = generate("generators", "Shipment");
+
+        assertThat(invoice, containsString("@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = \"invoice_seq\") "
+                + "@SequenceGenerator(name = \"invoice_seq\", sequenceName = \"invoice_seq\", schema = \"billing\", "
+                + "initialValue = 1000, allocationSize = 20)"));
+        assertThat(shipment, containsString("@GeneratedValue(strategy = GenerationType.TABLE, generator = \"shipment_id\") "
+                + "@TableGenerator(name = \"shipment_id\", table = \"id_blocks\", pkColumnName = \"entity\", "
+                + "valueColumnName = \"next_id\", pkColumnValue = \"shipment\", allocationSize = 100)"));
+    }
+
+    @Test
+    public void batchInsertsRejectIdentityColumns() throws IOException {
+        File schema = temporaryFolder.newFile("order.json");
+        Files.write(schema.toPath(), ("{\"type\": \"object\", \"entity\": true, \"properties\": {\"id\": {"
+                + "\"type\": \"integer\", \"isIdColumn\": true, "
+                + "\"generatedValue\": {\"strategy\": \"IDENTITY\", \"batchInserts\": true}}}}").getBytes(StandardCharsets.UTF_8));
+
+        try {
+            TestSchemas.generate(schema, temporaryFolder.newFolder());
+            fail("Generated an IDENTITY id with batchInserts");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("batchInserts can not be used with the IDENTITY strategy"));
+        }
+    }
+
+    /**
+     * @param schemas   directory below the {@code schema} test resources
+     * @param className generated class to return
+     * @return the normalized source of the class
+     * @throws IOException if the schemas can not be generated
+     */
+    private String generate(String schemas, String className) throws IOException {
+        Map<String, String> sources = TestSchemas.generate(TestSchemas.schemaDirectory(schemas), temporaryFolder.newFolder());
+        return TestSchemas.normalize(sources.get("com/example/api/" + className + ".java"));
+    }
+}
@@ -0,0 +1,216 @@
+package com.jsonschema.custom.automater.jpa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jsonschema.custom.automater.JpaSpringfoxAnnotator;
+import com.jsonschema.custom.automater.TestSchemas;
+import com.jsonschema.custom.automater.keyword.KeywordHandler;
+import com.jsonschema.custom.automater.keyword.KeywordHandlerRegistry;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.EmbeddedId;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Generates the {@code schema/entities} test resources with the {@link JpaRuleFactory}, compiles them and checks the
+ * equals, hashCode and toString methods of the entities. The schemas cover a primitive and a boxed identifier, an
+ * {@link EmbeddedId}, an identifier inherited from a generated super class, associations, an
+ * {@link ElementCollection} and an entity without identifier.
+ */
+public class JpaObjectRuleTest {
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static Map<String, String> sources;
+    private static URLClassLoader classLoader;
+
+    @BeforeClass
+    public static void generate() throws IOException {
+        File target = temporaryFolder.newFolder("sources");
+        GenerationConfig config = TestSchemas.withSetting(TestSchemas.config(TestSchemas.schemaDirectory("entities"), target),
+                "getCustomAnnotator", CollectionAnnotator.class);
+        Jsonschema2Pojo.generate(config);
+        sources = TestSchemas.readSources(target);
+
+        File classes = temporaryFolder.newFolder("classes");
+        TestSchemas.compile(target, classes);
+        classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, JpaObjectRuleTest.class.getClassLoader());
+    }
+
+    @AfterClass
+    public static void close() throws IOException {
+        classLoader.close();
+    }
+
+    @Test
+    public void unassignedPrimitiveIdentifiersAreNotEqual() throws Exception {
+        Object customer = newEntity("Customer");
+        Object other = newEntity("Customer");
+
+        assertTrue(customer.equals(customer));
+        assertFalse(customer.equals(other));
+        set(customer, "setId", 7);
+        assertFalse(customer.equals(other));
+        set(other, "setId", 7);
+        assertTrue(customer.equals(other));
+        assertEquals(customer.hashCode(), newEntity("Customer").hashCode());
+    }
+
+    @Test
+    public void nullIdentifiersAreNotEqual() throws Exception {
+        Object order = newEntity("Order");
+        Object other = newEntity("Order");
+        int unassignedHashCode = order.hashCode();
+
+        assertFalse(order.equals(other));
+        set(order, "setId", 1);
+        set(other, "setId", 2);
+        assertFalse(order.equals(other));
+        set(other, "setId", 1);
+        assertTrue(order.equals(other));
+        assertFalse(order.equals(newEntity("Customer")));
+        assertEquals(unassignedHashCode, order.hashCode());
+    }
+
+    @Test
+    public void comparesEmbeddedIdentifiers() throws Exception {
+        Object line = newEntity("OrderLine");
+        Object other = newEntity("OrderLine");
+        assertFalse(line.equals(other));
+
+        set(line, "setKey", newKey(1, 1));
+        set(other, "setKey", newKey(1, 1));
+        assertTrue(line.equals(other));
+        set(other, "setKey", newKey(1, 2));
+        assertFalse(line.equals(other));
+        assertThat(source("OrderLine"), containsString("return ((getKey()!= null)&&getKey().equals(rhs.getKey()));"));
+    }
+
+    @Test
+    public void comparesTheIdentifierOfTheGeneratedSuperClass() throws Exception {
+        Object order = newEntity("PriorityOrder");
+        Object other = newEntity("PriorityOrder");
+        set(order, "setPriority", 1);
+
+        assertFalse(order.equals(other));
+        set(order, "setId", 5);
+        set(other, "setId", 5);
+        assertTrue(order.equals(other));
+        assertNotEquals(newEntity("Order").hashCode(), order.hashCode());
+        assertThat(source("PriorityOrder"), containsString("PriorityOrder rhs = ((PriorityOrder) other); "
+                + "return ((getId()!= null)&&getId().equals(rhs.getId()));"));
+    }
+
+    @Test
+    public void toStringLeavesOutAssociationsAndElementCollections() throws Exception {
+        String order = source("Order");
+
+        assertThat(order, containsString("return new ToStringBuilder(this).append(\"id\", id).append(\"ref\", ref).toString();"));
+        assertThat(source("PriorityOrder"), containsString("return new ToStringBuilder(this).appendSuper(super.toString())"
+                + ".append(\"priority\", priority).toString();"));
+
+        Object entity = newEntity("Order");
+        set(entity, "setId", 3);
+        set(entity, "setCustomer", newEntity("Customer"));
+        String value = entity.toString();
+        assertThat(value, containsString("id=3"));
+        assertThat(value, not(containsString("customer")));
+        assertThat(value, not(containsString("lines")));
+        assertThat(value, not(containsString("tags")));
+    }
+
+    @Test
+    public void entitiesWithoutIdentifierKeepTheObjectEqualsAndHashCode() throws Exception {
+        String auditEntry = source("AuditEntry");
+        Class<?> type = classLoader.loadClass(TestSchemas.TARGET_PACKAGE + ".AuditEntry");
+
+        assertThat(auditEntry, not(containsString("equals(")));
+        assertThat(auditEntry, not(containsString("hashCode(")));
+        assertThat(auditEntry, containsString("append(\"message\", message)"));
+        assertEquals(Object.class, type.getMethod("equals", Object.class).getDeclaringClass());
+        assertEquals(Object.class, type.getMethod("hashCode").getDeclaringClass());
+    }
+
+    private static String source(String className) {
+        return TestSchemas.normalize(sources.get(TestSchemas.TARGET_PACKAGE.replace('.', '/') + "/" + className + ".java"));
+    }
+
+    private static Object newEntity(String className) throws Exception {
+        return classLoader.loadClass(TestSchemas.TARGET_PACKAGE + "." + className).newInstance();
+    }
+
+    private static Object newKey(int orderId, int line) throws Exception {
+        Object key = newEntity("OrderLineKey");
+        set(key, "setOrderId", orderId);
+        set(key, "setLine", line);
+        return key;
+    }
+
+    /**
+     * Call the single argument setter with the given name.
+     *
+     * @param target object to call the setter on
+     * @param setter name of the setter
+     * @param value  value to set
+     * @throws Exception if the setter does not exist or fails
+     */
+    private static void set(Object target, String setter, Object value) throws Exception {
+        for (Method method : target.getClass().getMethods()) {
+            if (method.getName().equals(setter) && method.getParameterCount() == 1) {
+                method.invoke(target, value);
+                return;
+            }
+        }
+        throw new NoSuchMethodException(target.getClass().getName() + "." + setter);
+    }
+
+    /**
+     * Annotator adding {@link ElementCollection} and {@link EmbeddedId} for the keywords of the same name, so the
+     * rule sees the annotations it treats specially.
+     */
+    public static class CollectionAnnotator extends JpaSpringfoxAnnotator {
+        private static final KeywordHandlerRegistry KEYWORD_HANDLERS = new KeywordHandlerRegistry(
+                Collections.singletonList(new KeywordHandler() {
+                    @Override
+                    public Set<String> getKeywords() {
+                        return new HashSet<>(Arrays.asList("elementCollection", "embeddedId"));
+                    }
+
+                    @Override
+                    public void handleField(JFieldVar field, JDefinedClass clazz, String keyword, JsonNode value,
+                                            JsonNode propertyNode) {
+                        field.annotate("elementCollection".equals(keyword) ? ElementCollection.class : EmbeddedId.class);
+                    }
+                }));
+
+        @Override
+        protected KeywordHandlerRegistry getKeywordHandlerRegistry() {
+            return KEYWORD_HANDLERS;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.jsonschema.custom.automater.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMod;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dispatches property and class keywords through a registry of recording handlers.
+ */
+public class KeywordHandlerRegistryTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<String> calls = new ArrayList<>();
+    private JDefinedClass clazz;
+    private JFieldVar field;
+
+    @Before
+    public void setUp() throws Exception {
+        clazz = new JCodeModel()._class("com.example.api.Order");
+        field = clazz.field(JMod.PRIVATE, String.class, "ref");
+    }
+
+    @Test
+    public void callsTheHandlersOfTheDeclaredKeywordsInRegistrationOrder() throws IOException {
+        KeywordHandlerRegistry registry = new KeywordHandlerRegistry(Arrays.asList(
+                new RecordingHandler("first", "audited", "masked"), new RecordingHandler("second", "audited")));
+
+        registry.handleField(field, clazz, MAPPER.readTree("{\"type\": \"string\", \"audited\": true, \"masked\": \"*\"}"));
+
+        assertEquals(Arrays.asList("first field audited=true", "second field audited=true", "first field masked=*"), calls);
+    }
+
+    @Test
+    public void callsTheClassHandlersWithTheSchema() throws IOException {
+        KeywordHandlerRegistry registry = new KeywordHandlerRegistry(Collections.singletonList(new RecordingHandler("handler", "audited")));
+
+        registry.handleClass(clazz, MAPPER.readTree("{\"type\": \"object\", \"entity\": true, \"audited\": \"full\"}"));
+
+        assertEquals(Collections.singletonList("handler class audited=full"), calls);
+    }
+
+    @Test
+    public void skipsNodesWithoutARegisteredKeyword() throws IOException {
+        KeywordHandlerRegistry registry = new KeywordHandlerRegistry(Collections.singletonList(new RecordingHandler("handler", "audited")));
+
+        registry.handleField(field, clazz, MAPPER.readTree("{\"type\": \"string\", \"column\": \"ref\"}"));
+
+        assertTrue(calls.isEmpty());
+        assertTrue(registry.getHandlers("column").isEmpty());
+        assertEquals(Collections.singleton("audited"), registry.getKeywords());
+    }
+
+    @Test
+    public void emptyRegistryHasNoKeywords() {
+        KeywordHandlerRegistry registry = new KeywordHandlerRegistry(Collections.emptyList());
+
+        assertTrue(registry.isEmpty());
+        assertTrue(registry.getKeywords().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAHandlerWithoutKeywords() {
+        new KeywordHandlerRegistry(Collections.singletonList(new RecordingHandler("handler")));
+    }
+
+    private final class RecordingHandler implements KeywordHandler {
+        private final String name;
+        private final Set<String> keywords;
+
+        private RecordingHandler(String name, String... keywords) {
+            this.name = name;
+            this.keywords = new HashSet<>(Arrays.asList(keywords));
+        }
+
+        @Override
+        public Set<String> getKeywords() {
+            return keywords;
+        }
+
+        @Override
+        public void handleClass(JDefinedClass clazz, String keyword, JsonNode value, JsonNode schema) {
+            calls.add(name + " class " + keyword + "=" + value.asText());
+        }
+
+        @Override
+        public void handleField(JFieldVar field, JDefinedClass clazz, String keyword, JsonNode value, JsonNode propertyNode) {
+            calls.add(name + " field " + keyword + "=" + value.asText());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.jsonschema.custom.automater.metrics;
+
+import com.jsonschema.custom.automater.TestSchemas;
+import com.jsonschema.custom.automater.generate.ParallelSchemaGenerator;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMod;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Records probes inside and outside of scopes and checks the counts of the report, then records a real generation.
+ */
+public class GenerationMetricsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private JDefinedClass clazz;
+    private JFieldVar field;
+
+    @Before
+    public void setUp() throws Exception {
+        clazz = new JCodeModel()._class("com.example.api.Order");
+        field = clazz.field(JMod.PRIVATE, Long.class, "id");
+    }
+
+    @Test
+    public void doesNotRecordOutsideOfAScope() {
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        assertNull(GenerationMetrics.probe(GenerationMetrics.Handler.JPA_INCLUSIONS, clazz, null));
+        GenerationMetrics.record(null);
+        assertTrue(metrics.report().getSchemas().isEmpty());
+    }
+
+    @Test
+    public void recordsInvocationsAndEmittedAnnotationsPerClassAndHandler() {
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        GenerationMetrics.Scope scope = metrics.open("order.json");
+        try {
+            GenerationMetrics.Probe inclusion = GenerationMetrics.probe(GenerationMetrics.Handler.JPA_INCLUSIONS, clazz, null);
+            clazz.annotate(Entity.class);
+            GenerationMetrics.record(inclusion);
+            GenerationMetrics.Probe first = GenerationMetrics.probe(GenerationMetrics.Handler.JPA_PROPERTY_FIELDS, clazz, field);
+            field.annotate(Id.class);
+            field.annotate(Column.class);
+            GenerationMetrics.record(first);
+            GenerationMetrics.record(GenerationMetrics.probe(GenerationMetrics.Handler.JPA_PROPERTY_FIELDS, clazz, field));
+        } finally {
+            scope.close();
+        }
+
+        MetricsReport report = metrics.report();
+        assertEquals(1, report.getSchemas().size());
+        MetricsReport.SchemaSummary summary = report.getSchemas().get(0);
+        assertEquals("order.json", summary.getSchema());
+        assertEquals(1, summary.getGenerations());
+        assertEquals(3, summary.getAnnotations());
+        assertTrue(summary.getGenerationNanos() >= summary.getAnnotatorNanos());
+
+        List<MetricsReport.HandlerTiming> timings = report.getTimings();
+        assertEquals(2, timings.size());
+        assertTiming(timings.get(0), GenerationMetrics.Handler.JPA_INCLUSIONS, 1, 1);
+        assertTiming(timings.get(1), GenerationMetrics.Handler.JPA_PROPERTY_FIELDS, 2, 2);
+    }
+
+    @Test
+    public void closingANestedScopeResumesTheOuterOne() {
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        GenerationMetrics.Scope outer = metrics.open("order.json");
+        try {
+            GenerationMetrics.Scope inner = metrics.open("address.json");
+            try {
+                GenerationMetrics.record(GenerationMetrics.probe(GenerationMetrics.Handler.JPA_INCLUSIONS, clazz, null));
+            } finally {
+                inner.close();
+            }
+            GenerationMetrics.record(GenerationMetrics.probe(GenerationMetrics.Handler.JACKSON_INCLUSIONS, clazz, null));
+        } finally {
+            outer.close();
+        }
+        assertNull(GenerationMetrics.probe(GenerationMetrics.Handler.JPA_INCLUSIONS, clazz, null));
+
+        List<MetricsReport.HandlerTiming> timings = metrics.report().getTimings();
+        assertEquals(2, timings.size());
+        assertEquals("address.json", timings.get(0).getSchema());
+        assertEquals(GenerationMetrics.Handler.JPA_INCLUSIONS, timings.get(0).getHandler());
+        assertEquals("order.json", timings.get(1).getSchema());
+        assertEquals(GenerationMetrics.Handler.JACKSON_INCLUSIONS, timings.get(1).getHandler());
+    }
+
+    @Test
+    public void recordsEverySchemaOfAParallelGeneration() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics();
+        File schemas = TestSchemas.schemaDirectory();
+
+        new ParallelSchemaGenerator(TestSchemas.config(schemas, temporaryFolder.newFolder()), 4, metrics).generate();
+
+        MetricsReport report = metrics.report();
+        List<String> names = report.getSchemas().stream()
+                .map(summary -> new File(summary.getSchema()).getName())
+                .sorted()
+                .collect(Collectors.toList());
+        assertTrue(names.containsAll(Arrays.asList("address.json", "customer.json", "invoice.json",
+                "order.json", "product.json", "shipment.json")));
+        for (MetricsReport.SchemaSummary summary : report.getSchemas()) {
+            assertTrue(summary.getSchema(), summary.getGenerations() >= 1);
+        }
+        assertTrue(report.getTimings().stream().anyMatch(timing -> timing.getClassName().equals("com.example.api.Order")
+                && timing.getHandler() == GenerationMetrics.Handler.JPA_PROPERTY_FIELDS && timing.getAnnotations() > 0));
+    }
+
+    private static void assertTiming(MetricsReport.HandlerTiming timing, GenerationMetrics.Handler handler,
+                                     long invocations, long annotations) {
+        assertEquals("com.example.api.Order", timing.getClassName());
+        assertEquals(handler, timing.getHandler());
+        assertEquals(invocations, timing.getInvocations());
+        assertEquals(annotations, timing.getAnnotations());
+    }
+}
@@ -0,0 +1,105 @@
+package com.jsonschema.custom.automater.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Writes a report of known counts and checks the ordering and the JSON and CSV output.
+ */
+public class MetricsReportTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MetricsReport report = new MetricsReport(
+            Arrays.asList(
+                    new MetricsReport.SchemaSummary("address.json", 1, 100, 40, 2),
+                    new MetricsReport.SchemaSummary("order.json", 2, 900, 300, 7),
+                    new MetricsReport.SchemaSummary("tag,\"v2\".json", 1, 500, 50, 1)),
+            Arrays.asList(
+                    new MetricsReport.HandlerTiming("order.json", "com.example.api.Order",
+                            GenerationMetrics.Handler.JPA_PROPERTY_FIELDS, 4, 200, 5),
+                    new MetricsReport.HandlerTiming("order.json", "com.example.api.Order",
+                            GenerationMetrics.Handler.JPA_INCLUSIONS, 2, 100, 2),
+                    new MetricsReport.HandlerTiming("address.json", "com.example.api.Address",
+                            GenerationMetrics.Handler.JPA_INCLUSIONS, 1, 40, 2),
+                    new MetricsReport.HandlerTiming("tag,\"v2\".json", "com.example.api.Tag",
+                            GenerationMetrics.Handler.JACKSON_INCLUSIONS, 1, 50, 1)));
+
+    @Test
+    public void ordersSchemasFromSlowestToFastest() {
+        assertEquals("order.json", report.getSchemas().get(0).getSchema());
+        assertEquals("tag,\"v2\".json", report.getSchemas().get(1).getSchema());
+        assertEquals("address.json", report.getSchemas().get(2).getSchema());
+        assertEquals(2, report.getSlowestSchemas(2).size());
+        assertEquals(3, report.getSlowestSchemas(10).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANegativeNumberOfSlowestSchemas() {
+        report.getSlowestSchemas(-1);
+    }
+
+    @Test
+    public void writesTotalsSlowestSchemasAndTimingsAsJson() throws Exception {
+        StringWriter writer = new StringWriter();
+        report.writeJson(writer, 1);
+
+        JsonNode json = MAPPER.readTree(writer.toString());
+        assertEquals(3, json.get("schemaCount").asInt());
+        assertEquals(1500, json.get("generationNanos").asLong());
+        assertEquals(390, json.get("annotatorNanos").asLong());
+        assertEquals(10, json.get("annotations").asLong());
+        assertEquals(1, json.get("slowestSchemas").size());
+        assertEquals("order.json", json.get("slowestSchemas").get(0).get("schema").asText());
+        assertEquals(2, json.get("slowestSchemas").get(0).get("generations").asInt());
+
+        JsonNode order = json.get("schemas").get(0);
+        assertEquals("order.json", order.get("schema").asText());
+        assertEquals(1, order.get("classes").size());
+        JsonNode handlers = order.get("classes").get(0).get("handlers");
+        assertEquals("com.example.api.Order", order.get("classes").get(0).get("class").asText());
+        assertEquals(2, handlers.size());
+        assertEquals("handleJpaInclusions", handlers.get(0).get("handler").asText());
+        assertEquals(2, handlers.get(0).get("invocations").asLong());
+        assertEquals("handleJpaPropertyFields", handlers.get(1).get("handler").asText());
+        assertEquals(5, handlers.get(1).get("annotations").asLong());
+    }
+
+    @Test
+    public void writesOneCsvRowPerSchemaClassAndHandler() throws Exception {
+        StringWriter writer = new StringWriter();
+        report.writeCsv(writer);
+
+        assertEquals("schema,class,handler,invocations,nanos,annotations\n"
+                + "address.json,com.example.api.Address,handleJpaInclusions,1,40,2\n"
+                + "order.json,com.example.api.Order,handleJpaInclusions,2,100,2\n"
+                + "order.json,com.example.api.Order,handleJpaPropertyFields,4,200,5\n"
+                + "\"tag,\"\"v2\"\".json\",com.example.api.Tag,handleJacksonInclusions,1,50,1\n", writer.toString());
+    }
+
+    @Test
+    public void writesBothReportsToADirectory() throws Exception {
+        File directory = new File(temporaryFolder.getRoot(), "reports/metrics");
+
+        new MetricsReport(Collections.emptyList(), Collections.emptyList()).write(directory, 10);
+
+        assertEquals(0, MAPPER.readTree(new File(directory, MetricsReport.JSON_FILE_NAME)).get("schemaCount").asInt());
+        String csv = new String(Files.readAllBytes(new File(directory, MetricsReport.CSV_FILE_NAME).toPath()), StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("schema,class,handler"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.jsonschema.custom.automater.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.SchemaStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.FetchType;
+import javax.persistence.GenerationType;
+import javax.persistence.ManyToMany;
+import javax.persistence.OneToOne;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Compiles property nodes into {@link PropertyPlan}s and checks the resolved values and the rejected combinations.
+ */
+public class PropertyPlanCompilerTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final PropertyPlanCompiler compiler = new PropertyPlanCompiler();
+
+    @Test
+    public void resolvesConflictingMultiplicitiesByPrecedence() throws IOException {
+        PropertyPlan manyToMany = compile("{\"manyToOne\": {}, \"oneToMany\": {\"fetch\": \"LAZY\"}, "
+                + "\"manyToMany\": {\"fetch\": \"EAGER\"}}");
+        PropertyPlan oneToOne = compile("{\"manyToMany\": {}, \"oneToOne\": {\"fetch\": \"LAZY\"}}");
+
+        assertEquals(ManyToMany.class, manyToMany.getMultiplicity());
+        assertEquals(FetchType.EAGER, manyToMany.getFetchType());
+        assertEquals(OneToOne.class, oneToOne.getMultiplicity());
+        assertEquals(FetchType.LAZY, oneToOne.getFetchType());
+    }
+
+    @Test
+    public void derivesColumnSizingFromMaxLengthMultipleOfAndRequired() throws IOException {
+        PropertyPlan ref = compile("{\"column\": \"ref\", \"maxLength\": 32, \"required\": true}");
+        PropertyPlan total = compile("{\"column\": \"total\", \"multipleOf\": 0.010}");
+        PropertyPlan count = compile("{\"column\": true, \"multipleOf\": 5}");
+
+        assertTrue(ref.has(PropertyPlan.COLUMN));
+        assertEquals("ref", ref.getColumnName());
+        assertEquals(Integer.valueOf(32), ref.getColumnLength());
+        assertEquals(Boolean.FALSE, ref.getColumnNullable());
+        assertEquals(Integer.valueOf(2), total.getColumnScale());
+        assertNull(total.getColumnNullable());
+        assertNull(count.getColumnName());
+        assertNull(count.getColumnScale());
+    }
+
+    @Test
+    public void declaredColumnSizingWinsOverTheDerivedOne() throws IOException {
+        PropertyPlan plan = compile("{\"column\": {\"name\": \"code\", \"length\": 4, \"scale\": 1, \"nullable\": true, "
+                + "\"unique\": true}, \"maxLength\": 8, \"multipleOf\": 0.01, \"required\": true}");
+
+        assertEquals("code", plan.getColumnName());
+        assertEquals(Integer.valueOf(4), plan.getColumnLength());
+        assertEquals(Integer.valueOf(1), plan.getColumnScale());
+        assertEquals(Boolean.TRUE, plan.getColumnNullable());
+        assertEquals(Boolean.TRUE, plan.getColumnUnique());
+    }
+
+    @Test
+    public void resolvesTheStrategyAndNameOfADeclaredGenerator() throws IOException {
+        PropertyPlan plan = compile("{\"isIdColumn\": true, \"generatedValue\": {\"batchInserts\": true, "
+                + "\"sequence\": {\"sequenceName\": \"order_seq\", \"allocationSize\": 50, \"optimizer\": \"pooled-lo\"}}}");
+
+        assertTrue(plan.has(PropertyPlan.ID | PropertyPlan.GENERATED_VALUE));
+        assertEquals(GenerationType.SEQUENCE, plan.getStrategy());
+        assertEquals("order_seq", plan.getGenerator());
+        GeneratorPlan generator = plan.getGeneratorPlan();
+        assertEquals(GenerationType.SEQUENCE, generator.getType());
+        assertEquals("order_seq", generator.getSourceName());
+        assertEquals(Integer.valueOf(50), generator.getAllocationSize());
+        assertEquals("pooled-lo", generator.getOptimizer());
+    }
+
+    @Test
+    public void namesATableGeneratorAfterTheGeneratorKeyword() throws IOException {
+        PropertyPlan plan = compile("{\"generatedValue\": {\"generator\": \"order_ids\", "
+                + "\"table\": {\"table\": \"id_blocks\", \"pkColumnValue\": \"orders\"}}}");
+
+        assertEquals(GenerationType.TABLE, plan.getStrategy());
+        assertEquals("order_ids", plan.getGenerator());
+        assertEquals("id_blocks", plan.getGeneratorPlan().getSourceName());
+        assertEquals("orders", plan.getGeneratorPlan().getPkColumnValue());
+    }
+
+    @Test
+    public void rejectsInconsistentGenerators() {
+        assertRejected("{\"generatedValue\": {\"strategy\": \"IDENTITY\", \"sequence\": {\"sequenceName\": \"order_seq\"}}}",
+                "Strategy IDENTITY does not use the declared SEQUENCE generator order_seq");
+        assertRejected("{\"generatedValue\": {\"sequence\": {\"sequenceName\": \"a\"}, \"table\": {\"table\": \"b\"}}}",
+                "generatedValue can not declare both a sequence and a table generator");
+        assertRejected("{\"generatedValue\": {\"table\": {\"allocationSize\": 10}}}",
+                "TABLE generator requires a generator or table");
+        assertRejected("{\"generatedValue\": {\"sequence\": {\"sequenceName\": \"a\", \"allocationSize\": 0}}}",
+                "allocationSize must be positive but was 0");
+        assertRejected("{\"generatedValue\": {\"sequence\": {\"sequenceName\": \"a\", \"optimizer\": \"pool\"}}}",
+                "Unknown optimizer pool, expected one of [none, hilo, legacy-hilo, pooled, pooled-lo, pooled-lotl]");
+    }
+
+    @Test
+    public void rejectsBatchInsertsWithoutAPoolingGenerator() {
+        assertRejected("{\"generatedValue\": {\"strategy\": \"IDENTITY\", \"batchInserts\": true}}",
+                "batchInserts can not be used with the IDENTITY strategy, identity columns disable JDBC insert batching. "
+                        + "Declare a sequence or table generator instead");
+        assertRejected("{\"generatedValue\": {\"strategy\": \"SEQUENCE\", \"batchInserts\": true}}",
+                "batchInserts requires a sequence or table generator, the provider default may resolve to IDENTITY or "
+                        + "allocate one value at a time");
+        assertRejected("{\"generatedValue\": {\"batchInserts\": true, \"sequence\": {\"sequenceName\": \"a\", "
+                + "\"allocationSize\": 1}}}", "batchInserts requires an allocationSize greater than 1 on generator a");
+        assertRejected("{\"generatedValue\": {\"batchInserts\": true, \"sequence\": {\"sequenceName\": \"a\", "
+                + "\"allocationSize\": 50, \"optimizer\": \"none\"}}}", "batchInserts requires a pooling optimizer on generator a");
+    }
+
+    @Test
+    public void primitivePropertiesMustBeRequired() throws IOException {
+        PropertyPlan plan = compile("{\"primitive\": true, \"required\": true}");
+
+        assertTrue(plan.has(PropertyPlan.PRIMITIVE | PropertyPlan.COLUMN));
+        assertEquals(Boolean.FALSE, plan.getColumnNullable());
+        assertRejected("{\"primitive\": true}", "primitive properties must be required");
+        assertRejected("{\"primitive\": true, \"required\": false}", "primitive properties must be required");
+        assertRejected("{\"primitive\": true, \"required\": true, \"column\": {\"nullable\": true}}",
+                "primitive properties can not map to a nullable column");
+    }
+
+    @Test
+    public void jsonColumnsCanNotBeMappedInAnotherWay() throws IOException {
+        assertTrue(compile("{\"jsonColumn\": true, \"column\": \"lines\"}").has(PropertyPlan.JSON_COLUMN));
+        assertFalse(compile("{\"jsonColumn\": false}").has(PropertyPlan.JSON_COLUMN));
+
+        String association = "jsonColumn properties are stored in a single column and can not declare a multiplicity "
+                + "or joinTable";
+        assertRejected("{\"jsonColumn\": true, \"oneToMany\": {}}", association);
+        assertRejected("{\"jsonColumn\": true, \"joinTable\": {\"name\": \"order_lines\"}}", association);
+        String mapping = "jsonColumn can not be combined with embeddable, enumerated, primitive or isIdColumn";
+        assertRejected("{\"jsonColumn\": true, \"embeddable\": true}", mapping);
+        assertRejected("{\"jsonColumn\": true, \"enumerated\": \"STRING\"}", mapping);
+        assertRejected("{\"jsonColumn\": true, \"isIdColumn\": true}", mapping);
+    }
+
+    @Test
+    public void rejectsInvalidKeywordValues() {
+        assertRejected("{\"enumerated\": \"NAME\"}", "enumerated must be one of [ORDINAL, STRING] but was \"NAME\"");
+        assertRejected("{\"column\": {\"length\": -1}}", "length must be a non-negative integer but was -1");
+        assertRejected("{\"batchSize\": 0}", "batchSize must be a positive integer but was 0");
+        assertRejected("{\"cache\": {\"usage\": \"WRITE\"}}", "cache usage must be one of [NONE, READ_ONLY, "
+                + "NONSTRICT_READ_WRITE, READ_WRITE, TRANSACTIONAL] but was \"WRITE\"");
+        assertRejected("{\"joinTable\": {\"joinColumns\": {\"name\": \"a\"}, \"indexes\": {}}}",
+                "indexes must be an array but was {}");
+        assertRejected("{\"joinTable\": {\"joinColumns\": {\"name\": \"a\"}, \"indexes\": [{\"columnList\": []}]}}",
+                "index columnList must not be empty in {\"columnList\":[]}");
+    }
+
+    @Test
+    public void cacheCompilesASharedRefDefinitionOnce() throws IOException {
+        File schema = temporaryFolder.newFile("order.json");
+        Files.write(schema.toPath(), ("{\"type\": \"object\", \"definitions\": {\"amount\": {\"type\": \"number\", "
+                + "\"column\": \"amount\", \"multipleOf\": 0.01}}}").getBytes(StandardCharsets.UTF_8));
+        SchemaStore schemaStore = new SchemaStore();
+        Schema order = schemaStore.create(schema.toURI(), "#/.");
+
+        // Every $ref to the definition resolves to the same node, like the total and the tax of an order
+        JsonNode total = schemaStore.create(order, "#/definitions/amount", "#/.").getContent();
+        JsonNode tax = schemaStore.create(order, "#/definitions/amount", "#/.").getContent();
+        JsonNode copy = total.deepCopy();
+        PropertyPlanCache cache = new PropertyPlanCache(compiler);
+
+        assertSame(total, tax);
+        assertSame(cache.get(total), cache.get(tax));
+        assertEquals(1, cache.size());
+        assertNotSame(cache.get(total), cache.get(copy));
+        assertEquals(2, cache.size());
+    }
+
+    private PropertyPlan compile(String propertyNode) throws IOException {
+        return compiler.compile(MAPPER.readTree(propertyNode));
+    }
+
+    /**
+     * @param propertyNode property schema the compiler must reject
+     * @param message      expected message of the {@link IllegalArgumentException}
+     */
+    private void assertRejected(String propertyNode, String message) {
+        try {
+            compile(propertyNode);
+            fail("Compiled " + propertyNode);
+        } catch (IllegalArgumentException e) {
+            assertEquals(message, e.getMessage());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.jsonschema.custom.automater.validate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jsonschema.custom.automater.TestSchemas;
+import com.jsonschema.custom.automater.keyword.KeywordHandler;
+import com.jsonschema.custom.automater.keyword.KeywordHandlerRegistry;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Validates the fixture schemas of {@code schema/invalid}, each exercising one family of checks, and asserts every
+ * reported problem with its line, column, JSON pointer and message.
+ */
+public class SchemaFileValidatorTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(JsonParser.Feature.ALLOW_COMMENTS);
+
+    @Test
+    public void acceptsValidSchemas() throws IOException {
+        File schemas = TestSchemas.schemaDirectory();
+
+        assertEquals(Collections.emptyList(), new SchemaValidator(2).validate(TestSchemas.config(schemas, null)));
+    }
+
+    @Test
+    public void suggestsTheClosestConstantForATypo() throws IOException {
+        List<String> errors = validate("typos.json");
+
+        assertEquals(Arrays.asList(
+                "8:7: /properties/id/generatedValue/strategy: strategy must be one of [TABLE, SEQUENCE, IDENTITY, AUTO] "
+                        + "but was \"IDENTTY\", did you mean IDENTITY?",
+                "13:7: /properties/status/enumerated: enumerated must be one of [ORDINAL, STRING] but was \"STRNG\", "
+                        + "did you mean STRING?",
+                "17:7: /properties/customer/manyToOne/fetch: fetch must be one of [LAZY, EAGER] but was \"LAZZY\", "
+                        + "did you mean LAZY?",
+                "21:7: /properties/placed/jsonFormat: jsonFormat shape must be one of [ANY, SCALAR, ARRAY, OBJECT, NUMBER, "
+                        + "NUMBER_FLOAT, NUMBER_INT, STRING, BOOLEAN] but was \"STRNG\", did you mean STRING?"), errors);
+    }
+
+    @Test
+    public void suggestsOnlyCloseValues() {
+        List<String> expected = Arrays.asList("IDENTITY", "SEQUENCE", "TABLE");
+
+        assertEquals(", did you mean IDENTITY?", SchemaFileValidator.suggest("identty", expected));
+        assertEquals(", did you mean TABLE?", SchemaFileValidator.suggest("TABEL", expected));
+        assertEquals("", SchemaFileValidator.suggest("UUID", expected));
+    }
+
+    @Test
+    public void reportsTheSourceLineColumnAndPointerOfTheKeyword() throws IOException {
+        URL schema = resource("typos.json");
+
+        ValidationError error = SchemaValidator.validate(schema).get(0);
+
+        assertEquals(schema.toString(), error.getSource());
+        assertEquals(8, error.getLine());
+        assertEquals(7, error.getColumn());
+        assertEquals("/properties/id/generatedValue/strategy", error.getPointer());
+        assertEquals(schema + ":8:7: /properties/id/generatedValue/strategy: " + error.getMessage(), error.toString());
+    }
+
+    @Test
+    public void reportsConflictingAndMissingMultiplicities() throws IOException {
+        List<String> errors = validate("multiplicities.json");
+
+        assertEquals(Arrays.asList(
+                "8:7: /properties/lines/oneToMany: conflicting multiplicities manyToMany and oneToMany, only manyToMany "
+                        + "is generated",
+                "14:7: /properties/tags/joinTable: joinTable requires one of the multiplicities "
+                        + "[oneToOne, manyToMany, oneToMany, manyToOne]",
+                "19:7: /properties/labels/manyToMany: manyToMany must be an object but was \"LAZY\""), errors);
+    }
+
+    @Test
+    public void reportsKeywordsThatConflictWithAJsonColumn() throws IOException {
+        List<String> errors = validate("json-columns.json");
+
+        assertEquals(Arrays.asList(
+                "8:7: /properties/lines/jsonColumn: jsonColumn properties are stored in a single column and can not be "
+                        + "combined with [joinTable, oneToMany]",
+                "15:7: /properties/status/jsonColumn: jsonColumn properties are stored in a single column and can not be "
+                        + "combined with [enumerated]"), errors);
+    }
+
+    @Test
+    public void reportsUnknownMembersOfKeywordObjects() throws IOException {
+        List<String> errors = validate("unknown-members.json");
+
+        assertEquals(Arrays.asList(
+                "4:3: /table/indexs: unknown table member indexs, expected one of [tableName, indexes, uniqueConstraints], "
+                        + "did you mean indexes?",
+                "5:3: /cache/regoin: unknown cache member regoin, expected one of [usage, region], did you mean region?",
+                "9:7: /properties/ref/column/lenght: unknown column member lenght, expected one of [name, length, "
+                        + "precision, scale, nullable, unique, columnDefinition], did you mean length?",
+                "14:7: /properties/id/generatedValue/sequence/optimiser: unknown sequence member optimiser, expected one "
+                        + "of [sequenceName, schema, catalog, initialValue, allocationSize, optimizer], did you mean "
+                        + "optimizer?"), errors);
+    }
+
+    @Test
+    public void reportsMalformedJsonAtItsLocation() throws IOException {
+        List<String> errors = validate("malformed.json");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("4:31: /properties/ref: Unexpected character ('}' (code 125))"));
+    }
+
+    @Test
+    public void delegatesCustomKeywordsToTheirHandlers() throws IOException {
+        List<String> validated = new ArrayList<>();
+        KeywordHandler audited = new KeywordHandler() {
+            @Override
+            public Set<String> getKeywords() {
+                return Collections.singleton("audited");
+            }
+
+            @Override
+            public void validate(String keyword, JsonNode value) {
+                validated.add(keyword + "=" + value);
+                if (!value.isBoolean() && !"always".equals(value.asText())) {
+                    throw new IllegalArgumentException("audited must be true, false or always but was " + value);
+                }
+            }
+        };
+
+        List<String> errors = validate("custom-keywords.json", new KeywordHandlerRegistry(Collections.singletonList(audited)));
+
+        assertEquals(Arrays.asList("audited=\"always\"", "audited=true", "audited=\"sometimes\""), validated);
+        assertEquals(Collections.singletonList(
+                "11:7: /properties/notes/audited: audited must be true, false or always but was \"sometimes\""), errors);
+    }
+
+    @Test
+    public void ignoresCustomKeywordsWithoutHandlers() throws IOException {
+        assertEquals(Collections.emptyList(), validate("custom-keywords.json"));
+    }
+
+    private static List<String> validate(String fixture) throws IOException {
+        return validate(fixture, new KeywordHandlerRegistry(Collections.emptyList()));
+    }
+
+    /**
+     * @param fixture         name of a schema in the {@code schema/invalid} test resources
+     * @param keywordHandlers handlers of the custom keywords
+     * @return the reported problems as line:column: pointer: message
+     */
+    private static List<String> validate(String fixture, KeywordHandlerRegistry keywordHandlers) throws IOException {
+        URL schema = resource(fixture);
+        List<String> errors = new ArrayList<>();
+        try (InputStream input = schema.openStream(); JsonParser parser = MAPPER.getFactory().createParser(input)) {
+            for (ValidationError error : new SchemaFileValidator(fixture, keywordHandlers).validate(parser)) {
+                errors.add(error.getLine() + ":" + error.getColumn() + ": " + error.getPointer() + ": " + error.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    private static URL resource(String fixture) {
+        return SchemaFileValidatorTest.class.getResource("/schema/invalid/" + fixture);
+    }
+}